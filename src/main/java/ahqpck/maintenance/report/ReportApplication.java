@@ -5,8 +5,12 @@ import java.util.TimeZone;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import ahqpck.maintenance.report.repository.SliceableRepositoryImpl;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = SliceableRepositoryImpl.class)
 public class ReportApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,13 @@
+package ahqpck.maintenance.report.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are Caffeine-backed and declared in application.properties
+ * ({@code spring.cache.cache-names} / {@code spring.cache.caffeine.spec}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,34 @@
+package ahqpck.maintenance.report.config;
+
+import ahqpck.maintenance.report.service.ComplaintStatsService;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regenerates the complaint rollup from the complaints table when the
+ * application is started with {@code --rebuild-complaint-stats}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ComplaintStatsRebuildRunner implements ApplicationRunner {
+
+    public static final String OPTION = "rebuild-complaint-stats";
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatsRebuildRunner.class);
+
+    private final ComplaintStatsService complaintStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding complaint_daily_stats from complaints...");
+        complaintStatsService.rebuild();
+    }
+}
@@ -0,0 +1,28 @@
+package ahqpck.maintenance.report.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response only changes when one of {@link #value()} is written.
+ * {@link ConditionalGetInterceptor} answers {@code 304 Not Modified} for it before the
+ * handler runs, when the client's {@code If-None-Match} still matches.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /** Tables the response is read from, see {@code TableVersionService}. */
+    String[] value();
+
+    /**
+     * Entity addressed by the {@code {id}} path variable; its {@code updatedAt} joins the ETag,
+     * so the page only goes stale when that row, not its whole table, is written.
+     */
+    Class<?> entity() default void.class;
+
+    /** Also vary by date, for responses whose default range is relative to today. */
+    boolean daily() default false;
+}
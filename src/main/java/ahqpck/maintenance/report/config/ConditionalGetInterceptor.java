@@ -0,0 +1,109 @@
+package ahqpck.maintenance.report.config;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import ahqpck.maintenance.report.service.TableVersionService;
+import ahqpck.maintenance.report.util.EstimatedPage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Conditional GET for handlers marked {@link ConditionalGet}. The ETag is built from the
+ * table stamps, the URI and query string, the signed-in user (the layout shows it) and, for
+ * entity pages, the entity's {@code updatedAt}. A matching {@code If-None-Match} is answered
+ * with 304 here, so the handler, its queries and its template never run.
+ * <p>
+ * Responses get {@code Cache-Control: private, no-cache} (revalidate every time), which also
+ * keeps Spring Security from writing its {@code no-store} default. Provisional views, rendered
+ * with an {@code error} attribute or an estimated page total, are marked {@code no-store}
+ * instead, so the browser does not replay them until the next write.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String REVALIDATE = "private, no-cache";
+
+    private final TableVersionService tableVersions;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !isGetOrHead(request)) {
+            return true;
+        }
+        ConditionalGet conditional = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditional == null) {
+            return true;
+        }
+        // Flash attributes (a message after a redirect) are one-shot: render them
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            return true;
+        }
+
+        LocalDateTime updatedAt = null;
+        if (conditional.entity() != void.class) {
+            Optional<LocalDateTime> found = tableVersions.updatedAt(conditional.entity(), pathId(request));
+            if (found.isEmpty()) {
+                // Let the handler answer for a missing entity
+                return true;
+            }
+            updatedAt = found.get();
+        }
+
+        Principal principal = request.getUserPrincipal();
+        String etag = tableVersions.etag(conditional.value(),
+                request.getRequestURI(),
+                request.getQueryString(),
+                principal != null ? principal.getName() : null,
+                conditional.daily() ? LocalDate.now() : null,
+                updatedAt);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        if (modelAndView != null && REVALIDATE.equals(response.getHeader(HttpHeaders.CACHE_CONTROL))
+                && isProvisional(modelAndView.getModel())) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        }
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private static boolean isGetOrHead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static boolean isProvisional(Map<String, Object> model) {
+        if (model.containsKey("error")) {
+            return true;
+        }
+        // A deferred count that was not in yet; the next request will have it
+        return model.values().stream()
+                .anyMatch(value -> value instanceof EstimatedPage<?> page && !page.isTotalExact());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get("id") : null;
+    }
+}
@@ -0,0 +1,34 @@
+package ahqpck.maintenance.report.config;
+
+import ahqpck.maintenance.report.service.EquipmentStatsService;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regenerates the equipment counters from complaints and work reports when the
+ * application is started with {@code --rebuild-equipment-stats}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EquipmentStatsRebuildRunner implements ApplicationRunner {
+
+    public static final String OPTION = "rebuild-equipment-stats";
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentStatsRebuildRunner.class);
+
+    private final EquipmentStatsService equipmentStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding equipment_stats from complaints and work reports...");
+        equipmentStatsService.rebuild();
+    }
+}
@@ -0,0 +1,74 @@
+package ahqpck.maintenance.report.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates the FULLTEXT indexes keyword search relies on (JPA cannot declare them, so
+ * {@code ddl-auto} never will) and records whether full-text search can be used. On other
+ * databases, when disabled, or when the indexes cannot be created, the services keep using
+ * the LIKE specifications.
+ */
+@Component
+@RequiredArgsConstructor
+public class FullTextIndexInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(FullTextIndexInitializer.class);
+
+    // Column lists must match the match_against calls in the specifications
+    public static final String COMPLAINT_COLUMNS = "subject, description";
+    public static final String WORK_REPORT_COLUMNS = "problem, solution, remark";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.fulltext.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean available;
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Full-text search disabled, keyword search uses LIKE");
+            return;
+        }
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(product) && !"MariaDB".equalsIgnoreCase(product)) {
+                log.info("{} has no MySQL FULLTEXT, keyword search uses LIKE", product);
+                return;
+            }
+            ensureIndex("complaints", "ft_complaints_text", COMPLAINT_COLUMNS);
+            ensureIndex("work_reports", "ft_work_reports_text", WORK_REPORT_COLUMNS);
+            available = true;
+        } catch (DataAccessException e) {
+            log.warn("FULLTEXT indexes unavailable, keyword search uses LIKE: {}", e.getMessage());
+        }
+    }
+
+    private void ensureIndex(String table, String index, String columns) {
+        Integer existing = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?
+                """, Integer.class, table, index);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        log.info("Creating FULLTEXT index {} on {} ({})", index, table, columns);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + index + " (" + columns + ")");
+    }
+}
@@ -0,0 +1,61 @@
+package ahqpck.maintenance.report.config;
+
+import java.util.List;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code match_against(col1, ..., colN, query)} for criteria and HQL, rendered as
+ * MySQL's {@code MATCH (col1, ..., colN) AGAINST (query IN BOOLEAN MODE)}. The columns must
+ * be exactly those of a FULLTEXT index (see {@link FullTextIndexInitializer}). Loaded through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class MatchAgainstFunctionContributor implements FunctionContributor {
+
+    public static final String FUNCTION_NAME = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        BasicType<Double> doubleType = contributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+        contributions.getFunctionRegistry().register(FUNCTION_NAME, new MatchAgainstFunction(doubleType));
+    }
+
+    private static final class MatchAgainstFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        MatchAgainstFunction(BasicType<Double> doubleType) {
+            super(FUNCTION_NAME,
+                    StandardArgumentsValidators.min(2),
+                    StandardFunctionReturnTypeResolvers.invariant(doubleType),
+                    StandardFunctionArgumentTypeResolvers.NULL);
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> arguments,
+                ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            int last = arguments.size() - 1;
+            sqlAppender.appendSql("match (");
+            for (int i = 0; i < last; i++) {
+                if (i > 0) {
+                    sqlAppender.appendSql(", ");
+                }
+                arguments.get(i).accept(walker);
+            }
+            sqlAppender.appendSql(") against (");
+            arguments.get(last).accept(walker);
+            sqlAppender.appendSql(" in boolean mode)");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ahqpck.maintenance.report.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enables {@code @Timed} on service methods and counts the SQL statements each request runs.
+ * Everything is exposed through {@code /actuator/prometheus}; Hibernate's own statistics
+ * (entity loads, query executions, second-level cache hits) are bound by Spring Boot once
+ * {@code hibernate.generate_statistics} is on.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", new QueryCountInspector());
+    }
+}
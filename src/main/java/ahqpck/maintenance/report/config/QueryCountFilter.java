@@ -0,0 +1,53 @@
+package ahqpck.maintenance.report.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records how many SQL statements each request ran as {@code hibernate.request.queries},
+ * tagged like {@code http.server.requests} so N+1 regressions show up per endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/assets/") || path.startsWith("/css/") || path.startsWith("/js/")
+                || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        QueryCountInspector.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = QueryCountInspector.stop();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("hibernate.request.queries")
+                    .description("SQL statements prepared while handling a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(queries);
+        }
+    }
+}
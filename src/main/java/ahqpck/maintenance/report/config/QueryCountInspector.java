@@ -0,0 +1,32 @@
+package ahqpck.maintenance.report.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start()} and {@link #stop()}. Statements run on other threads (e.g. the
+ * dashboard overview's virtual threads) are not attributed to the request.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,23 @@
+package ahqpck.maintenance.report.config;
+
+import ahqpck.maintenance.report.service.ReliabilityService;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the breakdown timelines for the reliability metrics once the application is up.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReliabilityLoadRunner implements ApplicationRunner {
+
+    private final ReliabilityService reliabilityService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reliabilityService.reload();
+    }
+}
@@ -1,5 +1,9 @@
 package ahqpck.maintenance.report.controller;
 
+import static ahqpck.maintenance.report.service.ListingCountService.AREAS;
+import static ahqpck.maintenance.report.service.ListingCountService.USERS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.AreaDTO;
 import ahqpck.maintenance.report.dto.ComplaintDTO;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
@@ -7,8 +11,7 @@ import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.service.AreaService;
-import ahqpck.maintenance.report.service.UserService;
-import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.service.ReferenceDataRegistry;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -22,8 +25,6 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.List;
 import java.util.Map;
@@ -36,12 +37,13 @@ public class AreaController {
 
     private final AreaService areaService;
     private final UserRepository userRepository; // For populating responsiblePerson dropdown
-    private final UserService userService;
+    private final ReferenceDataRegistry referenceData;
 
     @Value("${app.upload-area-image.dir:src/main/resources/static/upload/area/image}")
     private String uploadDir; // Not used now, but reserved for future
 
     // === LIST AREAS ===
+    @ConditionalGet({ AREAS, USERS })
     @GetMapping
     public String listAreas(
             @RequestParam(required = false) String keyword,
@@ -73,13 +75,7 @@ public class AreaController {
             //         .collect(Collectors.toList());
 
 
-            List<UserDTO> users =  userService.getAllUsers(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
-    
-            
-
-            model.addAttribute("users", users);
+            model.addAttribute("users", referenceData.getUsers());
 
             // Empty DTO for create form
             model.addAttribute("areaDTO", new AreaDTO());
@@ -172,49 +168,6 @@ public class AreaController {
         return "redirect:/areas";
     }
 
-    @PostMapping("/import")
-    public String importComplaints(
-            @RequestParam("data") String dataJson,
-            @RequestParam(value = "sheet", required = false) String sheet,
-            @RequestParam(value = "headerRow", required = false) Integer headerRow,
-            RedirectAttributes ra) {
-
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<Map<String, Object>> data = mapper.readValue(dataJson,
-                    new TypeReference<List<Map<String, Object>>>() {
-                    });
-
-            // ra.addFlashAttribute("error", data);
-
-            ImportUtil.ImportResult result = areaService.importAreasFromExcel(data);
-
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " area record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any area:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
-
-            return "redirect:/areas";
-
-        } catch (Exception e) {
-            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
-            return "redirect:/areas";
-        }
-    }
-
     // === HELPERS ===
 
     private void handleBindingErrors(BindingResult bindingResult, RedirectAttributes ra, ComplaintDTO dto) {
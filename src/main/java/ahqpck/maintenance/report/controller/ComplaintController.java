@@ -1,5 +1,12 @@
 package ahqpck.maintenance.report.controller;
 
+import static ahqpck.maintenance.report.service.ListingCountService.AREAS;
+import static ahqpck.maintenance.report.service.ListingCountService.COMPLAINTS;
+import static ahqpck.maintenance.report.service.ListingCountService.EQUIPMENTS;
+import static ahqpck.maintenance.report.service.ListingCountService.PARTS;
+import static ahqpck.maintenance.report.service.ListingCountService.USERS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.*;
 import ahqpck.maintenance.report.entity.Area;
 import ahqpck.maintenance.report.entity.Complaint;
@@ -11,12 +18,9 @@ import ahqpck.maintenance.report.repository.AreaRepository;
 import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.repository.PartRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
-import ahqpck.maintenance.report.service.AreaService;
 import ahqpck.maintenance.report.service.ComplaintService;
-import ahqpck.maintenance.report.service.EquipmentService;
 import ahqpck.maintenance.report.service.PartService;
-import ahqpck.maintenance.report.service.UserService;
-import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.service.ReferenceDataRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -35,7 +39,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Controller
@@ -48,11 +51,10 @@ public class ComplaintController {
     private final AreaRepository areaRepository;
     private final EquipmentRepository equipmentRepository;
     private final PartRepository partRepository;
-    private final EquipmentService equipmentService;
     private final PartService partService;
-    private final AreaService areaService;
-    private final UserService userService;
+    private final ReferenceDataRegistry referenceData;
 
+    @ConditionalGet({ COMPLAINTS, USERS, AREAS, EQUIPMENTS, PARTS })
     @GetMapping
     public String listComplaints(
             @RequestParam(required = false) String keyword,
@@ -105,6 +107,7 @@ public class ComplaintController {
         return "complaint/index";
     }
 
+    @ConditionalGet(value = { USERS, AREAS, EQUIPMENTS, PARTS }, entity = Complaint.class)
     @GetMapping("/{id}")
     public String getComplaintDetail(@PathVariable String id, Model model) {
         try {
@@ -205,49 +208,6 @@ public class ComplaintController {
         return "redirect:/complaints";
     }
 
-    @PostMapping("/import")
-    public String importComplaints(
-            @RequestParam("data") String dataJson,
-            @RequestParam(value = "sheet", required = false) String sheet,
-            @RequestParam(value = "headerRow", required = false) Integer headerRow,
-            RedirectAttributes ra) {
-
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<Map<String, Object>> data = mapper.readValue(dataJson,
-                    new TypeReference<List<Map<String, Object>>>() {
-                    });
-
-            // ra.addFlashAttribute("error", data);
-
-            ImportUtil.ImportResult result = complaintService.importComplaintsFromExcel(data);
-
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " complaint record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any complaint:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
-
-            return "redirect:/complaints";
-
-        } catch (Exception e) {
-            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
-            return "redirect:/complaints";
-        }
-    }
-
     // === HELPERS ===
 
     private void handleBindingErrors(BindingResult bindingResult, RedirectAttributes ra, ComplaintDTO dto) {
@@ -265,22 +225,16 @@ public class ComplaintController {
         ra.addFlashAttribute("complaintDTO", dto);
     }
 
-    private List<UserDTO> getAllUsersForDropdown() {
-        return userService.getAllUsers(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+    private List<UserRefDTO> getAllUsersForDropdown() {
+        return referenceData.getUsers();
     }
 
-    private List<AreaDTO> getAllAreasForDropdown() {
-        return areaService.getAllAreas(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+    private List<AreaRefDTO> getAllAreasForDropdown() {
+        return referenceData.getAreas();
     }
 
-    private List<EquipmentDTO> getAllEquipmentsForDropdown() {
-        return equipmentService.getAllEquipments(null, 0, Integer.MAX_VALUE, "name", true)
-                .getContent().stream()
-                .collect(Collectors.toList());
+    private List<EquipmentRefDTO> getAllEquipmentsForDropdown() {
+        return referenceData.getEquipments();
     }
 }
 
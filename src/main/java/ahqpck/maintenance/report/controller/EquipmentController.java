@@ -1,8 +1,10 @@
 package ahqpck.maintenance.report.controller;
 
+import static ahqpck.maintenance.report.service.ListingCountService.EQUIPMENTS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
 import ahqpck.maintenance.report.service.EquipmentService;
-import ahqpck.maintenance.report.util.ImportUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -16,11 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Controller
@@ -33,6 +31,7 @@ public class EquipmentController {
     @Value("${app.upload-equipment-image.dir:src/main/resources/static/upload/equipment/image}")
     private String uploadDir;
 
+    @ConditionalGet(EQUIPMENTS)
     @GetMapping
     public String listEquipments(
             @RequestParam(required = false) String keyword,
@@ -146,45 +145,4 @@ public class EquipmentController {
         }
         return "redirect:/equipments";
     }
-
-    @PostMapping("/import")
-    public String importEquipments(
-            @RequestParam("data") String dataJson,
-            @RequestParam(value = "sheet", required = false) String sheet,
-            @RequestParam(value = "headerRow", required = false) Integer headerRow,
-            RedirectAttributes ra) {
-
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<Map<String, Object>> data = mapper.readValue(dataJson,
-                    new TypeReference<List<Map<String, Object>>>() {
-                    });
-
-            ImportUtil.ImportResult result = equipmentService.importEquipmentsFromExcel(data);
-
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " equipment record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any equipment:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
-
-            return "redirect:/equipments";
-
-        } catch (Exception e) {
-            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
-            return "redirect:/equipments";
-        }
-    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package ahqpck.maintenance.report.controller;
 
+import static ahqpck.maintenance.report.service.ListingCountService.PARTS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.service.PartService;
 import jakarta.validation.Valid;
@@ -23,6 +26,7 @@ public class PartController {
 
     private final PartService partService;
 
+    @ConditionalGet(PARTS)
     @GetMapping
     public String listParts(
             @RequestParam(required = false) String keyword,
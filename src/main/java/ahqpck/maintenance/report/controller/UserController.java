@@ -1,5 +1,8 @@
 package ahqpck.maintenance.report.controller;
 
+import static ahqpck.maintenance.report.service.ListingCountService.USERS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.RoleDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.entity.Role;
@@ -62,6 +65,7 @@ public class UserController {
     }
 
     // === LIST USERS ===
+    @ConditionalGet(USERS)
     @GetMapping
     public String listUsers(
             @RequestParam(required = false) String keyword,
@@ -1,14 +1,16 @@
 package ahqpck.maintenance.report.controller;
 
-import ahqpck.maintenance.report.dto.AreaDTO;
-import ahqpck.maintenance.report.dto.EquipmentDTO;
+import static ahqpck.maintenance.report.service.ListingCountService.AREAS;
+import static ahqpck.maintenance.report.service.ListingCountService.EQUIPMENTS;
+import static ahqpck.maintenance.report.service.ListingCountService.PARTS;
+import static ahqpck.maintenance.report.service.ListingCountService.USERS;
+import static ahqpck.maintenance.report.service.ListingCountService.WORK_REPORTS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.UserDTO;
 import ahqpck.maintenance.report.dto.WorkReportDTO;
-import ahqpck.maintenance.report.service.AreaService;
-import ahqpck.maintenance.report.service.EquipmentService;
-import ahqpck.maintenance.report.service.UserService;
+import ahqpck.maintenance.report.service.ReferenceDataRegistry;
 import ahqpck.maintenance.report.service.WorkReportService;
-import ahqpck.maintenance.report.util.ImportUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,13 +21,9 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.stream.Collectors;
@@ -36,9 +34,7 @@ import java.util.stream.Collectors;
 public class WorkReportController {
 
     private final WorkReportService workReportService;
-    private final AreaService areaService;
-    private final EquipmentService equipmentService;
-    private final UserService userService;
+    private final ReferenceDataRegistry referenceData;
 
     @ModelAttribute("workReportDTO")
     public WorkReportDTO workReportDTO() {
@@ -46,6 +42,7 @@ public class WorkReportController {
     }
 
     // === LIST WORK REPORTS ===
+    @ConditionalGet({ WORK_REPORTS, USERS, AREAS, EQUIPMENTS, PARTS })
     @GetMapping
     public String listWorkReports(
             @RequestParam(required = false) String keyword,
@@ -91,17 +88,9 @@ System.out.println("Now: " + LocalDateTime.now());
             });
 
             // Load dropdown data
-            List<UserDTO> users = userService.getAllUsers(null, 0, Integer.MAX_VALUE, "name", true)
-                    .getContent().stream().collect(Collectors.toList());
-            model.addAttribute("users", users);
-
-            List<AreaDTO> areas = areaService.getAllAreas(null, 0, Integer.MAX_VALUE, "name", true)
-                    .getContent().stream().collect(Collectors.toList());
-            model.addAttribute("areas", areas);
-
-            List<EquipmentDTO> equipments = equipmentService.getAllEquipments(null, 0, Integer.MAX_VALUE, "name", true)
-                    .getContent().stream().collect(Collectors.toList());
-            model.addAttribute("equipments", equipments);
+            model.addAttribute("users", referenceData.getUsers());
+            model.addAttribute("areas", referenceData.getAreas());
+            model.addAttribute("equipments", referenceData.getEquipments());
 
             // Empty DTO for create form
             model.addAttribute("workReportDTO", new WorkReportDTO());
@@ -205,49 +194,6 @@ System.out.println("Now: " + LocalDateTime.now());
         return "redirect:/work-reports";
     }
 
-    @PostMapping("/import")
-    public String importWorkReports(
-            @RequestParam("data") String dataJson,
-            @RequestParam(value = "sheet", required = false) String sheet,
-            @RequestParam(value = "headerRow", required = false) Integer headerRow,
-            RedirectAttributes ra) {
-
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<Map<String, Object>> data = mapper.readValue(dataJson,
-                    new TypeReference<List<Map<String, Object>>>() {
-                    });
-
-            // ra.addFlashAttribute("error", data);
-
-            ImportUtil.ImportResult result = workReportService.importWorkReportsFromExcel(data);
-
-            if (result.getImportedCount() > 0 && !result.hasErrors()) {
-                ra.addFlashAttribute("success",
-                        "Successfully imported " + result.getImportedCount() + " work report record(s).");
-            } else if (result.getImportedCount() > 0) {
-                StringBuilder msg = new StringBuilder("Imported ").append(result.getImportedCount())
-                        .append(" record(s), but ").append(result.getErrorMessages().size()).append(" error(s):");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            } else {
-                StringBuilder msg = new StringBuilder("Failed to import any work report:");
-                for (String err : result.getErrorMessages()) {
-                    msg.append("|").append(err);
-                }
-                ra.addFlashAttribute("error", msg.toString());
-            }
-
-            return "redirect:/work-reports";
-
-        } catch (Exception e) {
-            ra.addFlashAttribute("error", "Bulk import failed: " + e.getMessage());
-            return "redirect:/WorkReports";
-        }
-    }
-
     // === HELPERS ===
 
     private void handleBindingErrors(BindingResult bindingResult, RedirectAttributes ra, WorkReportDTO dto) {
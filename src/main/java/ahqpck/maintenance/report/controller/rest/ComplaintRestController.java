@@ -0,0 +1,80 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import static ahqpck.maintenance.report.service.ListingCountService.AREAS;
+import static ahqpck.maintenance.report.service.ListingCountService.COMPLAINTS;
+import static ahqpck.maintenance.report.service.ListingCountService.EQUIPMENTS;
+import static ahqpck.maintenance.report.service.ListingCountService.PARTS;
+import static ahqpck.maintenance.report.service.ListingCountService.USERS;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
+import ahqpck.maintenance.report.dto.ComplaintFilterDTO;
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+import ahqpck.maintenance.report.service.ComplaintService;
+import ahqpck.maintenance.report.service.FieldProjectionService;
+import ahqpck.maintenance.report.util.ExportWriter;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/complaints")
+@RequiredArgsConstructor
+public class ComplaintRestController {
+
+    private final ComplaintService complaintService;
+
+    /**
+     * Cursor-paged complaints, newest first by default. {@code fields} is a comma separated
+     * subset of {@link ComplaintService#API_FIELDS} (e.g. {@code fields=code,status,equipmentCode});
+     * only those columns are read. Filters: keyword, reportDateFrom/To (ISO dates), status,
+     * priority, category, equipmentCode, areaCode and assignee (employee ID). Pass the returned
+     * {@code nextCursor} back as {@code cursor}, with the same filters and sort, for the next page.
+     */
+    @ConditionalGet({ COMPLAINTS, USERS, AREAS, EQUIPMENTS, PARTS })
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> getComplaints(
+            @ModelAttribute ComplaintFilterDTO filter,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "reportDate") String sortBy,
+            @RequestParam(defaultValue = "false") boolean asc,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(complaintService.findComplaintFields(filter, fields, sortBy, asc, cursor, size));
+    }
+
+    /**
+     * Every matching row as CSV or XLSX ({@code format}), same filters and {@code fields} as the
+     * list (all columns when blank). Streamed from a database cursor, so any size exports in
+     * constant memory.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @ModelAttribute ComplaintFilterDTO filter,
+            @RequestParam(defaultValue = "xlsx") String format,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "reportDate") String sortBy,
+            @RequestParam(defaultValue = "false") boolean asc) {
+
+        ExportWriter.Format exportFormat = ExportWriter.Format.of(format);
+        FieldProjectionService.checkExport(ComplaintService.API_FIELDS, fields, sortBy);
+
+        StreamingResponseBody body = out -> complaintService.exportComplaints(filter, fields, sortBy, asc, exportFormat, out);
+        String fileName = "complaints-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+}
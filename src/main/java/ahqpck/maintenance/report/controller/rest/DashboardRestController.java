@@ -1,34 +1,58 @@
 package ahqpck.maintenance.report.controller.rest;
 
+import static ahqpck.maintenance.report.service.ListingCountService.COMPLAINTS;
+import static ahqpck.maintenance.report.service.ListingCountService.EQUIPMENTS;
+import static ahqpck.maintenance.report.service.ListingCountService.USERS;
+import static ahqpck.maintenance.report.service.ListingCountService.WORK_REPORTS;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
 import ahqpck.maintenance.report.dto.DailyBreakdownDTO;
 import ahqpck.maintenance.report.dto.DailyComplaintDTO;
 import ahqpck.maintenance.report.dto.DailyWorkReportDTO;
 import ahqpck.maintenance.report.dto.DailyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.DashboardOverviewDTO;
 import ahqpck.maintenance.report.dto.EquipmentComplaintCountDTO;
 import ahqpck.maintenance.report.dto.EquipmentCountDTO;
+import ahqpck.maintenance.report.dto.EquipmentStatDTO;
 import ahqpck.maintenance.report.dto.EquipmentWorkReportDTO;
 import ahqpck.maintenance.report.dto.MonthlyBreakdownDTO;
 import ahqpck.maintenance.report.dto.MonthlyComplaintDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportEquipmentDTO;
+import ahqpck.maintenance.report.dto.ReliabilityDTO;
 import ahqpck.maintenance.report.dto.StatusCountDTO;
+import ahqpck.maintenance.report.service.ComplaintStatsService;
+import ahqpck.maintenance.report.service.DashboardCache;
+import ahqpck.maintenance.report.service.DashboardOverviewService;
 import ahqpck.maintenance.report.service.DashboardService;
+import ahqpck.maintenance.report.service.DashboardStreamService;
+import ahqpck.maintenance.report.service.EquipmentStatsService;
+import ahqpck.maintenance.report.service.ReliabilityService;
+import ahqpck.maintenance.report.service.SecondLevelCacheStats;
+import ahqpck.maintenance.report.service.TableVersionService;
+import ahqpck.maintenance.report.util.TimeBucketer.Granularity;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -37,8 +61,17 @@ import lombok.RequiredArgsConstructor;
 public class DashboardRestController {
 
     private final DashboardService dashboardService;
+    private final DashboardOverviewService dashboardOverviewService;
+    private final DashboardStreamService dashboardStreamService;
+    private final ComplaintStatsService complaintStatsService;
+    private final EquipmentStatsService equipmentStatsService;
+    private final ReliabilityService reliabilityService;
+    private final DashboardCache dashboardCache;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+    private final TableVersionService tableVersions;
 
     // Example: ?from=2025-08-01T00:00&to=2025-08-10T23:59
+    @ConditionalGet(value = COMPLAINTS, daily = true)
     @GetMapping("/status-count")
     public ResponseEntity<StatusCountDTO> getStatusCount(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
@@ -48,16 +81,19 @@ public class DashboardRestController {
         return ResponseEntity.ok(result.orZero());
     }
 
+    @ConditionalGet(value = COMPLAINTS, daily = true)
     @GetMapping("/daily-complaint")
     public ResponseEntity<List<DailyComplaintDTO>> getDailyComplaint(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
 
-            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "granularity", required = false) Granularity granularity) {
 
-        List<DailyComplaintDTO> result = dashboardService.getDailyComplaint(from, to);
+        List<DailyComplaintDTO> result = dashboardService.getDailyComplaint(from, to, granularity);
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet(value = COMPLAINTS, daily = true)
     @GetMapping("/monthly-complaint")
     public ResponseEntity<List<MonthlyComplaintDTO>> getMonthlyComplaint(
             @RequestParam(name = "year", required = false) Integer year) {
@@ -66,31 +102,42 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet(value = { COMPLAINTS, USERS }, daily = true)
     @GetMapping("/assignee-daily-status")
-    public ResponseEntity<AssigneeDailyStatusDTO> getAssigneeDailyStatus(
+    public ResponseEntity<?> getAssigneeDailyStatus(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
 
-            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
 
+            // "columnar": one [assignee][day] array per status instead of one object per assignee
+            @RequestParam(name = "shape", required = false) String shape) {
+
+        if ("columnar".equalsIgnoreCase(shape)) {
+            return ResponseEntity.ok(dashboardService.getAssigneeDailyStatusColumnar(from, to));
+        }
         AssigneeDailyStatusDTO result = dashboardService.getAssigneeDailyStatus(from, to);
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet({ COMPLAINTS, EQUIPMENTS })
     @GetMapping("/equipment-complaint-count")
     public ResponseEntity<List<EquipmentComplaintCountDTO>> getEquipmentComplaintCount() {
         List<EquipmentComplaintCountDTO> data = dashboardService.getEquipmentComplaintCount();
         return ResponseEntity.ok(data);
     }
 
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
     @GetMapping("/daily-breakdown")
     public ResponseEntity<List<DailyBreakdownDTO>> getDailyBreakdown(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "granularity", required = false) Granularity granularity) {
 
-        List<DailyBreakdownDTO> result = dashboardService.getDailyBreakdownTime(from, to);
+        List<DailyBreakdownDTO> result = dashboardService.getDailyBreakdownTime(from, to, granularity);
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
     @GetMapping("/monthly-breakdown")
     public ResponseEntity<List<MonthlyBreakdownDTO>> getMonthlyBreakdown(
             @RequestParam(name = "year", required = false) Integer year) {
@@ -99,21 +146,25 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet({ WORK_REPORTS, EQUIPMENTS })
     @GetMapping("/equipment-work-report")
     public ResponseEntity<List<EquipmentWorkReportDTO>> getEquipmentWorkReport() {
         List<EquipmentWorkReportDTO> data = dashboardService.getEquipmentWorkReport();
         return ResponseEntity.ok(data);
     }
 
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
     @GetMapping("/daily-work-report")
     public ResponseEntity<List<DailyWorkReportDTO>> getDailyWorkReport(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "granularity", required = false) Granularity granularity) {
 
-        List<DailyWorkReportDTO> result = dashboardService.getDailyWorkReport(from, to);
+        List<DailyWorkReportDTO> result = dashboardService.getDailyWorkReport(from, to, granularity);
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
     @GetMapping("/monthly-work-report")
     public ResponseEntity<List<MonthlyWorkReportDTO>> getMonthlyWorkReport(
             @RequestParam(name = "year", required = false) Integer year) {
@@ -122,17 +173,20 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
     @GetMapping("/daily-work-report-equipment")
     public ResponseEntity<List<DailyWorkReportEquipmentDTO>> getDailyWorkReportEquipment(
             @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
-            @RequestParam(name = "equipmentCode", required = false) String equipmentCode) {
+            @RequestParam(name = "equipmentCode", required = false) String equipmentCode,
+            @RequestParam(name = "granularity", required = false) Granularity granularity) {
 
         List<DailyWorkReportEquipmentDTO> result = dashboardService.getDailyWorkReportEquipment(from, to,
-                equipmentCode);
+                equipmentCode, granularity);
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
     @GetMapping("/monthly-work-report-equipment")
     public ResponseEntity<List<MonthlyWorkReportEquipmentDTO>> getMonthlyWorkReportEquipment(
             @RequestParam(name = "year", required = false) Integer year,
@@ -143,9 +197,114 @@ public class DashboardRestController {
         return ResponseEntity.ok(result);
     }
 
+    @ConditionalGet({ COMPLAINTS, WORK_REPORTS, EQUIPMENTS })
     @GetMapping("/equipment-count")
     public ResponseEntity<List<EquipmentCountDTO>> getEquipmentCount() {
         List<EquipmentCountDTO> data = dashboardService.getEquipmentCount();
         return ResponseEntity.ok(data);
     }
-}
\ No newline at end of file
+
+    // Every overview section in one round trip, see DashboardOverviewService
+    @ConditionalGet(value = { COMPLAINTS, WORK_REPORTS, EQUIPMENTS, USERS }, daily = true)
+    @GetMapping("/overview")
+    public ResponseEntity<DashboardOverviewDTO> getOverview() {
+        return ResponseEntity.ok(dashboardOverviewService.getOverview());
+    }
+
+    // Live deltas (SSE); EventSource resends Last-Event-ID on reconnect
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return dashboardStreamService.subscribe(lastEventId);
+    }
+
+    // Example: ?metric=BREAKDOWN_MINUTES&limit=10&from=2025-08-01&to=2025-08-31
+    @ConditionalGet(value = { COMPLAINTS, WORK_REPORTS, EQUIPMENTS }, daily = true)
+    @GetMapping("/equipment-stats/top")
+    public ResponseEntity<List<EquipmentStatDTO>> getTopEquipmentStats(
+            @RequestParam(name = "metric", required = false) EquipmentStatsService.Metric metric,
+            @RequestParam(name = "limit", defaultValue = "10") int limit,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        List<EquipmentStatDTO> result = equipmentStatsService.getTop(metric, limit, from, to);
+        return ResponseEntity.ok(result);
+    }
+
+    @ConditionalGet(value = { COMPLAINTS, WORK_REPORTS, EQUIPMENTS }, daily = true)
+    @GetMapping("/equipment-stats")
+    public ResponseEntity<PartRestController.PageResponse<EquipmentStatDTO>> getEquipmentStats(
+            @RequestParam(name = "metric", required = false) EquipmentStatsService.Metric metric,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        var statsPage = equipmentStatsService.getPage(metric, page, size, from, to);
+        var pageResponse = new PartRestController.PageResponse<>(
+                statsPage.getContent(),
+                statsPage.getNumber(),
+                statsPage.getSize(),
+                statsPage.getTotalElements(),
+                statsPage.getTotalPages(),
+                statsPage.hasPrevious(),
+                statsPage.hasNext());
+        return ResponseEntity.ok(pageResponse);
+    }
+
+    // MTBF / MTTR from BREAKDOWN work reports, in minutes
+    @ConditionalGet(WORK_REPORTS)
+    @GetMapping("/reliability/equipment")
+    public ResponseEntity<List<ReliabilityDTO>> getEquipmentReliability() {
+        return ResponseEntity.ok(reliabilityService.getByEquipment());
+    }
+
+    @ConditionalGet(WORK_REPORTS)
+    @GetMapping("/reliability/area")
+    public ResponseEntity<List<ReliabilityDTO>> getAreaReliability() {
+        return ResponseEntity.ok(reliabilityService.getByArea());
+    }
+
+    @ConditionalGet(value = WORK_REPORTS, daily = true)
+    @GetMapping("/reliability/monthly")
+    public ResponseEntity<List<ReliabilityDTO>> getMonthlyReliability(
+            @RequestParam(name = "year", required = false) Integer year,
+            @RequestParam(name = "equipmentCode", required = false) String equipmentCode) {
+
+        List<ReliabilityDTO> result = reliabilityService.getMonthly(year, equipmentCode);
+        return ResponseEntity.ok(result);
+    }
+
+    // Reloads the breakdown timelines from work_reports
+    @PostMapping("/reliability/reload")
+    public ResponseEntity<Map<String, Integer>> reloadReliability() {
+        int breakdowns = reliabilityService.reload();
+        // Series are derived data: no table stamp moved, so drop the dashboard ETags explicitly
+        tableVersions.bump(WORK_REPORTS);
+        return ResponseEntity.ok(Map.of("breakdowns", breakdowns));
+    }
+
+    // Regenerates equipment_stats and equipment_daily_stats from complaints and work reports
+    @PostMapping("/equipment-stats/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildEquipmentStats() {
+        int rows = equipmentStatsService.rebuild();
+        tableVersions.bump(COMPLAINTS, WORK_REPORTS);
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
+
+    // Regenerates complaint_daily_stats from the complaints table
+    @PostMapping("/complaint-stats/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildComplaintStats() {
+        int rows = complaintStatsService.rebuild();
+        dashboardCache.evictAll();
+        tableVersions.bump(COMPLAINTS);
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
+
+    // Hit/miss counters of the dashboard result caches and the Hibernate second-level cache regions
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>(dashboardCache.stats());
+        stats.putAll(secondLevelCacheStats.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,115 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ahqpck.maintenance.report.dto.ImportJobDTO;
+import ahqpck.maintenance.report.entity.ImportJob;
+import ahqpck.maintenance.report.exception.ImportLimitException;
+import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.service.AreaService;
+import ahqpck.maintenance.report.service.ComplaintService;
+import ahqpck.maintenance.report.service.EquipmentService;
+import ahqpck.maintenance.report.service.ImportJobService;
+import ahqpck.maintenance.report.service.WorkReportService;
+import ahqpck.maintenance.report.util.SheetReader;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Background imports of the import wizard. {@code POST /api/imports/{kind}} takes the upload
+ * and answers 202 with the queued job; the wizard then polls {@code /api/imports/jobs/{id}}
+ * for its counters and, once finished, its row errors.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportJobRestController {
+
+    private final ImportJobService importJobService;
+    private final ComplaintService complaintService;
+    private final WorkReportService workReportService;
+    private final AreaService areaService;
+    private final EquipmentService equipmentService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/{kind}")
+    public ResponseEntity<ImportJobDTO> submit(
+            @PathVariable String kind,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("columns") String columnsJson,
+            @RequestParam(value = "sheet", required = false) String sheet,
+            @RequestParam(value = "headerRow", required = false) Integer headerRow,
+            Principal principal) throws IOException {
+
+        ImportJob.Kind jobKind = switch (kind) {
+            case "complaints" -> ImportJob.Kind.COMPLAINTS;
+            case "work-reports" -> ImportJob.Kind.WORK_REPORTS;
+            case "areas" -> ImportJob.Kind.AREAS;
+            case "equipments" -> ImportJob.Kind.EQUIPMENTS;
+            default -> throw new NotFoundException("Unknown import: " + kind);
+        };
+        ImportJobService.Importer importer = switch (jobKind) {
+            case COMPLAINTS -> complaintService::importComplaintsFromExcel;
+            case WORK_REPORTS -> workReportService::importWorkReportsFromExcel;
+            case AREAS -> areaService::importAreasFromExcel;
+            case EQUIPMENTS -> equipmentService::importEquipmentsFromExcel;
+        };
+
+        Map<String, String> columns = objectMapper.readValue(columnsJson,
+                new TypeReference<Map<String, String>>() {
+                });
+
+        // The upload is copied to a temp file here, while the request still owns it
+        SheetReader rows = SheetReader.open(file, sheet, headerRow, columns);
+        ImportJobDTO job = importJobService.submit(jobKind, file.getOriginalFilename(), principal.getName(), rows,
+                importer);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ImportJobDTO>> recentJobs(Principal principal) {
+        return ResponseEntity.ok(importJobService.getRecentJobs(principal.getName()));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ImportJobDTO> job(@PathVariable String id, Principal principal) {
+        return ResponseEntity.ok(importJobService.getJob(id, principal.getName()));
+    }
+
+    @PostMapping("/jobs/{id}/cancel")
+    public ResponseEntity<ImportJobDTO> cancel(@PathVariable String id, Principal principal) {
+        return ResponseEntity.ok(importJobService.cancel(id, principal.getName()));
+    }
+
+    @ExceptionHandler({ IllegalArgumentException.class, IOException.class })
+    public ResponseEntity<Map<String, String>> handleBadRequest(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : "Cannot read the uploaded file.";
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", message));
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(ImportLimitException.class)
+    public ResponseEntity<Map<String, String>> handleTooMany(ImportLimitException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
+    }
+}
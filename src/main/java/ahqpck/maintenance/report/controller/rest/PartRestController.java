@@ -1,9 +1,14 @@
 package ahqpck.maintenance.report.controller.rest;
 
+import static ahqpck.maintenance.report.service.ListingCountService.PARTS;
+
+import ahqpck.maintenance.report.config.ConditionalGet;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.service.PartService;
+import ahqpck.maintenance.report.util.EstimatedPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,18 +32,10 @@ public class PartRestController {
       @RequestParam(defaultValue = "true") boolean asc) {
 
     var partsPage = partService.getAllParts(keyword, page, size, sortBy, asc);
-    var pageResponse = new PageResponse<>(
-        partsPage.getContent(),
-        partsPage.getNumber(),
-        partsPage.getSize(),
-        partsPage.getTotalElements(),
-        partsPage.getTotalPages(),
-        partsPage.hasPrevious(),
-        partsPage.hasNext());
-
-    return ResponseEntity.ok(pageResponse);
+    return ResponseEntity.ok(PageResponse.of(partsPage));
   }
 
+  @ConditionalGet(PARTS)
   @GetMapping("/{id}")
   public ResponseEntity<PartDTO> getPartById(@PathVariable String id) {
     PartDTO dto = partService.getPartById(id);
@@ -85,9 +82,15 @@ public class PartRestController {
     private boolean last;
     private boolean hasPrevious;
     private boolean hasNext;
+    private boolean totalExact;
 
     public PageResponse(List<T> content, int number, int size, long totalElements, int totalPages,
         boolean hasPrevious, boolean hasNext) {
+      this(content, number, size, totalElements, totalPages, hasPrevious, hasNext, true);
+    }
+
+    public PageResponse(List<T> content, int number, int size, long totalElements, int totalPages,
+        boolean hasPrevious, boolean hasNext, boolean totalExact) {
       this.content = content;
       this.number = number;
       this.size = size;
@@ -97,6 +100,14 @@ public class PartRestController {
       this.last = number == totalPages - 1;
       this.hasPrevious = hasPrevious;
       this.hasNext = hasNext;
+      this.totalExact = totalExact;
+    }
+
+    // totalElements / totalPages may be an estimate while the exact count is pending
+    public static <T> PageResponse<T> of(Page<T> page) {
+      boolean exact = !(page instanceof EstimatedPage<?> estimated) || estimated.isTotalExact();
+      return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+          page.getTotalPages(), page.hasPrevious(), page.hasNext(), exact);
     }
 
     public List<T> getContent() {
@@ -134,6 +145,10 @@ public class PartRestController {
     public boolean isHasNext() {
       return hasNext;
     }
+
+    public boolean isTotalExact() {
+      return totalExact;
+    }
   }
 
   public static class ApiResponse<T> {
@@ -0,0 +1,23 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Error bodies shared by the JSON endpoints of this package. Handlers declared on a
+ * controller itself (e.g. the import job upload errors) still take precedence.
+ */
+@RestControllerAdvice(basePackageClasses = RestExceptionHandler.class)
+public class RestExceptionHandler {
+
+    // Invalid filters, cursors, field lists, ranges and unsupported granularities
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        String message = e.getMessage() != null ? e.getMessage() : "Invalid request.";
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", message));
+    }
+}
@@ -0,0 +1,58 @@
+package ahqpck.maintenance.report.controller.rest;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ahqpck.maintenance.report.dto.AreaRefDTO;
+import ahqpck.maintenance.report.dto.EquipmentRefDTO;
+import ahqpck.maintenance.report.dto.PartRefDTO;
+import ahqpck.maintenance.report.dto.UserRefDTO;
+import ahqpck.maintenance.report.service.TypeaheadService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Suggestions for the pickers of the complaint and work report forms, from the in-memory
+ * index of {@link TypeaheadService}. {@code q} is matched case- and accent-insensitively as
+ * word prefixes ({@code q=mul pu} finds "Müller Pump"); at most {@code limit} (max
+ * {@value TypeaheadService#MAX_LIMIT}) entries are returned, none for a blank {@code q}.
+ */
+@RestController
+@RequestMapping("/api/typeahead")
+@RequiredArgsConstructor
+public class TypeaheadRestController {
+
+    private final TypeaheadService typeaheadService;
+
+    @GetMapping("/users")
+    public ResponseEntity<List<UserRefDTO>> users(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + TypeaheadService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(typeaheadService.searchUsers(q, limit));
+    }
+
+    @GetMapping("/areas")
+    public ResponseEntity<List<AreaRefDTO>> areas(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + TypeaheadService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(typeaheadService.searchAreas(q, limit));
+    }
+
+    @GetMapping("/equipments")
+    public ResponseEntity<List<EquipmentRefDTO>> equipments(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + TypeaheadService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(typeaheadService.searchEquipments(q, limit));
+    }
+
+    @GetMapping("/parts")
+    public ResponseEntity<List<PartRefDTO>> parts(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + TypeaheadService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(typeaheadService.searchParts(q, limit));
+    }
+}
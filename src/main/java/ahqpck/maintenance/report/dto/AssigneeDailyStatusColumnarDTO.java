@@ -0,0 +1,18 @@
+package ahqpck.maintenance.report.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssigneeDailyStatusColumnarDTO {
+    private List<String> dates;
+    private List<String> assignees;
+    private int[][] open;      // [assignee][day]
+    private int[][] pending;
+    private int[][] closed;
+}
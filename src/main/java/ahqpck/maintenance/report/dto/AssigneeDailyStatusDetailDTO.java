@@ -1,7 +1,5 @@
 package ahqpck.maintenance.report.dto;
 
-import java.util.List;
-
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,7 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AssigneeDailyStatusDetailDTO {
     private String assignee;
-    private List<Integer> open;
-    private List<Integer> pending;
-    private List<Integer> closed;
+    private int[] open;
+    private int[] pending;
+    private int[] closed;
 }
\ No newline at end of file
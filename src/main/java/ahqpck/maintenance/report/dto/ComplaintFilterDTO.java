@@ -0,0 +1,35 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import ahqpck.maintenance.report.entity.Complaint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Query parameters of {@code GET /api/complaints}; every filter is optional. */
+@Data
+@NoArgsConstructor
+public class ComplaintFilterDTO {
+
+    private String keyword;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate reportDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate reportDateTo;
+
+    private Complaint.Status status;
+
+    private Complaint.Priority priority;
+
+    private Complaint.Category category;
+
+    private String equipmentCode;
+
+    private String areaCode;
+
+    private String assignee;            // employee ID
+}
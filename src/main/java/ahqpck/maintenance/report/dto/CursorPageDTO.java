@@ -0,0 +1,17 @@
+package ahqpck.maintenance.report.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;          // null on the last page
+    private boolean hasNext;
+}
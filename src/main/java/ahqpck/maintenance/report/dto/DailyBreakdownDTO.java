@@ -1,9 +1,14 @@
 package ahqpck.maintenance.report.dto;
 
-import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
-public interface DailyBreakdownDTO {
-    LocalDate getDate();
-    Long getBreakdownCount();
-    Integer getTotalResolutionTimeMinutes();
-}
\ No newline at end of file
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBreakdownDTO {
+    private String date;   // Bucket label, e.g. "2025-08-01" or "2025-08-01 NIGHT"
+    private Long breakdownCount;
+    private Long totalResolutionTimeMinutes;
+}
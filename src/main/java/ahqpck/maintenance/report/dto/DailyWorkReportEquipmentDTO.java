@@ -1,9 +1,16 @@
 package ahqpck.maintenance.report.dto;
 
-public interface DailyWorkReportEquipmentDTO {
-    String getDate();
-    Integer getCorrectiveMaintenanceCount();
-    Integer getPreventiveMaintenanceCount();
-    Integer getBreakdownCount();
-    Integer getOtherCount();
-}
\ No newline at end of file
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyWorkReportEquipmentDTO {
+    private String date;   // Bucket label, e.g. "2025-08-01" or "2025-08-01 NIGHT"
+    private Long correctiveMaintenanceCount;
+    private Long preventiveMaintenanceCount;
+    private Long breakdownCount;
+    private Long otherCount;
+}
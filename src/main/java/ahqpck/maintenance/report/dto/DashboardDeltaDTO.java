@@ -0,0 +1,29 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Net change to the dashboard series over one flush window. Values are signed
+ * increments, not totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDeltaDTO {
+    private long id;
+    private LocalDateTime at;
+
+    // report/close date -> complaint status -> "reported" / "closed" -> delta
+    private Map<String, Map<String, Map<String, Long>>> complaintDaily;
+
+    // assignee name -> report date -> complaint status -> delta
+    private Map<String, Map<String, Map<String, Long>>> assigneeDaily;
+
+    // report date -> work report category -> "count" / "minutes" -> delta
+    private Map<String, Map<String, Map<String, Long>>> workReportDaily;
+}
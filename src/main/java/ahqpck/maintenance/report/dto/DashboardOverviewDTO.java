@@ -0,0 +1,21 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardOverviewDTO {
+    private LocalDateTime generatedAt;
+    private Map<String, Object> sections;
+    private Map<String, Long> timingsMillis;
+    private List<String> timedOut;
+    private List<String> failed;
+    private boolean partial;
+}
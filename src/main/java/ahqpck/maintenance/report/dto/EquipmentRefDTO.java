@@ -0,0 +1,5 @@
+package ahqpck.maintenance.report.dto;
+
+/** Immutable dropdown entry of {@code ReferenceDataRegistry}: just what select boxes and lookups need. */
+public record EquipmentRefDTO(String id, String code, String name) {
+}
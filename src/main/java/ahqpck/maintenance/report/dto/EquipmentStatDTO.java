@@ -0,0 +1,21 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentStatDTO {
+    private String equipmentCode;
+    private String equipmentName;
+    private Long totalComplaints;
+    private Long openComplaints;
+    private Long totalWorkReports;
+    private Long breakdownMinutes;
+    private Long resolutionMinutes;
+    private LocalDateTime lastIncidentTime;
+}
@@ -0,0 +1,31 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import ahqpck.maintenance.report.entity.ImportJob;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private ImportJob.Kind kind;
+    private String fileName;
+    private ImportJob.Status status;
+    private boolean cancelRequested;
+
+    // Rows read, rows that passed validation, rows written, rows rejected
+    private int parsed;
+    private int validated;
+    private int persisted;
+    private int failed;
+
+    private List<String> errorMessages;
+    private String failureReason;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,10 +1,17 @@
 package ahqpck.maintenance.report.dto;
 
-public interface MonthlyWorkReportDTO {
-    Integer getYear();
-    Integer getMonth();
-    Integer getCorrectiveMaintenanceCount();
-    Integer getPreventiveMaintenanceCount();
-    Integer getBreakdownCount();
-    Integer getOtherCount();
-}
\ No newline at end of file
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyWorkReportDTO {
+    private Integer year;
+    private Integer month;
+    private Long correctiveMaintenanceCount;
+    private Long preventiveMaintenanceCount;
+    private Long breakdownCount;
+    private Long otherCount;
+}
@@ -0,0 +1,5 @@
+package ahqpck.maintenance.report.dto;
+
+/** Immutable typeahead entry of {@code TypeaheadService}: just what a part picker needs. */
+public record PartRefDTO(String id, String code, String name) {
+}
@@ -0,0 +1,16 @@
+package ahqpck.maintenance.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReliabilityDTO {
+    private String key;                 // Equipment code, area code or "yyyy-MM"
+    private Long failures;
+    private Long repairMinutes;
+    private Double mttrMinutes;         // null without failures
+    private Double mtbfMinutes;         // null until there are two consecutive failures
+}
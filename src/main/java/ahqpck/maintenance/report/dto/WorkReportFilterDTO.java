@@ -0,0 +1,35 @@
+package ahqpck.maintenance.report.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import ahqpck.maintenance.report.entity.WorkReport;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Query parameters of {@code GET /api/work-reports}; every filter is optional. */
+@Data
+@NoArgsConstructor
+public class WorkReportFilterDTO {
+
+    private String keyword;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate reportDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate reportDateTo;
+
+    private WorkReport.Status status;
+
+    private WorkReport.Category category;
+
+    private WorkReport.Shift shift;
+
+    private String equipmentCode;
+
+    private String areaCode;
+
+    private String employee;            // supervisor or technician employee ID
+}
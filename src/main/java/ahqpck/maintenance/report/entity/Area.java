@@ -18,11 +18,17 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "area")
+@NaturalIdCache(region = "area-natural-id")
 @Table(name = "areas")
 @Data
 @NoArgsConstructor
@@ -34,6 +40,7 @@ public class Area {
     private String id;
 
     @Column(nullable = false, unique = true)
+    @NaturalId(mutable = true)
     private String code;
 
     @Column(nullable = false)
@@ -0,0 +1,28 @@
+package ahqpck.maintenance.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next number to hand out for a code prefix (e.g. "CP", "WR"). Codes are reserved with the
+ * row locked, see {@link ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator}.
+ */
+@Entity
+@Table(name = "code_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSequence {
+
+    @Id
+    @Column(length = 10)
+    private String prefix;
+
+    @Column(name = "next_value", nullable = false)
+    private Integer nextValue;
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -26,7 +27,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_report_date_id", columnList = "report_date, id"),
+        @Index(name = "idx_complaints_report_date_status_assignee", columnList = "report_date, status, assignee"),
+        @Index(name = "idx_complaints_close_time_status", columnList = "close_time, status"),
+        @Index(name = "idx_complaints_equipment_status", columnList = "equipment_code, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,37 @@
+package ahqpck.maintenance.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily rollup of complaints per status, category, area and equipment.
+ * <p>
+ * {@code reportedCount} is bucketed by the day the complaint was reported,
+ * {@code closedCount} by the day it was closed. Maintained by
+ * {@link ahqpck.maintenance.report.service.ComplaintStatsService}.
+ */
+@Entity
+@Table(name = "complaint_daily_stats", indexes = {
+        @Index(name = "idx_complaint_daily_stats_date", columnList = "stat_date"),
+        @Index(name = "idx_complaint_daily_stats_status", columnList = "status, reported_count")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintDailyStat {
+
+    @EmbeddedId
+    private ComplaintDailyStatId id;
+
+    @Column(name = "reported_count", nullable = false)
+    private Integer reportedCount = 0;
+
+    @Column(name = "closed_count", nullable = false)
+    private Integer closedCount = 0;
+}
@@ -0,0 +1,37 @@
+package ahqpck.maintenance.report.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintDailyStatId implements Serializable {
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Complaint.Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Complaint.Category category;
+
+    // Empty string when the complaint has no area, so the key stays unique
+    @Column(name = "area_code", nullable = false)
+    private String areaCode;
+
+    @Column(name = "equipment_code", nullable = false)
+    private String equipmentCode;
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.MapsId;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 
@@ -17,11 +18,14 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "complaint_parts")
 @Data
+// By key only: the generated hashCode would follow the owner into its area/equipment and their collections
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ComplaintPart {
 
     @EmbeddedId
+    @EqualsAndHashCode.Include
     private ComplaintPartId id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,11 +15,17 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "equipment")
+@NaturalIdCache(region = "equipment-natural-id")
 @Table(name = "equipments")
 @Data
 @NoArgsConstructor
@@ -31,6 +37,7 @@ public class Equipment {
     private String id;
 
     @Column(nullable = false, unique = true)
+    @NaturalId(mutable = true)
     private String code;
 
     @Column(nullable = false)
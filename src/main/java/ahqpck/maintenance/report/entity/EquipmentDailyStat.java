@@ -0,0 +1,44 @@
+package ahqpck.maintenance.report.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily buckets of the {@link EquipmentStat} counters, used for time-window leaderboards.
+ * <p>
+ * Complaints are bucketed by report day, work reports by their report date; the key
+ * (stat_date, equipment_code) doubles as the index for window scans. Maintained by
+ * {@link ahqpck.maintenance.report.service.EquipmentStatsService}.
+ */
+@Entity
+@Table(name = "equipment_daily_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentDailyStat {
+
+    @EmbeddedId
+    private EquipmentDailyStatId id;
+
+    @Column(nullable = false)
+    private Integer complaints = 0;
+
+    @Column(name = "work_reports", nullable = false)
+    private Integer workReports = 0;
+
+    @Column(name = "breakdown_minutes", nullable = false)
+    private Long breakdownMinutes = 0L;
+
+    @Column(name = "resolution_minutes", nullable = false)
+    private Long resolutionMinutes = 0L;
+
+    @Column(name = "last_incident_time")
+    private LocalDateTime lastIncidentTime;
+}
@@ -0,0 +1,69 @@
+package ahqpck.maintenance.report.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * All-time counters per equipment, one row per equipment that has any complaint or work report.
+ * <p>
+ * Maintained by {@link ahqpck.maintenance.report.service.EquipmentStatsService}; each counter
+ * has its own index so the leaderboards can read the top rows without sorting the table.
+ */
+@Entity
+@Table(name = "equipment_stats", indexes = {
+        @Index(name = "idx_equipment_stats_complaints", columnList = "total_complaints"),
+        @Index(name = "idx_equipment_stats_open_complaints", columnList = "open_complaints"),
+        @Index(name = "idx_equipment_stats_work_reports", columnList = "total_work_reports"),
+        @Index(name = "idx_equipment_stats_breakdown_minutes", columnList = "breakdown_minutes"),
+        @Index(name = "idx_equipment_stats_last_incident", columnList = "last_incident_time")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentStat {
+
+    @Id
+    @Column(name = "equipment_code", nullable = false)
+    private String equipmentCode;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipment_code", referencedColumnName = "code", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Equipment equipment;
+
+    @Column(name = "total_complaints", nullable = false)
+    private Integer totalComplaints = 0;
+
+    // Complaints currently OPEN, IN_PROGRESS or PENDING
+    @Column(name = "open_complaints", nullable = false)
+    private Integer openComplaints = 0;
+
+    @Column(name = "total_work_reports", nullable = false)
+    private Integer totalWorkReports = 0;
+
+    // Resolution time of BREAKDOWN work reports only
+    @Column(name = "breakdown_minutes", nullable = false)
+    private Long breakdownMinutes = 0L;
+
+    // Resolution time of all work reports
+    @Column(name = "resolution_minutes", nullable = false)
+    private Long resolutionMinutes = 0L;
+
+    // Latest complaint report time or breakdown start; only moves forward until the next rebuild
+    @Column(name = "last_incident_time")
+    private LocalDateTime lastIncidentTime;
+}
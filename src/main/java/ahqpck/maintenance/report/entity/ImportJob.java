@@ -0,0 +1,104 @@
+package ahqpck.maintenance.report.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import ahqpck.maintenance.report.util.Base62;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A background Excel import and, once it is finished, its result.
+ * <p>
+ * Written by {@link ahqpck.maintenance.report.service.ImportJobService} when the job is
+ * submitted, when it starts and when it ends; the counters of a running job live in memory
+ * and are only stored with the final status.
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_submitted_by", columnList = "submitted_by, created_at")
+})
+@Data
+@NoArgsConstructor
+public class ImportJob {
+
+    @Id
+    @Column(name = "id", length = 22, nullable = false, updatable = false)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "submitted_by", nullable = false)
+    private String submittedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.QUEUED;
+
+    private int parsed;
+
+    private int validated;
+
+    private int persisted;
+
+    private int failed;
+
+    // Row errors of the ImportResult, one per line
+    @Column(name = "error_messages", columnDefinition = "MEDIUMTEXT")
+    private String errorMessages;
+
+    // Why the job as a whole failed (unreadable file, restart), as opposed to row errors
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Kind {
+        COMPLAINTS,
+        WORK_REPORTS,
+        AREAS,
+        EQUIPMENTS
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (this.id == null) {
+            this.id = Base62.encode(UUID.randomUUID());
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -8,12 +8,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "part")
+@NaturalIdCache(region = "part-natural-id")
 @Table(name = "parts")
 @Data
 @NoArgsConstructor
@@ -26,6 +32,7 @@ public class Part {
     private String id;
 
     @Column(nullable = false, unique = true)
+    @NaturalId(mutable = true)
     private String code;
 
     @Column(nullable = false)
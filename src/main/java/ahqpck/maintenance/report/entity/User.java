@@ -23,6 +23,10 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,6 +37,8 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 @Table(name = "users")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -53,6 +59,7 @@ public class User {
 
     @Column(unique = true, name = "employee_id", nullable = false)
     @EqualsAndHashCode.Include
+    @NaturalId(mutable = true)
     private String employeeId;
 
     @Column(unique = true, nullable = false)
@@ -103,6 +110,7 @@ public class User {
     private final Set<Complaint> assignedComplaints = new HashSet<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     private final Set<Role> roles = new HashSet<>();
 
@@ -16,6 +16,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -30,7 +31,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "work_reports")
+@Table(name = "work_reports", indexes = {
+        @Index(name = "idx_work_reports_report_date_id", columnList = "report_date, id"),
+        @Index(name = "idx_work_reports_date_shift_category", columnList = "report_date, shift, category, equipment_code, total_resolution_time_minutes"),
+        @Index(name = "idx_work_reports_equipment_resolution", columnList = "equipment_code, total_resolution_time_minutes"),
+        @Index(name = "idx_work_reports_equipment_category_start", columnList = "equipment_code, category, start_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
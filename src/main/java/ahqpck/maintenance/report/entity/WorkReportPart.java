@@ -24,16 +24,20 @@ import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "work_report_parts")
 @Data
+// By key only: the generated hashCode would follow the owner into its area/equipment and their collections
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class WorkReportPart {
 
     @EmbeddedId
+    @EqualsAndHashCode.Include
     private WorkReportPartId id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,5 @@
+package ahqpck.maintenance.report.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,44 @@
+package ahqpck.maintenance.report.event;
+
+import java.time.LocalDateTime;
+
+import ahqpck.maintenance.report.entity.Complaint;
+
+/**
+ * Published by {@code ComplaintService} whenever a complaint is written. Listeners that
+ * touch derived data should use {@code @TransactionalEventListener} so they only see
+ * committed changes. {@code before} is null for creations, {@code after} for deletions.
+ * Imports publish a {@link ComplaintsImportedEvent} per chunk instead.
+ */
+public record ComplaintChangedEvent(
+        String complaintId,
+        ChangeType type,
+        Snapshot before,
+        Snapshot after) {
+
+    /**
+     * The fields of a complaint that dashboards aggregate on.
+     */
+    public record Snapshot(
+            LocalDateTime reportDate,
+            LocalDateTime closeTime,
+            Complaint.Status status,
+            Complaint.Category category,
+            String areaCode,
+            String equipmentCode,
+            String assigneeEmpId,
+            String assigneeName) {
+
+        public static Snapshot of(Complaint complaint) {
+            return new Snapshot(
+                    complaint.getReportDate(),
+                    complaint.getCloseTime(),
+                    complaint.getStatus(),
+                    complaint.getCategory(),
+                    complaint.getArea() != null ? complaint.getArea().getCode() : null,
+                    complaint.getEquipment() != null ? complaint.getEquipment().getCode() : null,
+                    complaint.getAssignee() != null ? complaint.getAssignee().getEmployeeId() : null,
+                    complaint.getAssignee() != null ? complaint.getAssignee().getName() : null);
+        }
+    }
+}
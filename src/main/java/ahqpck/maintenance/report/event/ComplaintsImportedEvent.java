@@ -0,0 +1,10 @@
+package ahqpck.maintenance.report.event;
+
+import java.util.List;
+
+/**
+ * Published by {@code ComplaintService} once per imported chunk, in place of one
+ * {@link ComplaintChangedEvent} per row; {@code created} holds those per-row events.
+ */
+public record ComplaintsImportedEvent(List<ComplaintChangedEvent> created) {
+}
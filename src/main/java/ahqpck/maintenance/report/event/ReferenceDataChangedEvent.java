@@ -0,0 +1,16 @@
+package ahqpck.maintenance.report.event;
+
+/**
+ * Published by {@code UserService}, {@code AreaService}, {@code EquipmentService} and
+ * {@code PartService} when a user, area, equipment or part is created, updated or deleted,
+ * so the dropdown snapshots of {@code ReferenceDataRegistry} are rebuilt and the entry
+ * {@code id} is re-indexed by {@code TypeaheadService}. The cached list totals of the kind's
+ * table are dropped by {@code ListingCountService}. Imports publish one event per chunk
+ * with a {@code null} id, which rebuilds the whole kind.
+ */
+public record ReferenceDataChangedEvent(Kind kind, String id) {
+
+    public enum Kind {
+        USERS, AREAS, EQUIPMENTS, PARTS
+    }
+}
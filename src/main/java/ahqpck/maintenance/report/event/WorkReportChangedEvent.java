@@ -0,0 +1,42 @@
+package ahqpck.maintenance.report.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import ahqpck.maintenance.report.entity.WorkReport;
+
+/**
+ * Published by {@code WorkReportService} whenever a work report is written.
+ * {@code before} is null for creations, {@code after} for deletions. Imports publish a
+ * {@link WorkReportsImportedEvent} per chunk instead.
+ */
+public record WorkReportChangedEvent(
+        String workReportId,
+        ChangeType type,
+        Snapshot before,
+        Snapshot after) {
+
+    /**
+     * The fields of a work report that dashboards aggregate on.
+     */
+    public record Snapshot(
+            LocalDate reportDate,
+            WorkReport.Category category,
+            String areaCode,
+            String equipmentCode,
+            LocalDateTime startTime,
+            LocalDateTime stopTime,
+            Integer totalResolutionTimeMinutes) {
+
+        public static Snapshot of(WorkReport workReport) {
+            return new Snapshot(
+                    workReport.getReportDate(),
+                    workReport.getCategory(),
+                    workReport.getArea() != null ? workReport.getArea().getCode() : null,
+                    workReport.getEquipment() != null ? workReport.getEquipment().getCode() : null,
+                    workReport.getStartTime(),
+                    workReport.getStopTime(),
+                    workReport.getTotalResolutionTimeMinutes());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ahqpck.maintenance.report.event;
+
+import java.util.List;
+
+/**
+ * Published by {@code WorkReportService} once per imported chunk, in place of one
+ * {@link WorkReportChangedEvent} per row; {@code created} holds those per-row events.
+ */
+public record WorkReportsImportedEvent(List<WorkReportChangedEvent> created) {
+}
@@ -0,0 +1,6 @@
+package ahqpck.maintenance.report.exception;
+
+/** An import was refused because the user or the import queue is at its limit. */
+public class ImportLimitException extends RuntimeException {
+    public ImportLimitException(String message) { super(message); }
+}
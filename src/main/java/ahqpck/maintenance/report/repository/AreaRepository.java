@@ -1,17 +1,37 @@
 package ahqpck.maintenance.report.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ahqpck.maintenance.report.dto.AreaRefDTO;
 import ahqpck.maintenance.report.entity.Area;
 
 @Repository
-public interface AreaRepository extends JpaRepository<Area, String>, JpaSpecificationExecutor<Area> {
+public interface AreaRepository extends SliceableRepository<Area, String>, NaturalIdRepository<Area> {
+
+    /** By code through the natural-id cache; see {@link NaturalIdRepository}. */
+    default Optional<Area> findByCode(String code) {
+        return findByNaturalId(code);
+    }
 
-    Optional<Area> findByCode(String code);
     boolean existsByCodeIgnoreCase(String code);
+    boolean existsByCode(String code);
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
-}
\ No newline at end of file
+
+    /** Which of the lower-cased {@code codes} are taken, for the import duplicate check. */
+    @Query("SELECT LOWER(a.code) FROM Area a WHERE LOWER(a.code) IN :codes")
+    List<String> findTakenCodes(@Param("codes") Collection<String> codes);
+
+    /** Every area as a dropdown entry, ordered by name; see {@code ReferenceDataRegistry}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.AreaRefDTO(a.id, a.code, a.name) FROM Area a ORDER BY a.name")
+    List<AreaRefDTO> findAllRefs();
+
+    /** One entry, re-read after a write to update the typeahead index; see {@code TypeaheadService}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.AreaRefDTO(a.id, a.code, a.name) FROM Area a WHERE a.id = :id")
+    Optional<AreaRefDTO> findRefById(@Param("id") String id);
+}
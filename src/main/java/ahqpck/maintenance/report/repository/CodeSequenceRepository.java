@@ -0,0 +1,21 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ahqpck.maintenance.report.entity.CodeSequence;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    // SELECT ... FOR UPDATE: concurrent reservations for one prefix queue on this row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CodeSequence s WHERE s.prefix = :prefix")
+    Optional<CodeSequence> findForUpdate(@Param("prefix") String prefix);
+}
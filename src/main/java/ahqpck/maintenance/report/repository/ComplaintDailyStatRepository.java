@@ -0,0 +1,84 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ahqpck.maintenance.report.entity.ComplaintDailyStat;
+import ahqpck.maintenance.report.entity.ComplaintDailyStatId;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ComplaintDailyStatRepository extends JpaRepository<ComplaintDailyStat, ComplaintDailyStatId> {
+
+    // Only this table: a native write without spaces would evict every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "complaint_daily_stats"))
+    @Query(value = """
+            INSERT INTO complaint_daily_stats
+                (stat_date, status, category, area_code, equipment_code, reported_count, closed_count)
+            VALUES
+                (:statDate, :status, :category, :areaCode, :equipmentCode, :reported, :closed)
+            ON DUPLICATE KEY UPDATE
+                reported_count = reported_count + :reported,
+                closed_count = closed_count + :closed
+            """, nativeQuery = true)
+    void increment(
+            @Param("statDate") LocalDate statDate,
+            @Param("status") String status,
+            @Param("category") String category,
+            @Param("areaCode") String areaCode,
+            @Param("equipmentCode") String equipmentCode,
+            @Param("reported") int reported,
+            @Param("closed") int closed);
+
+    @Modifying
+    @Query(value = "DELETE FROM complaint_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // Reported side of the rollup, bucketed by report day
+    @Modifying
+    @Query(value = """
+            INSERT INTO complaint_daily_stats
+                (stat_date, status, category, area_code, equipment_code, reported_count, closed_count)
+            SELECT
+                DATE(c.report_date),
+                c.status,
+                c.category,
+                COALESCE(c.area_code, ''),
+                c.equipment_code,
+                COUNT(*),
+                0
+            FROM complaints c
+            GROUP BY DATE(c.report_date), c.status, c.category, COALESCE(c.area_code, ''), c.equipment_code
+            """, nativeQuery = true)
+    int rebuildReported();
+
+    // Closed side of the rollup, bucketed by close day and merged into existing rows
+    @Modifying
+    @Query(value = """
+            INSERT INTO complaint_daily_stats
+                (stat_date, status, category, area_code, equipment_code, reported_count, closed_count)
+            SELECT t.stat_date, t.status, t.category, t.area_code, t.equipment_code, 0, t.cnt
+            FROM (
+                SELECT
+                    DATE(c.close_time) AS stat_date,
+                    c.status,
+                    c.category,
+                    COALESCE(c.area_code, '') AS area_code,
+                    c.equipment_code,
+                    COUNT(*) AS cnt
+                FROM complaints c
+                WHERE c.close_time IS NOT NULL
+                GROUP BY DATE(c.close_time), c.status, c.category, COALESCE(c.area_code, ''), c.equipment_code
+            ) t
+            ON DUPLICATE KEY UPDATE closed_count = closed_count + t.cnt
+            """, nativeQuery = true)
+    int rebuildClosed();
+}
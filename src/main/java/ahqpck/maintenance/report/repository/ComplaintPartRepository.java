@@ -3,7 +3,16 @@ package ahqpck.maintenance.report.repository;
 import ahqpck.maintenance.report.entity.ComplaintPart;
 import ahqpck.maintenance.report.entity.ComplaintPartId;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ComplaintPartRepository extends JpaRepository<ComplaintPart, ComplaintPartId> {
+
+    // Parts of a whole page of complaints in one select
+    @Query("SELECT cp FROM ComplaintPart cp JOIN FETCH cp.part WHERE cp.id.complaintId IN :complaintIds")
+    List<ComplaintPart> findWithPartByComplaintIds(@Param("complaintIds") Collection<String> complaintIds);
 }
\ No newline at end of file
@@ -2,16 +2,26 @@ package ahqpck.maintenance.report.repository;
 
 import ahqpck.maintenance.report.dto.StatusCountDTO;
 import ahqpck.maintenance.report.entity.Complaint;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface ComplaintRepository extends JpaRepository<Complaint, String>, JpaSpecificationExecutor<Complaint> {
+public interface ComplaintRepository extends SliceableRepository<Complaint, String> {
+
+    /**
+     * To-one associations the list views fetch with the page, passed to
+     * {@link SliceableRepository#findSlice}. They are joined on non-key columns
+     * (code / employee_id), which Hibernate cannot proxy, so without the graph each one is
+     * loaded by its own select.
+     */
+    List<String> LIST_GRAPH = List.of("area", "area.responsiblePerson", "equipment", "reporter", "assignee");
+
     List<Complaint> findByStatus(Complaint.Status status);
+
+    boolean existsByCode(String code);
+
     // boolean existsByCodeIgnoreCase(String code);
     // List<Complaint> findByEquipment(String equipment);
     // All-time count grouped by status
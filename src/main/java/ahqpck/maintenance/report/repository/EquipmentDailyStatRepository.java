@@ -0,0 +1,154 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ahqpck.maintenance.report.entity.EquipmentDailyStat;
+import ahqpck.maintenance.report.entity.EquipmentDailyStatId;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface EquipmentDailyStatRepository extends JpaRepository<EquipmentDailyStat, EquipmentDailyStatId> {
+
+    interface WindowRow {
+        String getEquipmentCode();
+        String getEquipmentName();
+        Long getTotalComplaints();
+        Long getOpenComplaints();
+        Long getTotalWorkReports();
+        Long getBreakdownMinutes();
+        Long getResolutionMinutes();
+        LocalDateTime getLastIncidentTime();
+    }
+
+    // Declares its one table, so the upsert leaves the entity caches alone
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "equipment_daily_stats"))
+    @Query(value = """
+            INSERT INTO equipment_daily_stats
+                (stat_date, equipment_code, complaints, work_reports,
+                 breakdown_minutes, resolution_minutes, last_incident_time)
+            VALUES
+                (:statDate, :equipmentCode, :complaints, :workReports,
+                 :breakdownMinutes, :resolutionMinutes, :lastIncident)
+            ON DUPLICATE KEY UPDATE
+                complaints = complaints + :complaints,
+                work_reports = work_reports + :workReports,
+                breakdown_minutes = breakdown_minutes + :breakdownMinutes,
+                resolution_minutes = resolution_minutes + :resolutionMinutes,
+                last_incident_time = GREATEST(COALESCE(last_incident_time, :lastIncident),
+                                              COALESCE(:lastIncident, last_incident_time))
+            """, nativeQuery = true)
+    void increment(
+            @Param("statDate") LocalDate statDate,
+            @Param("equipmentCode") String equipmentCode,
+            @Param("complaints") int complaints,
+            @Param("workReports") int workReports,
+            @Param("breakdownMinutes") long breakdownMinutes,
+            @Param("resolutionMinutes") long resolutionMinutes,
+            @Param("lastIncident") LocalDateTime lastIncident);
+
+    /**
+     * Counters summed over [from, to) per equipment, ordered by {@code metric} (one of
+     * {@code EquipmentStatsService.Metric}). Open complaints are the current all-time value.
+     */
+    @Query(value = """
+            SELECT
+                d.equipment_code AS equipmentCode,
+                e.name AS equipmentName,
+                CAST(SUM(d.complaints) AS SIGNED) AS totalComplaints,
+                CAST(COALESCE(MAX(s.open_complaints), 0) AS SIGNED) AS openComplaints,
+                CAST(SUM(d.work_reports) AS SIGNED) AS totalWorkReports,
+                CAST(SUM(d.breakdown_minutes) AS SIGNED) AS breakdownMinutes,
+                CAST(SUM(d.resolution_minutes) AS SIGNED) AS resolutionMinutes,
+                MAX(d.last_incident_time) AS lastIncidentTime
+            FROM equipment_daily_stats d
+            JOIN equipments e ON e.code = d.equipment_code
+            LEFT JOIN equipment_stats s ON s.equipment_code = d.equipment_code
+            WHERE d.stat_date >= :from
+              AND d.stat_date < :to
+            GROUP BY d.equipment_code, e.name
+            ORDER BY
+                CASE :metric
+                    WHEN 'COMPLAINTS' THEN SUM(d.complaints)
+                    WHEN 'OPEN_COMPLAINTS' THEN MAX(s.open_complaints)
+                    WHEN 'WORK_REPORTS' THEN SUM(d.work_reports)
+                    WHEN 'BREAKDOWN_MINUTES' THEN SUM(d.breakdown_minutes)
+                    ELSE UNIX_TIMESTAMP(MAX(d.last_incident_time))
+                END DESC,
+                d.equipment_code
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<WindowRow> findWindow(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("metric") String metric,
+            @Param("limit") int limit,
+            @Param("offset") long offset);
+
+    // Same join as findWindow, so rows of deleted or renamed equipment are not counted either
+    @Query(value = """
+            SELECT COUNT(DISTINCT d.equipment_code)
+            FROM equipment_daily_stats d
+            JOIN equipments e ON e.code = d.equipment_code
+            WHERE d.stat_date >= :from
+              AND d.stat_date < :to
+            """, nativeQuery = true)
+    long countWindow(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM equipment_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // Complaint side of the buckets, by report day
+    @Modifying
+    @Query(value = """
+            INSERT INTO equipment_daily_stats
+                (stat_date, equipment_code, complaints, work_reports,
+                 breakdown_minutes, resolution_minutes, last_incident_time)
+            SELECT DATE(c.report_date), c.equipment_code, COUNT(*), 0, 0, 0, MAX(c.report_date)
+            FROM complaints c
+            GROUP BY DATE(c.report_date), c.equipment_code
+            """, nativeQuery = true)
+    int rebuildFromComplaints();
+
+    // Work report side of the buckets, by report date, merged into the complaint rows
+    @Modifying
+    @Query(value = """
+            INSERT INTO equipment_daily_stats
+                (stat_date, equipment_code, complaints, work_reports,
+                 breakdown_minutes, resolution_minutes, last_incident_time)
+            SELECT t.report_date, t.equipment_code, 0, t.work_reports, t.breakdown_minutes, t.resolution_minutes, t.last_incident
+            FROM (
+                SELECT
+                    wr.report_date,
+                    wr.equipment_code,
+                    COUNT(*) AS work_reports,
+                    COALESCE(SUM(CASE WHEN wr.category = 'BREAKDOWN' THEN wr.total_resolution_time_minutes END), 0) AS breakdown_minutes,
+                    COALESCE(SUM(wr.total_resolution_time_minutes), 0) AS resolution_minutes,
+                    MAX(CASE WHEN wr.category = 'BREAKDOWN'
+                             THEN COALESCE(wr.start_time, TIMESTAMP(wr.report_date)) END) AS last_incident
+                FROM work_reports wr
+                WHERE wr.equipment_code IS NOT NULL
+                GROUP BY wr.report_date, wr.equipment_code
+            ) t
+            ON DUPLICATE KEY UPDATE
+                work_reports = t.work_reports,
+                breakdown_minutes = t.breakdown_minutes,
+                resolution_minutes = t.resolution_minutes,
+                last_incident_time = GREATEST(COALESCE(last_incident_time, t.last_incident),
+                                              COALESCE(t.last_incident, last_incident_time))
+            """, nativeQuery = true)
+    int rebuildFromWorkReports();
+}
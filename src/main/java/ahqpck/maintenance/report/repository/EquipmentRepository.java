@@ -1,17 +1,37 @@
 package ahqpck.maintenance.report.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ahqpck.maintenance.report.dto.EquipmentRefDTO;
 import ahqpck.maintenance.report.entity.Equipment;
 
 @Repository
-public interface EquipmentRepository extends JpaRepository<Equipment, String>, JpaSpecificationExecutor<Equipment> {
+public interface EquipmentRepository extends SliceableRepository<Equipment, String>, NaturalIdRepository<Equipment> {
+
+    /** By code through the natural-id cache; see {@link NaturalIdRepository}. */
+    default Optional<Equipment> findByCode(String code) {
+        return findByNaturalId(code);
+    }
 
-    Optional<Equipment> findByCode(String code);
     boolean existsByCodeIgnoreCase(String code);
+    boolean existsByCode(String code);
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
-}
\ No newline at end of file
+
+    /** Which of the lower-cased {@code codes} are taken, for the import duplicate check. */
+    @Query("SELECT LOWER(e.code) FROM Equipment e WHERE LOWER(e.code) IN :codes")
+    List<String> findTakenCodes(@Param("codes") Collection<String> codes);
+
+    /** Every equipment as a dropdown entry, ordered by name; see {@code ReferenceDataRegistry}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.EquipmentRefDTO(e.id, e.code, e.name) FROM Equipment e ORDER BY e.name")
+    List<EquipmentRefDTO> findAllRefs();
+
+    /** One entry, re-read after a write to update the typeahead index; see {@code TypeaheadService}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.EquipmentRefDTO(e.id, e.code, e.name) FROM Equipment e WHERE e.id = :id")
+    Optional<EquipmentRefDTO> findRefById(@Param("id") String id);
+}
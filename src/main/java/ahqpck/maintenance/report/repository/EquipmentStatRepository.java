@@ -0,0 +1,106 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ahqpck.maintenance.report.entity.EquipmentStat;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface EquipmentStatRepository extends JpaRepository<EquipmentStat, String> {
+
+    /**
+     * All-time leaderboard page with each row's equipment. Inner join, like
+     * {@code EquipmentDailyStatRepository.findWindow}: rows of deleted or renamed equipment
+     * are neither listed nor counted.
+     */
+    @Query(value = "SELECT s FROM EquipmentStat s JOIN FETCH s.equipment",
+            countQuery = "SELECT COUNT(s) FROM EquipmentStat s JOIN s.equipment")
+    Page<EquipmentStat> findAllWithEquipment(Pageable pageable);
+
+    // Touches equipment_stats alone, so the entity caches survive the upsert
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "equipment_stats"))
+    @Query(value = """
+            INSERT INTO equipment_stats
+                (equipment_code, total_complaints, open_complaints, total_work_reports,
+                 breakdown_minutes, resolution_minutes, last_incident_time)
+            VALUES
+                (:equipmentCode, :complaints, :openComplaints, :workReports,
+                 :breakdownMinutes, :resolutionMinutes, :lastIncident)
+            ON DUPLICATE KEY UPDATE
+                total_complaints = total_complaints + :complaints,
+                open_complaints = open_complaints + :openComplaints,
+                total_work_reports = total_work_reports + :workReports,
+                breakdown_minutes = breakdown_minutes + :breakdownMinutes,
+                resolution_minutes = resolution_minutes + :resolutionMinutes,
+                last_incident_time = GREATEST(COALESCE(last_incident_time, :lastIncident),
+                                              COALESCE(:lastIncident, last_incident_time))
+            """, nativeQuery = true)
+    void increment(
+            @Param("equipmentCode") String equipmentCode,
+            @Param("complaints") int complaints,
+            @Param("openComplaints") int openComplaints,
+            @Param("workReports") int workReports,
+            @Param("breakdownMinutes") long breakdownMinutes,
+            @Param("resolutionMinutes") long resolutionMinutes,
+            @Param("lastIncident") LocalDateTime lastIncident);
+
+    @Modifying
+    @Query(value = "DELETE FROM equipment_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // Complaint side of the totals
+    @Modifying
+    @Query(value = """
+            INSERT INTO equipment_stats
+                (equipment_code, total_complaints, open_complaints, total_work_reports,
+                 breakdown_minutes, resolution_minutes, last_incident_time)
+            SELECT
+                c.equipment_code,
+                COUNT(*),
+                SUM(c.status IN ('OPEN', 'IN_PROGRESS', 'PENDING')),
+                0, 0, 0,
+                MAX(c.report_date)
+            FROM complaints c
+            GROUP BY c.equipment_code
+            """, nativeQuery = true)
+    int rebuildFromComplaints();
+
+    // Work report side of the totals, merged into the complaint rows
+    @Modifying
+    @Query(value = """
+            INSERT INTO equipment_stats
+                (equipment_code, total_complaints, open_complaints, total_work_reports,
+                 breakdown_minutes, resolution_minutes, last_incident_time)
+            SELECT t.equipment_code, 0, 0, t.work_reports, t.breakdown_minutes, t.resolution_minutes, t.last_incident
+            FROM (
+                SELECT
+                    wr.equipment_code,
+                    COUNT(*) AS work_reports,
+                    COALESCE(SUM(CASE WHEN wr.category = 'BREAKDOWN' THEN wr.total_resolution_time_minutes END), 0) AS breakdown_minutes,
+                    COALESCE(SUM(wr.total_resolution_time_minutes), 0) AS resolution_minutes,
+                    MAX(CASE WHEN wr.category = 'BREAKDOWN'
+                             THEN COALESCE(wr.start_time, TIMESTAMP(wr.report_date)) END) AS last_incident
+                FROM work_reports wr
+                WHERE wr.equipment_code IS NOT NULL
+                GROUP BY wr.equipment_code
+            ) t
+            ON DUPLICATE KEY UPDATE
+                total_work_reports = t.work_reports,
+                breakdown_minutes = t.breakdown_minutes,
+                resolution_minutes = t.resolution_minutes,
+                last_incident_time = GREATEST(COALESCE(last_incident_time, t.last_incident),
+                                              COALESCE(t.last_incident, last_incident_time))
+            """, nativeQuery = true)
+    int rebuildFromWorkReports();
+}
@@ -0,0 +1,155 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Narrow list queries for the JSON API: selects only the requested attribute paths (as a
+ * tuple, no entities are loaded), LEFT JOINs only the associations those paths go through,
+ * and pages by keyset on one sort attribute plus {@code id}.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param paths       attribute paths to select, e.g. {@code "equipment.name"}
+     * @param sortPath    non-null attribute to order by, then by {@code id}
+     * @param afterSort   sort value of the last row already returned, or {@code null} for the first page
+     * @param afterId     id of that row
+     * @return one array per row: the {@code paths} values in order, then the sort value and the id
+     */
+    public <T> List<Object[]> findFields(Class<T> type, Specification<T> spec, List<String> paths,
+            String sortPath, boolean asc, String afterSort, String afterId, int maxResults) {
+
+        return entityManager.createQuery(buildQuery(type, spec, paths, sortPath, asc, afterSort, afterId))
+                .setMaxResults(maxResults)
+                .getResultList()
+                .stream()
+                .map(Tuple::toArray)
+                .toList();
+    }
+
+    /**
+     * Every matching row, read forward-only with the given JDBC fetch size ({@code Integer.MIN_VALUE}
+     * makes MySQL stream row by row). Rows are scalar tuples, so nothing accumulates in the
+     * persistence context. Needs an open transaction and the stream must be closed.
+     *
+     * @return rows shaped as in {@link #findFields}
+     */
+    public <T> Stream<Object[]> streamFields(Class<T> type, Specification<T> spec, List<String> paths,
+            String sortPath, boolean asc, int fetchSize) {
+
+        return entityManager.createQuery(buildQuery(type, spec, paths, sortPath, asc, null, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(Tuple::toArray);
+    }
+
+    private <T> CriteriaQuery<Tuple> buildQuery(Class<T> type, Specification<T> spec, List<String> paths,
+            String sortPath, boolean asc, String afterSort, String afterId) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String path : paths) {
+            selections.add(resolve(root, joins, path));
+        }
+        Path<Object> sort = resolve(root, joins, sortPath);
+        Path<String> id = root.get("id");
+        selections.add(sort);
+        selections.add(id);
+        query.multiselect(selections);
+
+        List<Predicate> where = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                where.add(predicate);
+            }
+        }
+        if (afterSort != null && afterId != null) {
+            where.add(after(cb, sort, id, parse(afterSort, sort.getJavaType()), afterId, asc));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(asc ? cb.asc(sort) : cb.desc(sort), asc ? cb.asc(id) : cb.desc(id));
+        return query;
+    }
+
+    // (sort, id) > (value, lastId), or < when descending
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate after(CriteriaBuilder cb, Path<Object> sort, Path<String> id, Comparable value,
+            String lastId, boolean asc) {
+        Expression<Comparable> key = (Expression) sort;
+        return asc
+                ? cb.or(cb.greaterThan(key, value), cb.and(cb.equal(sort, value), cb.greaterThan(id, lastId)))
+                : cb.or(cb.lessThan(key, value), cb.and(cb.equal(sort, value), cb.lessThan(id, lastId)));
+    }
+
+    private static Path<Object> resolve(Root<?> root, Map<String, From<?, ?>> joins, String path) {
+        String[] parts = path.split("\\.");
+        From<?, ?> from = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            From<?, ?> parent = from;
+            String attribute = parts[i];
+            from = joins.computeIfAbsent(String.join(".", List.of(parts).subList(0, i + 1)),
+                    k -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable parse(String value, Class<?> type) {
+        try {
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+            return value;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value);
+        }
+    }
+}
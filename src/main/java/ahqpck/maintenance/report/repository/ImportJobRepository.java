@@ -0,0 +1,31 @@
+package ahqpck.maintenance.report.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.ImportJob;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    List<ImportJob> findTop20BySubmittedByOrderByCreatedAtDesc(String submittedBy);
+
+    /** Fails the jobs a previous run of the application left unfinished. */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.status = ahqpck.maintenance.report.entity.ImportJob.Status.FAILED,
+                j.failureReason = :reason, j.finishedAt = :now
+            WHERE j.status IN :statuses
+            """)
+    int failAll(@Param("statuses") Collection<ImportJob.Status> statuses, @Param("reason") String reason,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Repositories of entities with a {@code @NaturalId} (code / employeeId). Lookups go through
+ * Hibernate's natural-id resolution, so with {@code @NaturalIdCache} a warm lookup is served
+ * from the second-level cache instead of a select, which a JPQL query on the same column
+ * never is. Implemented by {@link SliceableRepositoryImpl}.
+ */
+@NoRepositoryBean
+public interface NaturalIdRepository<T> {
+
+    Optional<T> findByNaturalId(Object naturalId);
+}
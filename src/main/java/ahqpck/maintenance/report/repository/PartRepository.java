@@ -1,20 +1,34 @@
 package ahqpck.maintenance.report.repository;
 
+import ahqpck.maintenance.report.dto.PartRefDTO;
 import ahqpck.maintenance.report.entity.Part;
 
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PartRepository extends JpaRepository<Part, String>, JpaSpecificationExecutor<Part> {
+public interface PartRepository extends SliceableRepository<Part, String>, NaturalIdRepository<Part> {
+
+    /** By code through the natural-id cache; see {@link NaturalIdRepository}. */
+    default Optional<Part> findByCode(String code) {
+        return findByNaturalId(code);
+    }
 
-    Optional<Part> findByCode(String code);
     // Check if a part with this code already exists (ignoring case)
     boolean existsByCodeIgnoreCase(String code);
 
     // Optional: For update case, exclude current ID
     boolean existsByCodeIgnoreCaseAndIdNot(String code, String id);
-}
\ No newline at end of file
+
+    /** Every part as a typeahead entry, ordered by name; see {@code TypeaheadService}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.PartRefDTO(p.id, p.code, p.name) FROM Part p ORDER BY p.name")
+    List<PartRefDTO> findAllRefs();
+
+    /** One entry, re-read after a write to update the typeahead index; see {@code TypeaheadService}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.PartRefDTO(p.id, p.code, p.name) FROM Part p WHERE p.id = :id")
+    Optional<PartRefDTO> findRefById(@Param("id") String id);
+}
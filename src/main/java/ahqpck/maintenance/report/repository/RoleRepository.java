@@ -2,10 +2,16 @@ package ahqpck.maintenance.report.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import ahqpck.maintenance.report.entity.Role;
+import jakarta.persistence.QueryHint;
 
 public interface RoleRepository extends JpaRepository<Role, String> {
+
+  // Resolved on every user save; served from the query cache, the role itself from the entity cache
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<Role> findByName(Role.Name name);
-}
\ No newline at end of file
+}
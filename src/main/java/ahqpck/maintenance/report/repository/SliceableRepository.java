@@ -0,0 +1,28 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Repositories whose list pages can be read as a {@link Slice}: the page plus one extra row to
+ * tell whether there is a next page, without the {@code COUNT(*)} that
+ * {@link #findAll(Specification, Pageable)} always runs. Implemented by
+ * {@link SliceableRepositoryImpl}, the base class of every repository.
+ */
+@NoRepositoryBean
+public interface SliceableRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+
+    /**
+     * @param fetchGraph attribute paths (e.g. {@code "area.responsiblePerson"}) fetched with
+     *                   the rows, like {@code @EntityGraph(attributePaths = ...)}
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable, List<String> fetchGraph);
+}
@@ -0,0 +1,83 @@
+package ahqpck.maintenance.report.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Repository base class (see {@code @EnableJpaRepositories} on the application) adding
+ * {@link SliceableRepository#findSlice} and, for the repositories that declare it,
+ * {@link NaturalIdRepository#findByNaturalId}.
+ */
+@Transactional(readOnly = true)
+public class SliceableRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements SliceableRepository<T, ID>,
+        NaturalIdRepository<T> {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final EntityManager entityManager;
+
+    public SliceableRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        return findSlice(spec, pageable, List.of());
+    }
+
+    @Override
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable, List<String> fetchGraph) {
+        TypedQuery<T> query = getQuery(spec, pageable.getSort());
+        if (!fetchGraph.isEmpty()) {
+            query.setHint(FETCH_GRAPH_HINT, toEntityGraph(fetchGraph));
+        }
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<T> rows = query.getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Optional<T> findByNaturalId(Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(getDomainClass()).loadOptional(naturalId);
+    }
+
+    private EntityGraph<T> toEntityGraph(List<String> attributePaths) {
+        EntityGraph<T> graph = entityManager.createEntityGraph(getDomainClass());
+        for (String path : attributePaths) {
+            String[] parts = path.split("\\.");
+            if (parts.length == 1) {
+                graph.addAttributeNodes(parts[0]);
+                continue;
+            }
+            Subgraph<Object> subgraph = graph.addSubgraph(parts[0]);
+            for (int i = 1; i < parts.length - 1; i++) {
+                subgraph = subgraph.addSubgraph(parts[i]);
+            }
+            subgraph.addAttributeNodes(parts[parts.length - 1]);
+        }
+        return graph;
+    }
+}
@@ -1,16 +1,16 @@
 package ahqpck.maintenance.report.repository;
 
+import ahqpck.maintenance.report.dto.UserRefDTO;
 import ahqpck.maintenance.report.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends SliceableRepository<User, String>, NaturalIdRepository<User> {
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
     Optional<User> findByEmail(@Param("email") String email);
@@ -18,12 +18,24 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.employeeId = :employeeId")
     Optional<User> findByEmployeeId4Roles(@Param("employeeId") String employeeId);
 
-    @Query("SELECT u FROM User u WHERE u.employeeId = :employeeId")
-    Optional<User> findByEmployeeId(@Param("employeeId") String employeeId);
+    /** By employee id through the natural-id cache; see {@link NaturalIdRepository}. */
+    default Optional<User> findByEmployeeId(String employeeId) {
+        return findByNaturalId(employeeId);
+    }
 
     Optional<User> findByPasswordResetToken(String token);
 
     boolean existsByEmailIgnoringCase(String email);
 
     boolean existsByEmployeeIdIgnoringCase(String employeeId);
-}
\ No newline at end of file
+
+    boolean existsByEmployeeId(String employeeId);
+
+    /** Every user as a dropdown entry, ordered by name; see {@code ReferenceDataRegistry}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.UserRefDTO(u.id, u.employeeId, u.name) FROM User u ORDER BY u.name")
+    List<UserRefDTO> findAllRefs();
+
+    /** One entry, re-read after a write to update the typeahead index; see {@code TypeaheadService}. */
+    @Query("SELECT new ahqpck.maintenance.report.dto.UserRefDTO(u.id, u.employeeId, u.name) FROM User u WHERE u.id = :id")
+    Optional<UserRefDTO> findRefById(@Param("id") String id);
+}
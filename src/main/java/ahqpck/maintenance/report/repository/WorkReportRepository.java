@@ -1,27 +1,99 @@
 package ahqpck.maintenance.report.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ahqpck.maintenance.report.entity.Equipment;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.entity.WorkReport;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface WorkReportRepository extends JpaRepository<WorkReport, String>, JpaSpecificationExecutor<WorkReport> {
+public interface WorkReportRepository extends SliceableRepository<WorkReport, String> {
+
+    /** To-one associations the list views fetch with the page; they join on non-key columns and cannot be proxied. */
+    List<String> LIST_GRAPH = List.of("area", "area.responsiblePerson", "equipment", "supervisor");
+
+    interface BreakdownInterval {
+        String getId();
+        String getEquipmentCode();
+        String getAreaCode();
+        LocalDateTime getStartTime();
+        LocalDateTime getStopTime();
+    }
+
+    /**
+     * Every breakdown with both times set, ordered by equipment then start, read row by
+     * row (MySQL only streams with a fetch size of Integer.MIN_VALUE). Needs an open
+     * transaction and the stream must be closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(value = """
+            SELECT
+                wr.id AS id,
+                wr.equipment_code AS equipmentCode,
+                wr.area_code AS areaCode,
+                wr.start_time AS startTime,
+                wr.stop_time AS stopTime
+            FROM work_reports wr
+            WHERE wr.category = 'BREAKDOWN'
+              AND wr.equipment_code IS NOT NULL
+              AND wr.start_time IS NOT NULL
+              AND wr.stop_time IS NOT NULL
+            ORDER BY wr.equipment_code, wr.start_time, wr.id
+            """, nativeQuery = true)
+    Stream<BreakdownInterval> streamBreakdownIntervals();
+
+    /** Breakdowns of the given equipment overlapping {@code [from, to)}, for the import overlap check. */
+    @Query(value = """
+            SELECT
+                wr.id AS id,
+                wr.equipment_code AS equipmentCode,
+                wr.area_code AS areaCode,
+                wr.start_time AS startTime,
+                wr.stop_time AS stopTime
+            FROM work_reports wr
+            WHERE wr.category = 'BREAKDOWN'
+              AND wr.equipment_code IN (:equipmentCodes)
+              AND wr.start_time < :to
+              AND wr.stop_time > :from
+            """, nativeQuery = true)
+    List<BreakdownInterval> findBreakdownIntervals(
+        @Param("equipmentCodes") Collection<String> equipmentCodes,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to);
 
     /**
      * Find all work reports by status
      */
     List<WorkReport> findByStatus(WorkReport.Status status);
 
+    boolean existsByCode(String code);
+
+    interface TechnicianRow {
+        String getWorkReportId();
+        String getEmployeeId();
+        String getName();
+    }
+
+    /** Technicians of several work reports in one query, for the JSON API's {@code technicians} field. */
+    @Query("""
+            SELECT wr.id AS workReportId, t.employeeId AS employeeId, t.name AS name
+            FROM WorkReport wr JOIN wr.technicians t
+            WHERE wr.id IN :ids
+            ORDER BY t.name
+            """)
+    List<TechnicianRow> findTechniciansByWorkReportIds(@Param("ids") List<String> ids);
+
     @Query("SELECT COUNT(w) > 0 FROM WorkReport w " +
             "WHERE w.equipment.code = :equipmentCode " +
             "  AND w.problem = :problem " +
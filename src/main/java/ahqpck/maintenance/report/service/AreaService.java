@@ -4,29 +4,35 @@ import ahqpck.maintenance.report.dto.AreaDTO;
 import ahqpck.maintenance.report.dto.ComplaintDTO;
 import ahqpck.maintenance.report.dto.RoleDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
+import ahqpck.maintenance.report.dto.UserRefDTO;
 import ahqpck.maintenance.report.entity.Area;
 import ahqpck.maintenance.report.entity.User;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.AreaRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.AreaSpecification;
 import ahqpck.maintenance.report.util.ImportUtil;
-import jakarta.transaction.Transactional;
+import ahqpck.maintenance.report.util.SheetReader;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,16 +41,22 @@ import java.util.stream.Collectors;
 public class AreaService {
 
     private final AreaRepository areaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataRegistry referenceData;
+    private final ListingCountService listingCountService;
     private final UserRepository userRepository;
     private final Validator validator;
     private final ImportUtil importUtil;
+    private final BatchImporter batchImporter;
 
     public Page<AreaDTO> getAllAreas(String keyword, int page, int size, String sortBy, boolean asc) {
         Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Specification<Area> spec = AreaSpecification.search(keyword);
-        Page<Area> areaPage = areaRepository.findAll(spec, pageable);
+        Slice<Area> slice = areaRepository.findSlice(spec, pageable, List.of("responsiblePerson"));
+        Page<Area> areaPage = listingCountService.toPage(ListingCountService.AREAS, ListingCountService.filterKey(keyword), slice,
+                () -> areaRepository.count(spec));
 
         return areaPage.map(this::toDTO);
     }
@@ -63,94 +75,90 @@ public class AreaService {
         Area area = new Area();
         mapToEntity(area, dto);
         areaRepository.save(area);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AREAS, area.getId()));
     }
 
-    @Transactional
-    public ImportUtil.ImportResult importAreasFromExcel(List<Map<String, Object>> data) {
-        List<String> errorMessages = new ArrayList<>();
-        int importedCount = 0;
+    @Timed(value = "excel.import", histogram = true)
+    public ImportUtil.ImportResult importAreasFromExcel(SheetReader sheet, ImportProgress progress) throws IOException {
+        BatchImporter.Batch<AreaDTO> batch = batchImporter.parse(sheet, progress, row -> {
+            AreaDTO dto = new AreaDTO();
 
-        if (data == null || data.isEmpty()) {
-            throw new IllegalArgumentException("No data to import.");
-        }
-
-        for (int i = 0; i < data.size(); i++) {
-            Map<String, Object> row = data.get(i);
-            try {
-                AreaDTO dto = new AreaDTO();
-
-                // ✅ CODE (required)
-                String code = importUtil.toString(row.get("code"));
-                if (code == null || code.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Area code is required");
-                }
-                dto.setCode(code.trim());
-
-                // ✅ NAME (required)
-                String name = importUtil.toString(row.get("name"));
-                if (name == null || name.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Area name is required");
-                }
-                dto.setName(name.trim());
-
-                // 🟡 DESCRIPTION (optional)
-                dto.setDescription(importUtil.toString(row.get("description")));
-
-                // 🟡 STATUS (optional, default: ACTIVE)
-                String statusStr = importUtil.toString(row.get("status"));
-                if (statusStr != null && !statusStr.trim().isEmpty()) {
-                    try {
-                        dto.setStatus(Area.Status.valueOf(statusStr.trim().toUpperCase()));
-                    } catch (IllegalArgumentException e) {
-                        throw new IllegalArgumentException("Invalid Status value: '" + statusStr + "'");
-                    }
-                } else {
-                    dto.setStatus(Area.Status.ACTIVE); // default
-                }
+            // ✅ CODE (required)
+            String code = importUtil.toString(row.get("code"));
+            if (code == null || code.trim().isEmpty()) {
+                throw new IllegalArgumentException("Area code is required");
+            }
+            dto.setCode(code.trim());
 
-                // ✅ RESPONSIBLE PERSON (required)
-                String empIdRaw = importUtil.toString(row.get("responsiblePerson"));
-                if (empIdRaw == null || empIdRaw.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Responsible person (employee ID) is required");
-                }
-                String empId = empIdRaw.trim(); // ✅ Assigned once
-
-                User user = userRepository.findByEmployeeId4Roles(empId)
-                        .orElseThrow(() -> new IllegalArgumentException(
-                                "User not found with employee ID: " + empId));
-
-                UserDTO userDTO = new UserDTO();
-                userDTO.setId(user.getId());
-                userDTO.setEmployeeId(user.getEmployeeId());
-                userDTO.setName(user.getName());
-                userDTO.setEmail(user.getEmail());
-                dto.setResponsiblePerson(userDTO);
-
-                // Final validation (optional fields like description are allowed to be null)
-                Set<ConstraintViolation<AreaDTO>> violations = validator.validate(dto);
-                List<String> filteredMessages = violations.stream()
-                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                        .collect(Collectors.toList());
-
-                if (!filteredMessages.isEmpty()) {
-                    throw new IllegalArgumentException("Validation failed: " + String.join(", ", filteredMessages));
+            // ✅ NAME (required)
+            String name = importUtil.toString(row.get("name"));
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Area name is required");
+            }
+            dto.setName(name.trim());
+
+            // 🟡 DESCRIPTION (optional)
+            dto.setDescription(importUtil.toString(row.get("description")));
+
+            // 🟡 STATUS (optional, default: ACTIVE)
+            String statusStr = importUtil.toString(row.get("status"));
+            if (statusStr != null && !statusStr.trim().isEmpty()) {
+                try {
+                    dto.setStatus(Area.Status.valueOf(statusStr.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid Status value: '" + statusStr + "'");
                 }
+            } else {
+                dto.setStatus(Area.Status.ACTIVE); // default
+            }
 
-                // Check duplicate code
-                if (areaRepository.existsByCodeIgnoreCase(dto.getCode())) {
-                    throw new IllegalArgumentException("Area with code '" + dto.getCode() + "' already exists.");
-                }
+            // ✅ RESPONSIBLE PERSON (required)
+            String empIdRaw = importUtil.toString(row.get("responsiblePerson"));
+            if (empIdRaw == null || empIdRaw.trim().isEmpty()) {
+                throw new IllegalArgumentException("Responsible person (employee ID) is required");
+            }
+            String empId = empIdRaw.trim(); // ✅ Assigned once
+
+            UserRefDTO user = referenceData.findUser(empId)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "User not found with employee ID: " + empId));
+
+            UserDTO userDTO = new UserDTO();
+            userDTO.setId(user.id());
+            userDTO.setEmployeeId(user.employeeId());
+            userDTO.setName(user.name());
+            dto.setResponsiblePerson(userDTO);
+
+            // Final validation (optional fields like description are allowed to be null)
+            Set<ConstraintViolation<AreaDTO>> violations = validator.validate(dto);
+            List<String> filteredMessages = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.toList());
+
+            if (!filteredMessages.isEmpty()) {
+                throw new IllegalArgumentException("Validation failed: " + String.join(", ", filteredMessages));
+            }
 
-                createArea(dto);
-                importedCount++;
+            return dto;
+        });
 
-            } catch (Exception e) {
-                String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+        // Check duplicate code: codes already in the table, read once for the whole sheet; codes of earlier rows join them
+        Set<String> takenCodes = new HashSet<>(BatchImporter.queryIn(
+                batch.rows().stream().map(r -> r.value().getCode().toLowerCase(Locale.ROOT)).distinct().toList(),
+                areaRepository::findTakenCodes));
+        batch.check(dto -> {
+            if (!takenCodes.add(dto.getCode().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Area with code '" + dto.getCode() + "' already exists.");
             }
-        }
-
-        return new ImportUtil.ImportResult(importedCount, errorMessages);
+        });
+
+        // One reference-data event per chunk rather than per row
+        return batchImporter.write(batch, dto -> {
+            Area area = new Area();
+            mapToEntity(area, dto);
+            return areaRepository.save(area);
+        }, chunk -> eventPublisher.publishEvent(
+                new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AREAS, null)));
     }
 
     public void updateArea(AreaDTO dto) {
@@ -159,6 +167,7 @@ public class AreaService {
 
         mapToEntity(area, dto);
         areaRepository.save(area);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AREAS, area.getId()));
     }
 
     public void deleteArea(String id) {
@@ -166,6 +175,7 @@ public class AreaService {
                 .orElseThrow(() -> new NotFoundException("Area not found with ID: " + id));
 
         areaRepository.delete(area);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AREAS, id));
     }
 
     private void mapToEntity(Area area, AreaDTO dto) {
@@ -178,10 +188,10 @@ public class AreaService {
         if (dto.getResponsiblePerson() != null && dto.getResponsiblePerson().getEmployeeId() != null) {
             String empId = dto.getResponsiblePerson().getEmployeeId();
 
-            User user = userRepository.findByEmployeeId4Roles(empId)
+            UserRefDTO user = referenceData.findUser(empId)
                     .orElseThrow(() -> new IllegalArgumentException("User not found with employeeId: " + empId));
 
-            area.setResponsiblePerson(user);
+            area.setResponsiblePerson(userRepository.getReferenceById(user.id()));
         } else {
             throw new IllegalArgumentException("Responsible person is required");
         }
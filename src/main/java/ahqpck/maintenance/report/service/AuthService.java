@@ -2,10 +2,12 @@ package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.ResetPasswordDTO;
 import ahqpck.maintenance.report.entity.User;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.util.EmailUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final EmailUtil emailUtil;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void activateAccount(String email, String token) {
@@ -35,6 +38,8 @@ public class AuthService {
         user.setActivatedAt(LocalDateTime.now());
         user.setAccountActivationToken(null);
         userRepository.save(user);
+        // The status shows in the user list
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.USERS, user.getId()));
     }
 
     @Transactional
@@ -0,0 +1,340 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SheetReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Shared engine of the Excel imports. A sheet, streamed by a {@link SheetReader}, goes through
+ * two passes:
+ * <ol>
+ * <li>{@link #parse} turns every row into a value with no writes, dropping the raw row once
+ * it is parsed. Blocks of rows are parsed in parallel and gathered back in sheet order.
+ * Lookups the rows need (existing codes, overlapping breakdowns) are then read once for the
+ * whole sheet and applied with {@link Batch#check}, so a row that fails costs no query.</li>
+ * <li>{@link #write} persists the parsed values in chunks of {@code app.import.chunk-size},
+ * one transaction each, flushing and clearing the persistence context between chunks so
+ * Hibernate batches the inserts ({@code hibernate.jdbc.batch_size}). If a chunk fails it is
+ * rolled back and replayed one row per transaction, so the error is still reported against
+ * its row and the rest of the chunk is kept.</li>
+ * </ol>
+ * Errors keep the {@code "Row n: message"} form of {@link ImportUtil.ImportResult}, ordered by row.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchImporter.class);
+
+    /** Most parameters sent in one {@code IN (...)} list. */
+    public static final int MAX_IN_PARAMETERS = 1000;
+
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Rows handed to a parse thread at a time. */
+    private static final int PARSE_BLOCK_SIZE = 256;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    // 0 = one per available processor
+    @Value("${app.import.parse-threads:0}")
+    private int parseThreads;
+
+    private ForkJoinPool parsePool;
+
+    /** Parses one sheet row; the message of a thrown exception becomes that row's error. */
+    @FunctionalInterface
+    public interface RowParser<T> {
+        T parse(Map<String, Object> row) throws Exception;
+    }
+
+    /** A parsed row and its 1-based row number in the sheet. */
+    public record Row<T>(int number, T value) {
+    }
+
+    /** The rows that parsed, and the errors of those that did not. */
+    public static final class Batch<T> {
+        private final List<Row<T>> rows = new ArrayList<>();
+        private final SortedMap<Integer, String> errors = new TreeMap<>();
+        private final ImportProgress progress;
+
+        private Batch(ImportProgress progress) {
+            this.progress = progress;
+        }
+
+        public List<Row<T>> rows() {
+            return rows;
+        }
+
+        public int size() {
+            return rows.size();
+        }
+
+        /**
+         * Runs a further check over the parsed rows in row order, for checks that need the
+         * whole sheet parsed first; rows it throws for become errors.
+         */
+        public void check(Consumer<T> check) {
+            Iterator<Row<T>> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Row<T> row = iterator.next();
+                try {
+                    check.accept(row.value());
+                } catch (RuntimeException e) {
+                    errors.put(row.number(), message(e));
+                    iterator.remove();
+                    progress.rowRejected();
+                }
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        parsePool = new ForkJoinPool(parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parsePool.shutdownNow();
+    }
+
+    // ================== PARSE ==================
+    /**
+     * Parses every row {@code sheet} yields, under the row number the reader gives it. The sheet is
+     * read on the calling thread and parsed on {@code app.import.parse-threads}, so
+     * {@code parser} must not share mutable state between rows.
+     *
+     * @throws CancellationException if {@code progress} is cancelled before the last row
+     */
+    public <T> Batch<T> parse(SheetReader sheet, ImportProgress progress, RowParser<T> parser) throws IOException {
+        return parse(sheet, progress, null, parser);
+    }
+
+    /**
+     * As {@link #parse(SheetReader, ImportProgress, RowParser)}, with {@code inspect} seeing
+     * every row on the reading thread, in sheet order, before it goes to a parse thread. That is
+     * where per-column state the parser reads (a {@code DateColumnParser}'s format) is settled,
+     * so it does not depend on which block a parse thread happens to run first.
+     */
+    public <T> Batch<T> parse(SheetReader sheet, ImportProgress progress, Consumer<Map<String, Object>> inspect,
+            RowParser<T> parser) throws IOException {
+        ParseStage<T> stage = new ParseStage<>(new Batch<>(progress), inspect, parser);
+        try {
+            sheet.forEachRow(stage);
+            stage.finish();
+        } finally {
+            stage.abandon();
+        }
+        if (stage.rowCount == 0) {
+            throw new IllegalArgumentException("No data to import.");
+        }
+        return stage.batch;
+    }
+
+    /**
+     * Hands the rows to {@link #parsePool} in blocks of {@value #PARSE_BLOCK_SIZE} and takes the
+     * results back in sheet order. At most two blocks per parse thread are in flight, so the
+     * reader never gets far ahead of the parsers.
+     */
+    private final class ParseStage<T> implements SheetReader.RowConsumer {
+        private final Batch<T> batch;
+        private final Consumer<Map<String, Object>> inspect;
+        private final RowParser<T> parser;
+        private final Deque<Block> inFlight = new ArrayDeque<>();
+        private List<Map<String, Object>> block = new ArrayList<>(PARSE_BLOCK_SIZE);
+        private int[] numbers = new int[PARSE_BLOCK_SIZE];
+        private int rowCount;
+
+        /** The sheet row numbers of a block and, per row, its value or a {@link Failure}. */
+        private record Block(int[] numbers, ForkJoinTask<Object[]> results) {
+        }
+
+        private record Failure(String message) {
+        }
+
+        ParseStage(Batch<T> batch, Consumer<Map<String, Object>> inspect, RowParser<T> parser) {
+            this.batch = batch;
+            this.inspect = inspect;
+            this.parser = parser;
+        }
+
+        @Override
+        public void accept(int rowNumber, Map<String, Object> row) {
+            if (batch.progress.isCancelRequested()) {
+                batch.progress.stop();
+                throw new CancellationException("Import cancelled.");
+            }
+            if (inspect != null) {
+                inspect.accept(row);
+            }
+            numbers[block.size()] = rowNumber;
+            block.add(row);
+            rowCount++;
+            if (block.size() == PARSE_BLOCK_SIZE) {
+                submit();
+            }
+        }
+
+        void finish() {
+            if (!block.isEmpty()) {
+                submit();
+            }
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.poll());
+            }
+        }
+
+        /** Drops the blocks still in flight when reading failed or was cancelled. */
+        void abandon() {
+            inFlight.forEach(pending -> pending.results().cancel(true));
+        }
+
+        private void submit() {
+            List<Map<String, Object>> rows = block;
+            inFlight.add(new Block(numbers, parsePool.submit(() -> parseBlock(rows))));
+            block = new ArrayList<>(PARSE_BLOCK_SIZE);
+            numbers = new int[PARSE_BLOCK_SIZE];
+            while (inFlight.size() > 2 * parsePool.getParallelism()) {
+                collect(inFlight.poll());
+            }
+        }
+
+        private Object[] parseBlock(List<Map<String, Object>> rows) {
+            Object[] results = new Object[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    results[i] = parser.parse(rows.get(i));
+                    batch.progress.rowParsed(true);
+                } catch (Exception e) {
+                    results[i] = new Failure(message(e));
+                    batch.progress.rowParsed(false);
+                }
+            }
+            return results;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void collect(Block parsed) {
+            Object[] results = parsed.results().join();
+            for (int i = 0; i < results.length; i++) {
+                int number = parsed.numbers()[i];
+                if (results[i] instanceof Failure failure) {
+                    batch.errors.put(number, failure.message());
+                } else {
+                    batch.rows.add(new Row<>(number, (T) results[i]));
+                }
+            }
+        }
+    }
+
+    // ================== WRITE ==================
+    /**
+     * Writes every parsed row with {@code writer}, which runs inside the chunk's transaction.
+     * {@code afterChunk}, if given, runs once per chunk in the same transaction after its rows,
+     * with what {@code writer} returned for each of them, e.g. to apply the chunk's rollups in
+     * one statement per key and publish one event for it.
+     * A cancelled import stops before the next chunk; the result then covers the chunks written.
+     */
+    public <T, R> ImportUtil.ImportResult write(Batch<T> batch, Function<T, R> writer, Consumer<List<R>> afterChunk) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int imported = 0;
+
+        for (int from = 0; from < batch.rows.size(); from += chunkSize) {
+            if (batch.progress.isCancelRequested()) {
+                batch.progress.stop();
+                break;
+            }
+            List<Row<T>> chunk = batch.rows.subList(from, Math.min(from + chunkSize, batch.rows.size()));
+            try {
+                transaction.executeWithoutResult(status -> writeChunk(chunk, writer, afterChunk));
+                imported += chunk.size();
+                batch.progress.rowsPersisted(chunk.size());
+            } catch (RuntimeException e) {
+                log.debug("Import chunk at row {} failed, replaying row by row: {}", chunk.get(0).number(), message(e));
+                for (Row<T> row : chunk) {
+                    try {
+                        transaction.executeWithoutResult(status -> writeChunk(List.of(row), writer, afterChunk));
+                        imported++;
+                        batch.progress.rowsPersisted(1);
+                    } catch (RuntimeException rowError) {
+                        batch.errors.put(row.number(), message(rowError));
+                        batch.progress.rowFailed();
+                    }
+                }
+            }
+        }
+
+        List<String> errorMessages = batch.errors.entrySet().stream()
+                .map(error -> "Row " + error.getKey() + ": " + error.getValue())
+                .toList();
+        return new ImportUtil.ImportResult(imported, errorMessages);
+    }
+
+    public <T> ImportUtil.ImportResult write(Batch<T> batch, Consumer<T> writer) {
+        return write(batch, value -> {
+            writer.accept(value);
+            return null;
+        }, null);
+    }
+
+    // ================== LOOKUP HELPERS ==================
+    /** Runs {@code query} over {@code keys} in {@code IN (...)} lists of at most {@link #MAX_IN_PARAMETERS}. */
+    public static <R> List<R> queryIn(Collection<String> keys, Function<List<String>, List<R>> query) {
+        List<String> all = List.copyOf(keys);
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_IN_PARAMETERS) {
+            results.addAll(query.apply(all.subList(from, Math.min(from + MAX_IN_PARAMETERS, all.size()))));
+        }
+        return results;
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private <T, R> void writeChunk(List<Row<T>> chunk, Function<T, R> writer, Consumer<List<R>> afterChunk) {
+        List<R> written = new ArrayList<>(chunk.size());
+        for (Row<T> row : chunk) {
+            written.add(writer.apply(row.value()));
+        }
+        if (afterChunk != null) {
+            afterChunk.accept(written);
+        }
+        // Send the batched inserts now and drop the chunk from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String message(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : "Unknown error";
+    }
+}
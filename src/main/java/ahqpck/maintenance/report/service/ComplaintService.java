@@ -1,30 +1,49 @@
 package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.AreaDTO;
+import ahqpck.maintenance.report.dto.AreaRefDTO;
 import ahqpck.maintenance.report.dto.ComplaintDTO;
+import ahqpck.maintenance.report.dto.ComplaintFilterDTO;
 import ahqpck.maintenance.report.dto.ComplaintPartDTO;
+import ahqpck.maintenance.report.dto.CursorPageDTO;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
+import ahqpck.maintenance.report.dto.EquipmentRefDTO;
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
+import ahqpck.maintenance.report.dto.UserRefDTO;
 import ahqpck.maintenance.report.entity.*;
+import ahqpck.maintenance.report.event.ChangeType;
+import ahqpck.maintenance.report.event.ComplaintChangedEvent;
+import ahqpck.maintenance.report.event.ComplaintsImportedEvent;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.ComplaintPartRepository;
 import ahqpck.maintenance.report.repository.ComplaintRepository;
 import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.repository.PartRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.ComplaintSpecification;
+import ahqpck.maintenance.report.specification.KeywordSearch;
+import ahqpck.maintenance.report.specification.KeywordSearchResolver;
+import ahqpck.maintenance.report.util.ExportWriter;
+import ahqpck.maintenance.report.util.FieldCatalog;
 import ahqpck.maintenance.report.util.FileUploadUtil;
+import ahqpck.maintenance.report.util.DateColumnParser;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SheetReader;
+import ahqpck.maintenance.report.util.KeysetCursor;
 import ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -32,11 +51,16 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -53,27 +77,176 @@ public class ComplaintService {
     private static final Logger log = LoggerFactory.getLogger(ComplaintService.class);
 
     private final ComplaintRepository complaintRepository;
+    private final ListingCountService listingCountService;
     private final UserRepository userRepository;
     private final EquipmentRepository equipmentRepository;
     private final AreaRepository areaRepository;
     private final PartRepository partRepository;
+    private final ComplaintPartRepository complaintPartRepository;
+    private final FieldProjectionService fieldProjectionService;
+    private final ReferenceDataRegistry referenceData;
+    private final ComplaintStatsService complaintStatsService;
+    private final EquipmentStatsService equipmentStatsService;
+    private final ApplicationEventPublisher eventPublisher;
     private final Validator validator;
 
     private final FileUploadUtil fileUploadUtil;
     private final ImportUtil importUtil;
     private final ZeroPaddedCodeGenerator codeGenerator;
+    private final BatchImporter batchImporter;
+    private final KeywordSearchResolver keywordSearches;
+
+    private static final int MAX_SCROLL_SIZE = 200;
+
+    /** Fields of {@code GET /api/complaints?fields=}; see {@link #findComplaintFields}. */
+    public static final FieldCatalog API_FIELDS = FieldCatalog.builder()
+            .field("id", "id")
+            .sortableField("code", "code")
+            .sortableField("reportDate", "reportDate")
+            .sortableField("updatedAt", "updatedAt")
+            .sortableField("status", "status")
+            .sortableField("priority", "priority")
+            .sortableField("category", "category")
+            .field("subject", "subject")
+            .field("description", "description")
+            .field("actionTaken", "actionTaken")
+            .field("closeTime", "closeTime")
+            .field("totalResolutionTimeMinutes", "totalResolutionTimeMinutes")
+            .field("imageBefore", "imageBefore")
+            .field("imageAfter", "imageAfter")
+            .field("areaCode", "area.code")
+            .field("areaName", "area.name")
+            .field("equipmentCode", "equipment.code")
+            .field("equipmentName", "equipment.name")
+            .field("reporterEmpId", "reporter.employeeId")
+            .field("reporterName", "reporter.name")
+            .field("assigneeEmpId", "assignee.employeeId")
+            .field("assigneeName", "assignee.name")
+            .computedField("partsUsed")
+            .defaults("id", "code", "reportDate", "status", "priority", "category", "subject",
+                    "equipmentCode", "equipmentName", "areaCode", "assigneeName")
+            .build();
 
     // ================== GET ALL WITH PAGINATION & SEARCH ==================
     // @Transactional(readOnly = true)
+    @Timed(value = "complaint.list", histogram = true)
     public Page<ComplaintDTO> getAllComplaints(String keyword, LocalDateTime reportDateFrom, LocalDateTime reportDateTo, int page, int size, String sortBy, boolean asc) {
-        Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        KeywordSearch<Complaint> search = keywordSearches.complaints(keyword);
+        Pageable pageable = PageRequest.of(page, size, search.sort(sortBy, asc));
 
-        Specification<Complaint> spec = ComplaintSpecification.search(keyword)
+        Specification<Complaint> spec = search.spec()
                 .and(ComplaintSpecification.withReportDateRange(reportDateFrom, reportDateTo));
-        Page<Complaint> complaintPage = complaintRepository.findAll(spec, pageable);
+        Slice<Complaint> slice = complaintRepository.findSlice(spec, pageable, ComplaintRepository.LIST_GRAPH);
+        Page<Complaint> complaintPage = listingCountService.toPage(ListingCountService.COMPLAINTS, ListingCountService.filterKey(keyword, reportDateFrom, reportDateTo), slice,
+                () -> complaintRepository.count(spec));
+        if (complaintPage.isEmpty()) {
+            return complaintPage.map(this::toDTO);
+        }
+
+        Map<String, List<ComplaintPart>> partsByComplaint = findPartsByComplaint(complaintPage.getContent());
+        return complaintPage.map(c -> toDTO(c, partsByComplaint.getOrDefault(c.getId(), List.of())));
+    }
+
+    // ================== GET ALL WITH CURSOR (KEYSET) ==================
+    /**
+     * Seek pagination by (reportDate, id) for the JSON API and infinite scroll. {@code cursor}
+     * is the {@code nextCursor} of the previous page, or blank for the first one; it must be
+     * used with the same filters and direction. No count query is run.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "complaint.scroll", histogram = true)
+    public CursorPageDTO<ComplaintDTO> scrollComplaints(String keyword, LocalDateTime reportDateFrom, LocalDateTime reportDateTo,
+            String cursor, int size, boolean asc) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Sort.Direction direction = asc ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, "reportDate").and(Sort.by(direction, "id"));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<Complaint> spec = keywordSearches.complaints(keyword).spec()
+                .and(ComplaintSpecification.withReportDateRange(reportDateFrom, reportDateTo));
+        if (after != null) {
+            spec = spec.and(ComplaintSpecification.after(parseReportDate(after.sortKey()), after.id(), asc));
+        }
 
-        return complaintPage.map(this::toDTO);
+        // One row past the page tells whether there is a next one, without a count query
+        List<Complaint> rows = complaintRepository.findBy(spec, q -> q
+                .sortBy(sort)
+                .limit(limit + 1)
+                .project(ComplaintRepository.LIST_GRAPH)
+                .all());
+        boolean hasNext = rows.size() > limit;
+        List<Complaint> complaints = hasNext ? rows.subList(0, limit) : rows;
+        Map<String, List<ComplaintPart>> partsByComplaint = findPartsByComplaint(complaints);
+        List<ComplaintDTO> content = complaints.stream()
+                .map(c -> toDTO(c, partsByComplaint.getOrDefault(c.getId(), List.of())))
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            Complaint last = complaints.get(complaints.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getReportDate(), last.getId());
+        }
+        return new CursorPageDTO<>(content, limit, nextCursor, hasNext);
+    }
+
+    // ================== GET FIELDS (JSON API) ==================
+    /**
+     * Keyset-paged complaints as maps holding only the requested {@code fields} (see
+     * {@link #API_FIELDS}). The query selects just those columns and joins only the
+     * associations they need; {@code partsUsed} costs one more query for the whole page.
+     */
+    @Timed(value = "complaint.fields", histogram = true)
+    public CursorPageDTO<Map<String, Object>> findComplaintFields(ComplaintFilterDTO filter, String fields,
+            String sortBy, boolean asc, String cursor, int size) {
+        return fieldProjectionService.page(Complaint.class, filterSpec(filter), API_FIELDS, fields, sortBy, asc,
+                cursor, size, Map.of("partsUsed", this::findPartsUsedFields));
+    }
+
+    // ================== EXPORT ==================
+    /**
+     * Writes every complaint matching {@code filter} to {@code out}, {@code fields} only (all
+     * columns of {@link #API_FIELDS} when blank), read through a forward-only cursor.
+     */
+    @Timed(value = "complaint.export", histogram = true)
+    public long exportComplaints(ComplaintFilterDTO filter, String fields, String sortBy, boolean asc,
+            ExportWriter.Format format, OutputStream out) throws IOException {
+        return fieldProjectionService.export(Complaint.class, filterSpec(filter), API_FIELDS, fields, sortBy, asc,
+                format, out);
+    }
+
+    private Specification<Complaint> filterSpec(ComplaintFilterDTO filter) {
+        LocalDateTime from = filter.getReportDateFrom() != null ? filter.getReportDateFrom().atStartOfDay() : null;
+        LocalDateTime to = filter.getReportDateTo() != null ? filter.getReportDateTo().atTime(LocalTime.MAX) : null;
+
+        Specification<Complaint> spec = keywordSearches.complaints(filter.getKeyword()).spec()
+                .and(ComplaintSpecification.withReportDateRange(from, to))
+                .and(ComplaintSpecification.hasStatus(filter.getStatus()))
+                .and(ComplaintSpecification.hasPriority(filter.getPriority()))
+                .and(ComplaintSpecification.hasCategory(filter.getCategory()));
+        if (filter.getEquipmentCode() != null && !filter.getEquipmentCode().isBlank()) {
+            spec = spec.and(ComplaintSpecification.hasEquipmentCode(filter.getEquipmentCode().trim()));
+        }
+        if (filter.getAreaCode() != null && !filter.getAreaCode().isBlank()) {
+            spec = spec.and(ComplaintSpecification.hasAreaCode(filter.getAreaCode().trim()));
+        }
+        if (filter.getAssignee() != null && !filter.getAssignee().isBlank()) {
+            spec = spec.and(ComplaintSpecification.hasAssignee(filter.getAssignee().trim()));
+        }
+        return spec;
+    }
+
+    // partsUsed of the JSON API: code, name and quantity per part, grouped by complaint ID
+    private Map<String, List<Map<String, Object>>> findPartsUsedFields(List<String> complaintIds) {
+        return complaintPartRepository.findWithPartByComplaintIds(complaintIds)
+                .stream()
+                .collect(Collectors.groupingBy(cp -> cp.getId().getComplaintId(),
+                        Collectors.mapping(cp -> {
+                            Map<String, Object> part = new LinkedHashMap<>();
+                            part.put("code", cp.getPart().getCode());
+                            part.put("name", cp.getPart().getName());
+                            part.put("quantity", cp.getQuantity());
+                            return part;
+                        }, Collectors.toList())));
     }
 
     // ================== GET BY ID ==================
@@ -85,7 +258,7 @@ public class ComplaintService {
     }
 
     // ================== CREATE ==================
-
+    @Transactional
     public void createComplaint(ComplaintDTO dto, MultipartFile imageBefore) {
         // validateDTO(dto);
 
@@ -108,146 +281,181 @@ public class ComplaintService {
             }
         }
 
+        saveNew(complaint);
+    }
+
+    private void saveNew(Complaint complaint) {
         complaintRepository.save(complaint);
+        complaintStatsService.record(ComplaintStatsService.Contribution.of(complaint));
+        equipmentStatsService.complaintChanged(null, ComplaintChangedEvent.Snapshot.of(complaint));
+        eventPublisher.publishEvent(new ComplaintChangedEvent(complaint.getId(), ChangeType.CREATED,
+                null, ComplaintChangedEvent.Snapshot.of(complaint)));
     }
 
     // Add this method to EquipmentService
-    public ImportUtil.ImportResult importComplaintsFromExcel(List<Map<String, Object>> data) {
-        List<String> errorMessages = new ArrayList<>();
-        int importedCount = 0;
-        System.out.println("data imported "+data);
-
-        if (data == null || data.isEmpty()) {
-            throw new IllegalArgumentException("No data to import.");
-        }
+    @Timed(value = "excel.import", histogram = true)
+    public ImportUtil.ImportResult importComplaintsFromExcel(SheetReader sheet, ImportProgress progress) throws IOException {
+        // One parser per date column, its format fixed by the column's first value in sheet order
+        DateColumnParser reportDates = new DateColumnParser();
+        DateColumnParser closeTimes = new DateColumnParser();
+        Consumer<Map<String, Object>> detectDateFormats = row -> {
+            reportDates.detectDateTime(row.get("reportDate"));
+            closeTimes.detectDateTime(row.get("close time"));
+        };
+
+        // Rows are parsed and checked against the reference data first, then written in chunks
+        BatchImporter.Batch<ComplaintDTO> batch = batchImporter.parse(sheet, progress, detectDateFormats, row -> {
+            ComplaintDTO dto = new ComplaintDTO();
+
+            // 🟡 Area (OPTIONAL)
+            String areaCode = importUtil.toString(row.get("area"));
+            if (areaCode != null && !areaCode.trim().isEmpty()) {
+                AreaDTO areaDTO = new AreaDTO();
+                areaDTO.setCode(areaCode.trim());
+                dto.setArea(areaDTO);
+            }
+            // If area is missing or blank, leave it null
 
-        for (int i = 0; i < data.size(); i++) {
-            Map<String, Object> row = data.get(i);
-            try {
-                ComplaintDTO dto = new ComplaintDTO();
-
-                // 🟡 Area (OPTIONAL)
-                String areaCode = importUtil.toString(row.get("area"));
-                if (areaCode != null && !areaCode.trim().isEmpty()) {
-                    AreaDTO areaDTO = new AreaDTO();
-                    areaDTO.setCode(areaCode.trim());
-                    dto.setArea(areaDTO);
-                }
-                // If area is missing or blank, leave it null
+            // ✅ Equipment (REQUIRED)
+            String equipmentCode = importUtil.toString(row.get("equipment"));
+            if (equipmentCode == null || equipmentCode.trim().isEmpty()) {
+                throw new IllegalArgumentException("Equipment is required");
+            }
+            EquipmentDTO equipmentDTO = new EquipmentDTO();
+            equipmentDTO.setCode(equipmentCode.trim());
+            dto.setEquipment(equipmentDTO);
 
-                // ✅ Equipment (REQUIRED)
-                String equipmentCode = importUtil.toString(row.get("equipment"));
-                if (equipmentCode == null || equipmentCode.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Equipment is required");
-                }
-                EquipmentDTO equipmentDTO = new EquipmentDTO();
-                equipmentDTO.setCode(equipmentCode.trim());
-                dto.setEquipment(equipmentDTO);
-
-                // ✅ Reporter (REQUIRED)
-                String reporterEmpId = importUtil.toString(row.get("reporter"));
-                if (reporterEmpId == null || reporterEmpId.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Reporter is required");
-                }
-                UserDTO reporterDTO = new UserDTO();
-                reporterDTO.setEmployeeId(reporterEmpId.trim());
-                dto.setReporter(reporterDTO);
-
-                // ✅ Assignee (REQUIRED)
-                String assigneeEmpId = importUtil.toString(row.get("assignee"));
-                if (assigneeEmpId == null || assigneeEmpId.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Assignee is required");
-                }
-                UserDTO assigneeDTO = new UserDTO();
-                assigneeDTO.setEmployeeId(assigneeEmpId.trim());
-                dto.setAssignee(assigneeDTO);
-
-                // 🟡 Priority (OPTIONAL)
-                String priorityStr = importUtil.toString(row.get("priority"));
-                if (priorityStr != null && !priorityStr.trim().isEmpty()) {
-                    try {
-                        dto.setPriority(Complaint.Priority.valueOf(priorityStr.trim().toUpperCase()));
-                    } catch (IllegalArgumentException e) {
-                        throw new IllegalArgumentException(
-                                "Invalid Priority value: '" + priorityStr
-                                        + "'. Must be one of: LOW, MEDIUM, HIGH, or leave blank");
-                    }
-                }
-                // If priority is missing or invalid → remains null
+            // ✅ Reporter (REQUIRED)
+            String reporterEmpId = importUtil.toString(row.get("reporter"));
+            if (reporterEmpId == null || reporterEmpId.trim().isEmpty()) {
+                throw new IllegalArgumentException("Reporter is required");
+            }
+            UserDTO reporterDTO = new UserDTO();
+            reporterDTO.setEmployeeId(reporterEmpId.trim());
+            dto.setReporter(reporterDTO);
+
+            // ✅ Assignee (REQUIRED)
+            String assigneeEmpId = importUtil.toString(row.get("assignee"));
+            if (assigneeEmpId == null || assigneeEmpId.trim().isEmpty()) {
+                throw new IllegalArgumentException("Assignee is required");
+            }
+            UserDTO assigneeDTO = new UserDTO();
+            assigneeDTO.setEmployeeId(assigneeEmpId.trim());
+            dto.setAssignee(assigneeDTO);
 
-                // ✅ Category (REQUIRED)
-                String categoryStr = importUtil.toString(row.get("category"));
-                if (categoryStr == null || categoryStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Category is required");
-                }
+            // 🟡 Priority (OPTIONAL)
+            String priorityStr = importUtil.toString(row.get("priority"));
+            if (priorityStr != null && !priorityStr.trim().isEmpty()) {
                 try {
-                    dto.setCategory(Complaint.Category.valueOf(categoryStr.trim().toUpperCase()));
+                    dto.setPriority(Complaint.Priority.valueOf(priorityStr.trim().toUpperCase()));
                 } catch (IllegalArgumentException e) {
                     throw new IllegalArgumentException(
-                            "Invalid Category value: '" + categoryStr
-                                    + "'. Must be one of: MECHANICAL, ELECTRICAL, IT");
+                            "Invalid Priority value: '" + priorityStr
+                                    + "'. Must be one of: LOW, MEDIUM, HIGH, or leave blank");
                 }
+            }
+            // If priority is missing or invalid → remains null
+
+            // ✅ Category (REQUIRED)
+            String categoryStr = importUtil.toString(row.get("category"));
+            if (categoryStr == null || categoryStr.trim().isEmpty()) {
+                throw new IllegalArgumentException("Category is required");
+            }
+            try {
+                dto.setCategory(Complaint.Category.valueOf(categoryStr.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Invalid Category value: '" + categoryStr
+                                + "'. Must be one of: MECHANICAL, ELECTRICAL, IT");
+            }
+
+            // Optional fields
+            dto.setSubject(importUtil.toString(row.get("subject")));
+            dto.setDescription(importUtil.toString(row.get("description")));
 
-                // Optional fields
-                dto.setSubject(importUtil.toString(row.get("subject")));
-                dto.setDescription(importUtil.toString(row.get("description")));
-
-                // Status (optional)
-                String statusStr = importUtil.toString(row.get("status"));
-                if (statusStr != null && !statusStr.trim().isEmpty()) {
-                    try {
-                        dto.setStatus(Complaint.Status.valueOf(statusStr.trim().toUpperCase()));
-                    } catch (IllegalArgumentException e) {
-                        throw new IllegalArgumentException("Invalid Status value: '" + statusStr + "'");
-                    }
+            // Status (optional)
+            String statusStr = importUtil.toString(row.get("status"));
+            if (statusStr != null && !statusStr.trim().isEmpty()) {
+                try {
+                    dto.setStatus(Complaint.Status.valueOf(statusStr.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid Status value: '" + statusStr + "'");
                 }
-                // Else keep null (default behavior)
-
-                dto.setActionTaken(importUtil.toString(row.get("actionTaken")));
-                System.out.println("action taken " + row.get("actionTaken"));
-                dto.setReportDate(importUtil.toLocalDateTime(row.get("reportDate")));
-                System.out.println("date report " + importUtil.toLocalDateTime(row.get("reportDate")));
-                dto.setCloseTime(importUtil.toLocalDateTime(row.get("close time")));
-                dto.setTotalResolutionTimeMinutes(importUtil.toDurationInMinutes(row.get("total time")));
-
-                // Final validation — BUT exclude fields that are now optional
-                Set<ConstraintViolation<ComplaintDTO>> violations = validator.validate(dto);
-                if (!violations.isEmpty()) {
-                    // Filter out violations for fields we now allow to be null (e.g., priority,
-                    // area)
-                    List<String> filteredMessages = violations.stream()
-                            .filter(v -> !(v.getPropertyPath().toString().equals("priority") ||
-                                    v.getPropertyPath().toString().equals("area")))
-                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                            .collect(Collectors.toList());
-
-                    if (!filteredMessages.isEmpty()) {
-                        throw new IllegalArgumentException("Validation failed: " + String.join(", ", filteredMessages));
-                    }
-                    // Otherwise, proceed if only ignored fields had issues
+            }
+            // Else keep null (default behavior)
+
+            dto.setActionTaken(importUtil.toString(row.get("actionTaken")));
+            dto.setReportDate(reportDates.toLocalDateTime(row.get("reportDate")));
+            dto.setCloseTime(closeTimes.toLocalDateTime(row.get("close time")));
+            dto.setTotalResolutionTimeMinutes(importUtil.toDurationInMinutes(row.get("total time")));
+
+            // Final validation — BUT exclude fields that are now optional
+            Set<ConstraintViolation<ComplaintDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                // Filter out violations for fields we now allow to be null (e.g., priority,
+                // area)
+                List<String> filteredMessages = violations.stream()
+                        .filter(v -> !(v.getPropertyPath().toString().equals("priority") ||
+                                v.getPropertyPath().toString().equals("area")))
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .collect(Collectors.toList());
+
+                if (!filteredMessages.isEmpty()) {
+                    throw new IllegalArgumentException("Validation failed: " + String.join(", ", filteredMessages));
                 }
+                // Otherwise, proceed if only ignored fields had issues
+            }
 
-                createComplaint(dto, null);
-                importedCount++;
-
-            } catch (Exception e) {
-                String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+            // Unknown codes fail the row here rather than its chunk at write time
+            if (dto.getArea() != null) {
+                requireArea(dto.getArea().getCode());
             }
+            requireEquipment(dto.getEquipment().getCode());
+            requireUser("Reporter", dto.getReporter().getEmployeeId());
+            requireUser("Assignee", dto.getAssignee().getEmployeeId());
+
+            return dto;
+        });
+
+        // One reservation for the codes of the whole sheet; no other create can take them meanwhile
+        List<String> codes = codeGenerator.generate(Complaint.class, "code", "CP", batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.rows().get(i).value().setCode(codes.get(i));
         }
 
-        return new ImportUtil.ImportResult(importedCount, errorMessages);
+        return batchImporter.write(batch, dto -> {
+            Complaint complaint = new Complaint();
+            complaint.setCode(dto.getCode());
+            mapToEntity(complaint, dto);
+            return complaintRepository.save(complaint);
+        }, this::recordImported);
+    }
+
+    // Rollups and listeners get a chunk at once: one upsert per stats row, one event per chunk
+    private void recordImported(List<Complaint> complaints) {
+        List<ComplaintChangedEvent> created = complaints.stream()
+                .map(c -> new ComplaintChangedEvent(c.getId(), ChangeType.CREATED, null,
+                        ComplaintChangedEvent.Snapshot.of(c)))
+                .toList();
+        complaintStatsService.recordAll(complaints.stream().map(ComplaintStatsService.Contribution::of).toList());
+        equipmentStatsService.complaintsCreated(created.stream().map(ComplaintChangedEvent::after).toList());
+        eventPublisher.publishEvent(new ComplaintsImportedEvent(created));
     }
 
+    @Transactional
     public void updateComplaint(ComplaintDTO dto) {
         Complaint complaint = complaintRepository.findById(dto.getId())
                 .orElseThrow(() -> new NotFoundException("Complaint not found with ID: " + dto.getId()));
 
+        ComplaintStatsService.Contribution before = ComplaintStatsService.Contribution.of(complaint);
+        ComplaintChangedEvent.Snapshot beforeSnapshot = ComplaintChangedEvent.Snapshot.of(complaint);
         Complaint.Status oldStatus = complaint.getStatus();
         Complaint.Status newStatus = dto.getStatus();
 
         // Map all other fields first
         mapToEntity(complaint, dto);
+        // A parts-only edit does not dirty the complaint row, but its detail page ETag rides on updatedAt
+        complaint.setUpdatedAt(LocalDateTime.now());
 
         // Handle status transitions
         if (newStatus != null && newStatus != oldStatus) {
@@ -255,6 +463,11 @@ public class ComplaintService {
         }
 
         complaintRepository.save(complaint);
+        complaintStatsService.replace(before, ComplaintStatsService.Contribution.of(complaint));
+        ComplaintChangedEvent.Snapshot afterSnapshot = ComplaintChangedEvent.Snapshot.of(complaint);
+        equipmentStatsService.complaintChanged(beforeSnapshot, afterSnapshot);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(complaint.getId(), ChangeType.UPDATED,
+                beforeSnapshot, afterSnapshot));
     }
 
     /**
@@ -318,7 +531,11 @@ public class ComplaintService {
         Complaint complaint = complaintRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Complaint not found with ID: " + id));
 
+        ComplaintChangedEvent.Snapshot before = ComplaintChangedEvent.Snapshot.of(complaint);
+        complaintStatsService.retract(ComplaintStatsService.Contribution.of(complaint));
+        equipmentStatsService.complaintChanged(before, null);
         complaintRepository.delete(complaint);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(id, ChangeType.DELETED, before, null));
     }
 
     // ================== MAPPING METHODS ==================
@@ -336,30 +553,22 @@ public class ComplaintService {
 
         // Map Area
         if (dto.getArea() != null && dto.getArea().getCode() != null && !dto.getArea().getCode().trim().isEmpty()) {
-            String areaCode = dto.getArea().getCode().trim();
-            Area area = areaRepository.findByCode(areaCode)
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Area not found with code: " + areaCode));
-            complaint.setArea(area);
+            AreaRefDTO area = requireArea(dto.getArea().getCode());
+            complaint.setArea(areaRepository.getReferenceById(area.id()));
         } else {
             complaint.setArea(null);
         }
 
         // Map Equipment
-        Equipment equipment = equipmentRepository.findByCode(dto.getEquipment().getCode())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Equipment not found with code: " + dto.getEquipment().getCode()));
-        complaint.setEquipment(equipment);
+        // Codes are checked against the reference data; the references are by primary key
+        EquipmentRefDTO equipment = requireEquipment(dto.getEquipment().getCode());
+        complaint.setEquipment(equipmentRepository.getReferenceById(equipment.id()));
 
-        User reporter = userRepository.findByEmployeeId4Roles(dto.getReporter().getEmployeeId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Reporter not found with employeeId: " + dto.getReporter().getEmployeeId()));
-        complaint.setReporter(reporter);
+        UserRefDTO reporter = requireUser("Reporter", dto.getReporter().getEmployeeId());
+        complaint.setReporter(userRepository.getReferenceById(reporter.id()));
 
-        User assignee = userRepository.findByEmployeeId4Roles(dto.getAssignee().getEmployeeId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Assignee not found with employeeId: " + dto.getAssignee().getEmployeeId()));
-        complaint.setAssignee(assignee);
+        UserRefDTO assignee = requireUser("Assignee", dto.getAssignee().getEmployeeId());
+        complaint.setAssignee(userRepository.getReferenceById(assignee.id()));
 
         // ✅ PARTS HANDLING: Use merge/update pattern
         if (dto.getPartsUsed() != null) {
@@ -402,8 +611,47 @@ public class ComplaintService {
         }
     }
 
+    private AreaRefDTO requireArea(String code) {
+        String areaCode = code == null ? null : code.trim();
+        return referenceData.findArea(areaCode)
+                .orElseThrow(() -> new IllegalArgumentException("Area not found with code: " + areaCode));
+    }
+
+    private EquipmentRefDTO requireEquipment(String code) {
+        return referenceData.findEquipment(code)
+                .orElseThrow(() -> new IllegalArgumentException("Equipment not found with code: " + code));
+    }
+
+    private UserRefDTO requireUser(String role, String employeeId) {
+        return referenceData.findUser(employeeId)
+                .orElseThrow(() -> new IllegalArgumentException(role + " not found with employeeId: " + employeeId));
+    }
+
+    // Parts for a whole page in one query instead of one lazy load per complaint
+    private Map<String, List<ComplaintPart>> findPartsByComplaint(List<Complaint> complaints) {
+        if (complaints.isEmpty()) {
+            return Map.of();
+        }
+        List<String> ids = complaints.stream().map(Complaint::getId).toList();
+        return complaintPartRepository.findWithPartByComplaintIds(ids)
+                .stream()
+                .collect(Collectors.groupingBy(cp -> cp.getId().getComplaintId()));
+    }
+
+    private static LocalDateTime parseReportDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor report date: " + value);
+        }
+    }
+
     // ================== HELPER: DTO Conversion ==================
     private ComplaintDTO toDTO(Complaint complaint) {
+        return toDTO(complaint, complaint.getPartsUsed());
+    }
+
+    private ComplaintDTO toDTO(Complaint complaint, List<ComplaintPart> partsUsed) {
         ComplaintDTO dto = new ComplaintDTO();
         dto.setId(complaint.getId());
         dto.setCode(complaint.getCode());
@@ -470,8 +718,8 @@ public class ComplaintService {
         dto.setAssignee(mapToUserDTO(complaint.getAssignee()));
 
         // Map Parts Used
-        if (complaint.getPartsUsed() != null) {
-            dto.setPartsUsed(complaint.getPartsUsed().stream()
+        if (partsUsed != null) {
+            dto.setPartsUsed(partsUsed.stream()
                     .map(cp -> {
                         ComplaintPartDTO partDto = new ComplaintPartDTO();
                         partDto.setPart(mapToPartDTO(cp.getPart()));
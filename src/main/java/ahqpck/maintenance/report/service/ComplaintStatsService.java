@@ -0,0 +1,124 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.repository.ComplaintDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@code complaint_daily_stats} rollup in step with the complaints table.
+ * Callers record a complaint's contribution after it is saved and retract the old
+ * contribution before it changes, inside the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ComplaintStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatsService.class);
+
+    private final ComplaintDailyStatRepository statRepository;
+
+    /**
+     * What a single complaint adds to the rollup.
+     */
+    public record Contribution(
+            LocalDate reportDay,
+            LocalDate closeDay,
+            Complaint.Status status,
+            Complaint.Category category,
+            String areaCode,
+            String equipmentCode) {
+
+        public static Contribution of(Complaint complaint) {
+            return new Contribution(
+                    complaint.getReportDate() != null ? complaint.getReportDate().toLocalDate() : null,
+                    complaint.getCloseTime() != null ? complaint.getCloseTime().toLocalDate() : null,
+                    complaint.getStatus(),
+                    complaint.getCategory(),
+                    complaint.getArea() != null ? complaint.getArea().getCode() : "",
+                    complaint.getEquipment() != null ? complaint.getEquipment().getCode() : null);
+        }
+    }
+
+    @Transactional
+    public void record(Contribution contribution) {
+        apply(contribution, 1);
+    }
+
+    /** Records an imported chunk with one upsert per rollup row rather than per complaint. */
+    @Transactional
+    public void recordAll(Collection<Contribution> contributions) {
+        Map<StatKey, int[]> counts = new LinkedHashMap<>();
+        for (Contribution c : contributions) {
+            if (!isComplete(c)) {
+                continue;
+            }
+            counts.computeIfAbsent(StatKey.of(c.reportDay(), c), k -> new int[2])[0]++;
+            if (c.closeDay() != null) {
+                counts.computeIfAbsent(StatKey.of(c.closeDay(), c), k -> new int[2])[1]++;
+            }
+        }
+        counts.forEach((k, n) -> statRepository.increment(k.day(), k.status(), k.category(),
+                k.areaCode(), k.equipmentCode(), n[0], n[1]));
+    }
+
+    @Transactional
+    public void retract(Contribution contribution) {
+        apply(contribution, -1);
+    }
+
+    @Transactional
+    public void replace(Contribution before, Contribution after) {
+        if (before.equals(after)) {
+            return;
+        }
+        retract(before);
+        record(after);
+    }
+
+    // ================== REBUILD ==================
+    @Transactional
+    public int rebuild() {
+        int removed = statRepository.deleteAllRows();
+        int reported = statRepository.rebuildReported();
+        int closed = statRepository.rebuildClosed();
+        log.info("Rebuilt complaint_daily_stats: removed {} rows, inserted {} reported rows, merged {} closed rows",
+                removed, reported, closed);
+        return reported;
+    }
+
+    private void apply(Contribution c, int sign) {
+        if (!isComplete(c)) {
+            return;
+        }
+
+        statRepository.increment(c.reportDay(), c.status().name(), c.category().name(),
+                c.areaCode(), c.equipmentCode(), sign, 0);
+
+        if (c.closeDay() != null) {
+            statRepository.increment(c.closeDay(), c.status().name(), c.category().name(),
+                    c.areaCode(), c.equipmentCode(), 0, sign);
+        }
+    }
+
+    private static boolean isComplete(Contribution c) {
+        return c.reportDay() != null && c.status() != null && c.category() != null && c.equipmentCode() != null;
+    }
+
+    // One complaint_daily_stats row
+    private record StatKey(LocalDate day, String status, String category, String areaCode, String equipmentCode) {
+
+        static StatKey of(LocalDate day, Contribution c) {
+            return new StatKey(day, c.status().name(), c.category().name(), c.areaCode(), c.equipmentCode());
+        }
+    }
+}
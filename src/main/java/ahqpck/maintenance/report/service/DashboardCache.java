@@ -0,0 +1,164 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.event.ComplaintChangedEvent;
+import ahqpck.maintenance.report.event.ComplaintsImportedEvent;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportsImportedEvent;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Result cache in front of {@link DashboardService}. Entries are keyed by method name and
+ * the effective (defaulted) parameters, and are grouped by the tables they read so a write
+ * only evicts the series it can change.
+ * <p>
+ * Each entry carries the generation of its cache as it was when the load started, and an
+ * eviction bumps the generation. A load that was already running when a write committed
+ * therefore stores an outdated entry, which the next read drops and reloads instead of
+ * serving pre-commit data for the whole TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCache.class);
+
+    /** Series read only from complaints / complaint_daily_stats. */
+    public static final String COMPLAINT_SERIES = "dashboard-complaints";
+    /** Series read only from work_reports. */
+    public static final String WORK_REPORT_SERIES = "dashboard-work-reports";
+    /** Series that combine complaints and work reports. */
+    public static final String MIXED_SERIES = "dashboard-mixed";
+
+    private static final List<String> ALL = List.of(COMPLAINT_SERIES, WORK_REPORT_SERIES, MIXED_SERIES);
+
+    /** Loads in a row that may find their entry outdated before one is served anyway. */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CacheManager cacheManager;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /** A cached result and the generation of its cache when it started loading. */
+    private record Entry(long generation, Object value) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String method, Supplier<T> loader, Object... params) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+
+        Object[] parts = new Object[params.length + 1];
+        parts[0] = method;
+        System.arraycopy(params, 0, parts, 1, params.length);
+        SimpleKey key = new SimpleKey(parts);
+
+        AtomicLong generation = generation(cacheName);
+        for (int attempt = 1;; attempt++) {
+            long started = generation.get();
+            Entry entry = load(cache, key, () -> new Entry(started, loader.get()));
+            if (entry.generation() == generation.get() || attempt == MAX_ATTEMPTS) {
+                return (T) entry.value();
+            }
+            // Loaded before the last eviction: drop it unless a newer load has replaced it already
+            if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().remove(key, entry);
+            } else {
+                cache.evict(key);
+            }
+        }
+    }
+
+    // ================== INVALIDATION ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        evict(COMPLAINT_SERIES, MIXED_SERIES);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportChanged(WorkReportChangedEvent event) {
+        evict(WORK_REPORT_SERIES, MIXED_SERIES);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        evict(COMPLAINT_SERIES, MIXED_SERIES);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportsImported(WorkReportsImportedEvent event) {
+        evict(WORK_REPORT_SERIES, MIXED_SERIES);
+    }
+
+    public void evictAll() {
+        evict(ALL.toArray(String[]::new));
+    }
+
+    private void evict(String... cacheNames) {
+        for (String name : cacheNames) {
+            generation(name).incrementAndGet();
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.debug("Evicted dashboard caches {}", (Object) cacheNames);
+    }
+
+    // The cache wraps what the loader throws; rethrow it as is, so e.g. a rejected range stays a 400
+    private static Entry load(Cache cache, Object key, Callable<Entry> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private AtomicLong generation(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    // ================== METRICS ==================
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String name : ALL) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", caffeineCache.getNativeCache().estimatedSize());
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            entry.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+            result.put(name, entry);
+        }
+        return result;
+    }
+}
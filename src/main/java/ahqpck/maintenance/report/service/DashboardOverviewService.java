@@ -0,0 +1,139 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.dto.DashboardOverviewDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole overview page in one call. Every section runs on its own virtual thread,
+ * but at most {@code maxConcurrentQueries} of them hold a database connection at a time so
+ * the overview cannot drain the pool. Sections that are not done by the deadline are left
+ * out and reported in {@code timedOut}.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardOverviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardOverviewService.class);
+
+    private final DashboardService dashboardService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.dashboard.overview.max-concurrent-queries:4}")
+    private int maxConcurrentQueries;
+
+    @Value("${app.dashboard.overview.timeout-ms:3000}")
+    private long timeoutMillis;
+
+    private Semaphore connectionBudget;
+
+    @PostConstruct
+    void init() {
+        connectionBudget = new Semaphore(Math.max(1, maxConcurrentQueries), true);
+    }
+
+    public DashboardOverviewDTO getOverview() {
+        Map<String, Supplier<Object>> sections = new LinkedHashMap<>();
+        sections.put("statusCount", () -> dashboardService.getStatusCount(null, null));
+        sections.put("dailyComplaint", () -> dashboardService.getDailyComplaint(null, null, null));
+        sections.put("monthlyComplaint", () -> dashboardService.getMonthlyComplaint(null));
+        sections.put("assigneeDailyStatus", () -> dashboardService.getAssigneeDailyStatus(null, null));
+        sections.put("equipmentComplaintCount", dashboardService::getEquipmentComplaintCount);
+        sections.put("dailyBreakdownTime", () -> dashboardService.getDailyBreakdownTime(null, null, null));
+        sections.put("monthlyBreakdownTime", () -> dashboardService.getMonthlyBreakdownTime(null));
+        sections.put("equipmentWorkReport", dashboardService::getEquipmentWorkReport);
+        sections.put("dailyWorkReport", () -> dashboardService.getDailyWorkReport(null, null, null));
+        sections.put("monthlyWorkReport", () -> dashboardService.getMonthlyWorkReport(null));
+        sections.put("dailyWorkReportEquipment", () -> dashboardService.getDailyWorkReportEquipment(null, null, null, null));
+        sections.put("monthlyWorkReportEquipment", () -> dashboardService.getMonthlyWorkReportEquipment(null, null));
+        sections.put("equipmentCount", dashboardService::getEquipmentCount);
+
+        return run(sections);
+    }
+
+    private DashboardOverviewDTO run(Map<String, Supplier<Object>> sections) {
+        Semaphore budget = connectionBudget;
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        sections.forEach((name, supplier) -> futures.put(name, executor.submit(() -> {
+            budget.acquire();
+            long start = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                budget.release();
+                timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        })));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        List<String> timedOut = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+
+        for (Map.Entry<String, Future<Object>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            Future<Object> future = entry.getValue();
+            try {
+                results.put(name, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timedOut.add(name);
+                timings.putIfAbsent(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } catch (ExecutionException e) {
+                log.warn("Overview section '{}' failed", name, e.getCause());
+                failed.add(name);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                timedOut.add(name);
+                break;
+            }
+        }
+
+        if (!timedOut.isEmpty()) {
+            log.warn("Overview sections {} did not finish within {} ms", timedOut, timeoutMillis);
+        }
+
+        Map<String, Long> orderedTimings = new LinkedHashMap<>();
+        sections.keySet().forEach(name -> {
+            Long ms = timings.get(name);
+            if (ms != null) {
+                orderedTimings.put(name, ms);
+            }
+        });
+        orderedTimings.put("total", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        return new DashboardOverviewDTO(LocalDateTime.now(), results, orderedTimings, timedOut, failed,
+                !timedOut.isEmpty() || !failed.isEmpty());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
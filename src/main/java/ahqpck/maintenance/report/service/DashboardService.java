@@ -1,7 +1,7 @@
 package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
-import ahqpck.maintenance.report.dto.AssigneeDailyStatusDetailDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusColumnarDTO;
 import ahqpck.maintenance.report.dto.DailyBreakdownDTO;
 import ahqpck.maintenance.report.dto.DailyComplaintDTO;
 import ahqpck.maintenance.report.dto.DailyWorkReportDTO;
@@ -15,6 +15,10 @@ import ahqpck.maintenance.report.dto.MonthlyWorkReportDTO;
 import ahqpck.maintenance.report.dto.MonthlyWorkReportEquipmentDTO;
 import ahqpck.maintenance.report.dto.StatusCountDTO;
 import ahqpck.maintenance.report.repository.DashboardRepository;
+import ahqpck.maintenance.report.util.AssigneeStatusMatrix;
+import ahqpck.maintenance.report.util.TimeBucketer;
+import ahqpck.maintenance.report.util.TimeBucketer.Granularity;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Service;
@@ -22,19 +26,20 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.time.YearMonth;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "dashboard.service", histogram = true)
 public class DashboardService {
 
     private final DashboardRepository dashboardRepository;
+    private final DashboardCache dashboardCache;
+    private final TimeBucketer timeBucketer;
 
     public StatusCountDTO getStatusCount(LocalDateTime from, LocalDateTime to) {
         LocalDateTime now = LocalDateTime.now();
@@ -45,10 +50,11 @@ public class DashboardService {
         LocalDateTime effectiveFrom = from != null ? from : defaultFrom;
         LocalDateTime effectiveTo = to != null ? to : defaultTo;
 
-        return dashboardRepository.getStatusCount(effectiveFrom, effectiveTo);
+        return dashboardCache.get(DashboardCache.COMPLAINT_SERIES, "statusCount",
+                () -> dashboardRepository.getStatusCount(effectiveFrom, effectiveTo), effectiveFrom, effectiveTo);
     }
 
-    public List<DailyComplaintDTO> getDailyComplaint(LocalDateTime from, LocalDateTime to) {
+    public List<DailyComplaintDTO> getDailyComplaint(LocalDateTime from, LocalDateTime to, Granularity granularity) {
         // Default: last 7 days (today + 6 previous days)
         LocalDateTime defaultTo = LocalDateTime.now().with(LocalTime.MAX); // 23:59:59.999
         LocalDateTime defaultFrom = defaultTo.minusDays(6).with(LocalTime.MIN); // 00:00:00.000
@@ -61,16 +67,44 @@ public class DashboardService {
         //     throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
         // }
 
-        return dashboardRepository.getDailyComplaint(effectiveFrom, effectiveTo);
+        LocalDate fromDay = effectiveFrom.toLocalDate();
+        LocalDate toDay = effectiveTo.toLocalDate();
+        Granularity g = granularity != null ? granularity : Granularity.DAY;
+
+        return dashboardCache.get(DashboardCache.COMPLAINT_SERIES, "dailyComplaint",
+                () -> complaintSeries(fromDay, toDay, g,
+                        label -> new DailyComplaintDTO(label, 0L, 0L, 0L),
+                        (b, r) -> {
+                            b.setOpen(b.getOpen() + r.getOpen());
+                            b.setClosed(b.getClosed() + r.getClosed());
+                            b.setPending(b.getPending() + r.getPending());
+                        }),
+                fromDay, toDay, g);
     }
 
     public List<MonthlyComplaintDTO> getMonthlyComplaint(Integer year) {
         
         Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyComplaint(effectiveYear);
+        return dashboardCache.get(DashboardCache.COMPLAINT_SERIES, "monthlyComplaint",
+                () -> complaintSeries(yearStart(effectiveYear), yearEnd(effectiveYear), Granularity.MONTH,
+                        label -> new MonthlyComplaintDTO(label, 0L, 0L, 0L),
+                        (b, r) -> {
+                            b.setOpen(b.getOpen() + r.getOpen());
+                            b.setClosed(b.getClosed() + r.getClosed());
+                            b.setPending(b.getPending() + r.getPending());
+                        }),
+                effectiveYear);
     }
 
     public AssigneeDailyStatusDTO getAssigneeDailyStatus(LocalDateTime from, LocalDateTime to) {
+        return getAssigneeStatusMatrix(from, to).toRows();
+    }
+
+    public AssigneeDailyStatusColumnarDTO getAssigneeDailyStatusColumnar(LocalDateTime from, LocalDateTime to) {
+        return getAssigneeStatusMatrix(from, to).toColumnar();
+    }
+
+    private AssigneeStatusMatrix getAssigneeStatusMatrix(LocalDateTime from, LocalDateTime to) {
 
         if (from == null || to == null) {
             to = LocalDateTime.now().with(LocalTime.MAX);
@@ -80,111 +114,103 @@ public class DashboardService {
         LocalDate fromDate = from.toLocalDate();
         LocalDate toDate = to.toLocalDate();
 
-        // Validate: from <= to
-        if (fromDate.isAfter(toDate)) {
-            throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
-        }
+        // Validate: from <= to, and one matrix column per day within the series limit
+        timeBucketer.checkRange(fromDate, toDate, Granularity.DAY);
 
-        List<Object[]> results = dashboardRepository.getAssigneeDailyStatus(fromDate, toDate);
-
-        // Generate all dates in range
-        List<LocalDate> dateList = Stream.iterate(fromDate, d -> d.plusDays(1))
-                .takeWhile(d -> !d.isAfter(toDate))
-                .collect(Collectors.toList());
-
-        int numDays = dateList.size();
-
-        Map<String, AssigneeDailyStatusDetailDTO> assigneeMap = new LinkedHashMap<>();
-
-        for (LocalDate date : dateList) {
-            for (Object[] row : results) {
-                String assignee = (String) row[0];
-                assigneeMap.computeIfAbsent(assignee, k -> {
-                    AssigneeDailyStatusDetailDTO dto = new AssigneeDailyStatusDetailDTO();
-                    dto.setAssignee(k);
-                    List<Integer> zeros = Collections.nCopies(numDays, 0);
-                    dto.setOpen(new ArrayList<>(zeros));
-                    dto.setPending(new ArrayList<>(zeros));
-                    dto.setClosed(new ArrayList<>(zeros));
-                    return dto;
-                });
-            }
-        }
-
-        for (Object[] row : results) {
-            String assignee = (String) row[0];
-            String status = (String) row[1];
-            LocalDate reportDate = ((java.sql.Date) row[2]).toLocalDate();
-            Long count = ((Number) row[3]).longValue();
-
-            if (!dateList.contains(reportDate))
-                continue;
-
-            int dayIndex = dateList.indexOf(reportDate);
-            AssigneeDailyStatusDetailDTO dto = assigneeMap.get(assignee);
-
-            if ("OPEN".equals(status)) {
-                List<Integer> open = dto.getOpen();
-                open.set(dayIndex, Math.toIntExact(count));
-                dto.setOpen(open);
-            } else if ("PENDING".equals(status)) {
-                List<Integer> pending = dto.getPending();
-                pending.set(dayIndex, Math.toIntExact(count));
-                dto.setPending(pending);
-            } else if ("CLOSED".equals(status)) {
-                List<Integer> closed = dto.getClosed();
-                closed.set(dayIndex, Math.toIntExact(count));
-                dto.setClosed(closed);
-            }
-        }
-
-        AssigneeDailyStatusDTO response = new AssigneeDailyStatusDTO();
-        response.setDates(dateList.stream().map(LocalDate::toString).collect(Collectors.toList()));
-        response.setData(new ArrayList<>(assigneeMap.values()));
-
-        return response;
+        // Half-open [fromDate, toDate + 1) so report_date can be range-scanned on its index
+        return dashboardCache.get(DashboardCache.COMPLAINT_SERIES, "assigneeStatusMatrix",
+                () -> AssigneeStatusMatrix.build(dashboardRepository.getAssigneeDailyStatus(
+                        fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay()), fromDate, toDate),
+                fromDate, toDate);
     }
 
     public List<EquipmentComplaintCountDTO> getEquipmentComplaintCount() {
-        return dashboardRepository.getEquipmentComplaintCount();
+        return dashboardCache.get(DashboardCache.COMPLAINT_SERIES, "equipmentComplaintCount",
+                dashboardRepository::getEquipmentComplaintCount);
     }
 
-    public List<DailyBreakdownDTO> getDailyBreakdownTime(LocalDate from, LocalDate to) {
+    public List<DailyBreakdownDTO> getDailyBreakdownTime(LocalDate from, LocalDate to, Granularity granularity) {
         LocalDate defaultTo = LocalDate.now();
         LocalDate defaultFrom = defaultTo.minusDays(6); // last 7 days
 
         LocalDate effectiveFrom = from != null ? from : defaultFrom;
         LocalDate effectiveTo = to != null ? to : defaultTo;
 
-        return dashboardRepository.getDailyBreakdownTime(effectiveFrom, effectiveTo);
+        LocalDate cappedTo = capToToday(effectiveTo);
+        Granularity g = granularity != null ? granularity : Granularity.DAY;
+
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "dailyBreakdownTime",
+                () -> workReportSeries(effectiveFrom, cappedTo, null, g,
+                        label -> new DailyBreakdownDTO(label, 0L, 0L),
+                        (b, r) -> {
+                            b.setBreakdownCount(b.getBreakdownCount() + r.getBreakdownCount());
+                            b.setTotalResolutionTimeMinutes(b.getTotalResolutionTimeMinutes() + r.getBreakdownMinutes());
+                        }),
+                effectiveFrom, cappedTo, g);
     }
 
     public List<MonthlyBreakdownDTO> getMonthlyBreakdownTime(Integer year) {
         Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyBreakdownTime(effectiveYear);
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "monthlyBreakdownTime",
+                () -> workReportSeries(yearStart(effectiveYear), yearEnd(effectiveYear), null, Granularity.MONTH,
+                        label -> {
+                            YearMonth month = YearMonth.parse(label);
+                            return new MonthlyBreakdownDTO(month.getYear(), month.getMonthValue(), 0L, 0L);
+                        },
+                        (b, r) -> {
+                            b.setBreakdownCount(b.getBreakdownCount() + r.getBreakdownCount());
+                            b.setTotalResolutionTimeMinutes(b.getTotalResolutionTimeMinutes() + r.getBreakdownMinutes());
+                        }),
+                effectiveYear);
     }
 
     public List<EquipmentWorkReportDTO> getEquipmentWorkReport() {
-        return dashboardRepository.getEquipmentWorkReport();
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "equipmentWorkReport",
+                dashboardRepository::getEquipmentWorkReport);
     }
 
-    public List<DailyWorkReportDTO> getDailyWorkReport(LocalDate from, LocalDate to) {
+    public List<DailyWorkReportDTO> getDailyWorkReport(LocalDate from, LocalDate to, Granularity granularity) {
         LocalDate defaultTo = LocalDate.now();
         LocalDate defaultFrom = defaultTo.minusDays(6); // last 7 days
 
         LocalDate effectiveFrom = from != null ? from : defaultFrom;
         LocalDate effectiveTo = to != null ? to : defaultTo;
 
-        return dashboardRepository.getDailyWorkReport(effectiveFrom, effectiveTo);
+        LocalDate cappedTo = capToToday(effectiveTo);
+        Granularity g = granularity != null ? granularity : Granularity.DAY;
+
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "dailyWorkReport",
+                () -> workReportSeries(effectiveFrom, cappedTo, null, g,
+                        label -> new DailyWorkReportDTO(label, 0L, 0L, 0L, 0L),
+                        (b, r) -> {
+                            b.setCorrectiveMaintenanceCount(b.getCorrectiveMaintenanceCount() + r.getCorrectiveMaintenanceCount());
+                            b.setPreventiveMaintenanceCount(b.getPreventiveMaintenanceCount() + r.getPreventiveMaintenanceCount());
+                            b.setBreakdownCount(b.getBreakdownCount() + r.getBreakdownCount());
+                            b.setOtherCount(b.getOtherCount() + r.getOtherCount());
+                        }),
+                effectiveFrom, cappedTo, g);
     }
 
     // === Monthly Work Report Count ===
     public List<MonthlyWorkReportDTO> getMonthlyWorkReport(Integer year) {
         Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyWorkReport(effectiveYear);
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "monthlyWorkReport",
+                () -> workReportSeries(yearStart(effectiveYear), yearEnd(effectiveYear), null, Granularity.MONTH,
+                        label -> {
+                            YearMonth month = YearMonth.parse(label);
+                            return new MonthlyWorkReportDTO(month.getYear(), month.getMonthValue(), 0L, 0L, 0L, 0L);
+                        },
+                        (b, r) -> {
+                            b.setCorrectiveMaintenanceCount(b.getCorrectiveMaintenanceCount() + r.getCorrectiveMaintenanceCount());
+                            b.setPreventiveMaintenanceCount(b.getPreventiveMaintenanceCount() + r.getPreventiveMaintenanceCount());
+                            b.setBreakdownCount(b.getBreakdownCount() + r.getBreakdownCount());
+                            b.setOtherCount(b.getOtherCount() + r.getOtherCount());
+                        }),
+                effectiveYear);
     }
 
-    public List<DailyWorkReportEquipmentDTO> getDailyWorkReportEquipment(LocalDate from, LocalDate to, String equipmentCode) {
+    public List<DailyWorkReportEquipmentDTO> getDailyWorkReportEquipment(LocalDate from, LocalDate to, String equipmentCode,
+            Granularity granularity) {
         LocalDate defaultTo = LocalDate.now();
         LocalDate defaultFrom = defaultTo.minusDays(6); // Last 7 days
 
@@ -195,15 +221,81 @@ public class DashboardService {
                 ? equipmentCode.trim()
                 : null;
 
-        return dashboardRepository.getDailyWorkReportEquipment(effectiveFrom, effectiveTo, effectiveEquipmentCode);
+        LocalDate cappedTo = capToToday(effectiveTo);
+        Granularity g = granularity != null ? granularity : Granularity.DAY;
+
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "dailyWorkReportEquipment",
+                () -> workReportSeries(effectiveFrom, cappedTo, effectiveEquipmentCode, g,
+                        label -> new DailyWorkReportEquipmentDTO(label, 0L, 0L, 0L, 0L),
+                        (b, r) -> {
+                            b.setCorrectiveMaintenanceCount(b.getCorrectiveMaintenanceCount() + r.getCorrectiveMaintenanceCount());
+                            b.setPreventiveMaintenanceCount(b.getPreventiveMaintenanceCount() + r.getPreventiveMaintenanceCount());
+                            b.setBreakdownCount(b.getBreakdownCount() + r.getBreakdownCount());
+                            b.setOtherCount(b.getOtherCount() + r.getOtherCount());
+                        }),
+                effectiveFrom, cappedTo, effectiveEquipmentCode, g);
     }
 
     public List<MonthlyWorkReportEquipmentDTO> getMonthlyWorkReportEquipment(Integer year, String equipmentCode) {
         Integer effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
-        return dashboardRepository.getMonthlyWorkReportEquipment(effectiveYear, equipmentCode);
+        return dashboardCache.get(DashboardCache.WORK_REPORT_SERIES, "monthlyWorkReportEquipment",
+                () -> workReportSeries(yearStart(effectiveYear), yearEnd(effectiveYear), equipmentCode, Granularity.MONTH,
+                        label -> {
+                            YearMonth month = YearMonth.parse(label);
+                            return new MonthlyWorkReportEquipmentDTO(month.getYear(), month.getMonthValue(), 0L, 0L, 0L, 0L);
+                        },
+                        (b, r) -> {
+                            b.setCorrectiveMaintenanceCount(b.getCorrectiveMaintenanceCount() + r.getCorrectiveMaintenanceCount());
+                            b.setPreventiveMaintenanceCount(b.getPreventiveMaintenanceCount() + r.getPreventiveMaintenanceCount());
+                            b.setBreakdownCount(b.getBreakdownCount() + r.getBreakdownCount());
+                            b.setOtherCount(b.getOtherCount() + r.getOtherCount());
+                        }),
+                effectiveYear, equipmentCode);
     }
 
      public List<EquipmentCountDTO> getEquipmentCount() {
-        return dashboardRepository.getEquipmentCount();
+        return dashboardCache.get(DashboardCache.MIXED_SERIES, "equipmentCount",
+                dashboardRepository::getEquipmentCount);
+    }
+
+    // ================== SERIES HELPERS ==================
+    private <B> List<B> complaintSeries(LocalDate from, LocalDate to, Granularity granularity,
+            Function<String, B> newBucket, BiConsumer<B, DashboardRepository.ComplaintDayRow> accumulate) {
+        if (from.isAfter(to)) {
+            return Collections.emptyList();
+        }
+        timeBucketer.checkRange(from, to, granularity);
+        // The rollup is per day, so there is no shift to bucket complaints by
+        List<DashboardRepository.ComplaintDayRow> rows = dashboardRepository.getComplaintDays(from, to.plusDays(1));
+        return timeBucketer.fill(rows, from, to, granularity,
+                DashboardRepository.ComplaintDayRow::getDay, null, newBucket, accumulate);
+    }
+
+    private <B> List<B> workReportSeries(LocalDate from, LocalDate to, String equipmentCode, Granularity granularity,
+            Function<String, B> newBucket, BiConsumer<B, DashboardRepository.WorkReportDayRow> accumulate) {
+        if (from.isAfter(to)) {
+            return Collections.emptyList();
+        }
+        timeBucketer.checkRange(from, to, granularity);
+        List<DashboardRepository.WorkReportDayRow> rows = dashboardRepository.getWorkReportDays(from, to.plusDays(1), equipmentCode);
+        return timeBucketer.fill(rows, from, to, granularity,
+                DashboardRepository.WorkReportDayRow::getDay, DashboardRepository.WorkReportDayRow::getShift,
+                newBucket, accumulate);
+    }
+
+    private static LocalDate yearStart(int year) {
+        return LocalDate.of(year, 1, 1);
+    }
+
+    // Last day of the year, or of the current month for the running year (no future months)
+    private static LocalDate yearEnd(int year) {
+        LocalDate endOfYear = LocalDate.of(year, 12, 31);
+        LocalDate endOfThisMonth = YearMonth.now().atEndOfMonth();
+        return endOfYear.isAfter(endOfThisMonth) ? endOfThisMonth : endOfYear;
+    }
+
+    private static LocalDate capToToday(LocalDate to) {
+        LocalDate today = LocalDate.now();
+        return to.isAfter(today) ? today : to;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,272 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.dto.DashboardDeltaDTO;
+import ahqpck.maintenance.report.event.ComplaintChangedEvent;
+import ahqpck.maintenance.report.event.ComplaintsImportedEvent;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportsImportedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes dashboard deltas to {@code /api/dashboards/stream} subscribers.
+ *
+ * Committed complaint and work report changes are folded into a pending delta; every
+ * flush window the non-zero part is sent as one event to all subscribers. Emitters are
+ * async responses, so no thread is held per connection. The last {@code replaySize}
+ * events are kept so a client reconnecting with Last-Event-ID can catch up; if it is
+ * too far behind it gets a {@code resync} event and reloads the charts instead.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<DashboardDeltaDTO> replay = new ArrayDeque<>();
+    private final Object lock = new Object();
+
+    private Pending pending = new Pending();
+    private long sequence = 0;
+
+    @Value("${app.dashboard.stream.replay-size:256}")
+    private int replaySize;
+
+    @Value("${app.dashboard.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    // ================== SUBSCRIBE ==================
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registered with its send lock already held, so a flush that picks it up waits
+        // until the catch-up below has gone out and events arrive in order
+        List<SseEmitter.SseEventBuilder> catchUp;
+        synchronized (lock) {
+            catchUp = lastEventId != null ? catchUpAfter(lastEventId) : List.of();
+            subscriber.sendLock.lock();
+            subscribers.add(subscriber);
+        }
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(3000).comment("connected"));
+            for (SseEmitter.SseEventBuilder event : catchUp) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+        } finally {
+            subscriber.sendLock.unlock();
+        }
+        return emitter;
+    }
+
+    // Called under the lock; only collects the events, the caller sends them
+    private List<SseEmitter.SseEventBuilder> catchUpAfter(long lastEventId) {
+        long oldest = replay.isEmpty() ? sequence + 1 : replay.peekFirst().getId();
+        if (lastEventId > sequence || lastEventId < oldest - 1) {
+            return List.of(SseEmitter.event().id(String.valueOf(sequence)).name("resync").data(sequence));
+        }
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+        for (DashboardDeltaDTO delta : replay) {
+            if (delta.getId() > lastEventId) {
+                events.add(toEvent(delta));
+            }
+        }
+        return events;
+    }
+
+    // ================== COLLECT ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        synchronized (lock) {
+            pending.add(event.before(), -1);
+            pending.add(event.after(), 1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportChanged(WorkReportChangedEvent event) {
+        synchronized (lock) {
+            pending.add(event.before(), -1);
+            pending.add(event.after(), 1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        synchronized (lock) {
+            event.created().forEach(created -> pending.add(created.after(), 1));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportsImported(WorkReportsImportedEvent event) {
+        synchronized (lock) {
+            event.created().forEach(created -> pending.add(created.after(), 1));
+        }
+    }
+
+    // ================== FLUSH ==================
+    // The lock only covers the bookkeeping; sending happens outside it so a slow client
+    // never holds up other subscribers or the commits feeding onComplaintChanged
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.flush-ms:1000}")
+    public void flush() {
+        DashboardDeltaDTO delta;
+        List<Subscriber> targets;
+        synchronized (lock) {
+            Pending current = pending;
+            pending = new Pending();
+            if (current.isEmpty()) {
+                return;
+            }
+
+            delta = new DashboardDeltaDTO(++sequence, LocalDateTime.now(),
+                    current.complaintDaily, current.assigneeDaily, current.workReportDaily);
+
+            replay.addLast(delta);
+            while (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            targets = List.copyOf(subscribers);
+        }
+        broadcast(targets, toEvent(delta));
+    }
+
+    @Scheduled(fixedRateString = "${app.dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        broadcast(List.copyOf(subscribers), SseEmitter.event().comment("ping"));
+    }
+
+    private void broadcast(List<Subscriber> targets, SseEmitter.SseEventBuilder event) {
+        for (Subscriber subscriber : targets) {
+            try {
+                subscriber.send(event);
+            } catch (IOException | IllegalStateException e) {
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception e) {
+        log.debug("Dropping dashboard stream subscriber: {}", e.getMessage());
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(e);
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(DashboardDeltaDTO delta) {
+        return SseEmitter.event().id(String.valueOf(delta.getId())).name("delta").data(delta);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * One connection. Its sends are ordered by its own lock rather than the shared one, so
+     * the heartbeat and a flush never interleave on it and a stalled client never holds the
+     * lock the commit listeners need.
+     */
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final ReentrantLock sendLock = new ReentrantLock();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendLock.lock();
+            try {
+                emitter.send(event);
+            } finally {
+                sendLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Signed increments collected since the last flush. Entries that cancel out are
+     * dropped so an edit that changes nothing visible produces no event.
+     */
+    private static class Pending {
+        final Map<String, Map<String, Map<String, Long>>> complaintDaily = new TreeMap<>();
+        final Map<String, Map<String, Map<String, Long>>> assigneeDaily = new TreeMap<>();
+        final Map<String, Map<String, Map<String, Long>>> workReportDaily = new TreeMap<>();
+
+        void add(ComplaintChangedEvent.Snapshot s, int sign) {
+            if (s == null || s.status() == null) {
+                return;
+            }
+            String status = s.status().name();
+            if (s.reportDate() != null) {
+                String day = s.reportDate().toLocalDate().toString();
+                increment(complaintDaily, day, status, "reported", sign);
+                if (s.assigneeName() != null) {
+                    increment(assigneeDaily, s.assigneeName(), day, status, sign);
+                }
+            }
+            if (s.closeTime() != null) {
+                increment(complaintDaily, s.closeTime().toLocalDate().toString(), status, "closed", sign);
+            }
+        }
+
+        void add(WorkReportChangedEvent.Snapshot s, int sign) {
+            if (s == null || s.reportDate() == null || s.category() == null) {
+                return;
+            }
+            String day = s.reportDate().toString();
+            String category = s.category().name();
+            increment(workReportDaily, day, category, "count", sign);
+            if (s.totalResolutionTimeMinutes() != null) {
+                increment(workReportDaily, day, category, "minutes", (long) sign * s.totalResolutionTimeMinutes());
+            }
+        }
+
+        boolean isEmpty() {
+            return complaintDaily.isEmpty() && assigneeDaily.isEmpty() && workReportDaily.isEmpty();
+        }
+
+        private static void increment(Map<String, Map<String, Map<String, Long>>> target,
+                String k1, String k2, String k3, long delta) {
+            Map<String, Map<String, Long>> level2 = target.computeIfAbsent(k1, k -> new TreeMap<>());
+            Map<String, Long> level3 = level2.computeIfAbsent(k2, k -> new TreeMap<>());
+            long value = level3.getOrDefault(k3, 0L) + delta;
+            if (value == 0) {
+                level3.remove(k3);
+                if (level3.isEmpty()) {
+                    level2.remove(k2);
+                }
+                if (level2.isEmpty()) {
+                    target.remove(k1);
+                }
+            } else {
+                level3.put(k3, value);
+            }
+        }
+    }
+}
@@ -2,29 +2,37 @@ package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.EquipmentDTO;
 import ahqpck.maintenance.report.entity.Equipment;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.specification.EquipmentSpecification;
 import ahqpck.maintenance.report.util.FileUploadUtil;
+import ahqpck.maintenance.report.util.DateColumnParser;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SheetReader;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,17 +43,22 @@ public class EquipmentService {
     private String uploadDir;
 
     private final EquipmentRepository equipmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListingCountService listingCountService;
     private final Validator validator;
 
     private final FileUploadUtil fileUploadUtil;
     private final ImportUtil importUtil;
+    private final BatchImporter batchImporter;
 
     public Page<EquipmentDTO> getAllEquipments(String keyword, int page, int size, String sortBy, boolean asc) {
         Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Specification<Equipment> spec = EquipmentSpecification.search(keyword);
-        Page<Equipment> equipmentPage = equipmentRepository.findAll(spec, pageable);
+        Slice<Equipment> slice = equipmentRepository.findSlice(spec, pageable);
+        Page<Equipment> equipmentPage = listingCountService.toPage(ListingCountService.EQUIPMENTS, ListingCountService.filterKey(keyword), slice,
+                () -> equipmentRepository.count(spec));
 
         return equipmentPage.map(this::toDTO);
     }
@@ -74,6 +87,7 @@ public class EquipmentService {
         }
 
         equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.EQUIPMENTS, equipment.getId()));
     }
 
     public void updateEquipment(EquipmentDTO dto, MultipartFile imageFile, boolean deleteImage) {
@@ -100,6 +114,7 @@ public class EquipmentService {
         }
 
         equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.EQUIPMENTS, equipment.getId()));
     }
 
     public void deleteEquipment(String id) {
@@ -110,61 +125,67 @@ public class EquipmentService {
             fileUploadUtil.deleteFile(uploadDir, equipment.getImage());
         }
         equipmentRepository.delete(equipment);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.EQUIPMENTS, id));
     }
 
     // Add this method to EquipmentService
-    public ImportUtil.ImportResult importEquipmentsFromExcel(List<Map<String, Object>> data) {
-        List<String> errorMessages = new ArrayList<>();
-        int importedCount = 0;
-
-        if (data == null || data.isEmpty()) {
-            throw new IllegalArgumentException("No data to import.");
-        }
-
-        for (int i = 0; i < data.size(); i++) {
-            Map<String, Object> row = data.get(i);
-            try {
-                EquipmentDTO dto = new EquipmentDTO();
-
-                dto.setCode(importUtil.toString(row.get("code")));
-                dto.setName(importUtil.toString(row.get("name")));
-                dto.setModel(importUtil.toString(row.get("model")));
-                dto.setUnit(importUtil.toString(row.get("unit")));
-                dto.setQty(importUtil.toInteger(row.get("qty")));
-                dto.setManufacturer(importUtil.toString(row.get("manufacturer")));
-                dto.setSerialNo(importUtil.toString(row.get("serialNo")));
-                dto.setManufacturedDate(importUtil.toLocalDate(row.get("manufacturedDate")));
-                dto.setCommissionedDate(importUtil.toLocalDate(row.get("commissionedDate")));
-                dto.setCapacity(importUtil.toString(row.get("capacity")));
-                dto.setRemarks(importUtil.toString(row.get("remarks")));
-
-                // Use injected validator
-                Set<ConstraintViolation<EquipmentDTO>> violations = validator.validate(dto);
-                if (!violations.isEmpty()) {
-                    String msg = violations.stream()
-                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                            .collect(Collectors.joining(", "));
-                    throw new IllegalArgumentException("Validation failed: " + msg);
-                }
-
-                if (dto.getCode() == null || dto.getCode().isEmpty()) {
-                    throw new IllegalArgumentException("Code is required");
-                }
+    @Timed(value = "excel.import", histogram = true)
+    public ImportUtil.ImportResult importEquipmentsFromExcel(SheetReader sheet, ImportProgress progress) throws IOException {
+        // One parser per date column, its format fixed by the column's first value in sheet order
+        DateColumnParser manufacturedDates = new DateColumnParser();
+        DateColumnParser commissionedDates = new DateColumnParser();
+        Consumer<Map<String, Object>> detectDateFormats = row -> {
+            manufacturedDates.detectDate(row.get("manufacturedDate"));
+            commissionedDates.detectDate(row.get("commissionedDate"));
+        };
+        BatchImporter.Batch<EquipmentDTO> batch = batchImporter.parse(sheet, progress, detectDateFormats, row -> {
+            EquipmentDTO dto = new EquipmentDTO();
+
+            dto.setCode(importUtil.toString(row.get("code")));
+            dto.setName(importUtil.toString(row.get("name")));
+            dto.setModel(importUtil.toString(row.get("model")));
+            dto.setUnit(importUtil.toString(row.get("unit")));
+            dto.setQty(importUtil.toInteger(row.get("qty")));
+            dto.setManufacturer(importUtil.toString(row.get("manufacturer")));
+            dto.setSerialNo(importUtil.toString(row.get("serialNo")));
+            dto.setManufacturedDate(manufacturedDates.toLocalDate(row.get("manufacturedDate")));
+            dto.setCommissionedDate(commissionedDates.toLocalDate(row.get("commissionedDate")));
+            dto.setCapacity(importUtil.toString(row.get("capacity")));
+            dto.setRemarks(importUtil.toString(row.get("remarks")));
+
+            // Use injected validator
+            Set<ConstraintViolation<EquipmentDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                String msg = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .collect(Collectors.joining(", "));
+                throw new IllegalArgumentException("Validation failed: " + msg);
+            }
 
-                if (equipmentRepository.existsByCodeIgnoreCase(dto.getCode())) {
-                    throw new IllegalArgumentException("Duplicate equipment code: " + dto.getCode());
-                }
+            if (dto.getCode() == null || dto.getCode().isEmpty()) {
+                throw new IllegalArgumentException("Code is required");
+            }
 
-                createEquipment(dto, null);
-                importedCount++;
+            return dto;
+        });
 
-            } catch (Exception e) {
-                String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+        // Codes already in the table, read once for the whole sheet; codes of earlier rows join them
+        Set<String> takenCodes = new HashSet<>(BatchImporter.queryIn(
+                batch.rows().stream().map(r -> r.value().getCode().trim().toLowerCase(Locale.ROOT)).distinct().toList(),
+                equipmentRepository::findTakenCodes));
+        batch.check(dto -> {
+            if (!takenCodes.add(dto.getCode().trim().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Duplicate equipment code: " + dto.getCode());
             }
-        }
-
-        return new ImportUtil.ImportResult(importedCount, errorMessages);
+        });
+
+        // One reference-data event per chunk rather than per row
+        return batchImporter.write(batch, dto -> {
+            Equipment equipment = new Equipment();
+            mapToEntity(equipment, dto);
+            return equipmentRepository.save(equipment);
+        }, chunk -> eventPublisher.publishEvent(
+                new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.EQUIPMENTS, null)));
     }
 
     private void mapToEntity(Equipment equipment, EquipmentDTO dto) {
@@ -0,0 +1,247 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.dto.EquipmentStatDTO;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.EquipmentStat;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.event.ComplaintChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.repository.EquipmentDailyStatRepository;
+import ahqpck.maintenance.report.repository.EquipmentStatRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps {@code equipment_stats} and {@code equipment_daily_stats} in step with complaints and
+ * work reports, and serves the equipment leaderboards from them. Like
+ * {@link ComplaintStatsService}, callers apply changes inside the transaction that writes the
+ * complaint or work report, passing the snapshots they also publish as events.
+ */
+@Service
+@RequiredArgsConstructor
+public class EquipmentStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentStatsService.class);
+
+    private static final Set<Complaint.Status> OPEN_STATUSES = EnumSet.of(
+            Complaint.Status.OPEN, Complaint.Status.IN_PROGRESS, Complaint.Status.PENDING);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final EquipmentStatRepository statRepository;
+    private final EquipmentDailyStatRepository dailyStatRepository;
+
+    /**
+     * What a leaderboard can be ranked by, highest first.
+     */
+    public enum Metric {
+        COMPLAINTS("totalComplaints"),
+        OPEN_COMPLAINTS("openComplaints"),
+        WORK_REPORTS("totalWorkReports"),
+        BREAKDOWN_MINUTES("breakdownMinutes"),
+        LAST_INCIDENT("lastIncidentTime");
+
+        private final String property;
+
+        Metric(String property) {
+            this.property = property;
+        }
+    }
+
+    // ================== MAINTENANCE ==================
+    @Transactional
+    public void complaintChanged(ComplaintChangedEvent.Snapshot before, ComplaintChangedEvent.Snapshot after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Deltas deltas = new Deltas();
+        deltas.addComplaint(before, -1);
+        deltas.addComplaint(after, 1);
+        deltas.apply();
+    }
+
+    @Transactional
+    public void workReportChanged(WorkReportChangedEvent.Snapshot before, WorkReportChangedEvent.Snapshot after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Deltas deltas = new Deltas();
+        deltas.addWorkReport(before, -1);
+        deltas.addWorkReport(after, 1);
+        deltas.apply();
+    }
+
+    /** Adds an imported chunk of complaints with one upsert per equipment and per equipment day. */
+    @Transactional
+    public void complaintsCreated(Collection<ComplaintChangedEvent.Snapshot> created) {
+        Deltas deltas = new Deltas();
+        created.forEach(c -> deltas.addComplaint(c, 1));
+        deltas.apply();
+    }
+
+    /** Adds an imported chunk of work reports with one upsert per equipment and per equipment day. */
+    @Transactional
+    public void workReportsCreated(Collection<WorkReportChangedEvent.Snapshot> created) {
+        Deltas deltas = new Deltas();
+        created.forEach(w -> deltas.addWorkReport(w, 1));
+        deltas.apply();
+    }
+
+    // ================== REBUILD ==================
+    @Transactional
+    public int rebuild() {
+        int removed = statRepository.deleteAllRows();
+        int removedDaily = dailyStatRepository.deleteAllRows();
+        int totals = statRepository.rebuildFromComplaints() + statRepository.rebuildFromWorkReports();
+        int daily = dailyStatRepository.rebuildFromComplaints() + dailyStatRepository.rebuildFromWorkReports();
+        log.info("Rebuilt equipment_stats: removed {} total and {} daily rows, wrote {} total and {} daily rows",
+                removed, removedDaily, totals, daily);
+        return totals;
+    }
+
+    // ================== LEADERBOARDS ==================
+    public List<EquipmentStatDTO> getTop(Metric metric, int limit, LocalDate from, LocalDate to) {
+        return getPage(metric, 0, limit, from, to).getContent();
+    }
+
+    /**
+     * All-time counters when {@code from} and {@code to} are both null, otherwise counters
+     * summed over the days {@code from}..{@code to} (inclusive; a missing bound is open).
+     */
+    @Transactional(readOnly = true)
+    public Page<EquipmentStatDTO> getPage(Metric metric, int page, int size, LocalDate from, LocalDate to) {
+        Metric effectiveMetric = metric != null ? metric : Metric.COMPLAINTS;
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+
+        if (from == null && to == null) {
+            Sort sort = Sort.by(Sort.Order.desc(effectiveMetric.property), Sort.Order.asc("equipmentCode"));
+            return statRepository.findAllWithEquipment(pageRequest.withSort(sort)).map(this::toDto);
+        }
+
+        LocalDate effectiveFrom = from != null ? from : LocalDate.of(1970, 1, 1);
+        LocalDate effectiveTo = to != null ? to : LocalDate.now();
+        if (effectiveFrom.isAfter(effectiveTo)) {
+            throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
+        }
+
+        LocalDate toExclusive = effectiveTo.plusDays(1);
+        List<EquipmentStatDTO> content = dailyStatRepository
+                .findWindow(effectiveFrom, toExclusive, effectiveMetric.name(),
+                        pageRequest.getPageSize(), pageRequest.getOffset())
+                .stream()
+                .map(this::toDto)
+                .toList();
+        return new PageImpl<>(content, pageRequest, dailyStatRepository.countWindow(effectiveFrom, toExclusive));
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    // Counter changes summed per equipment_stats and equipment_daily_stats row, then written
+    // with one upsert per row
+    private final class Deltas {
+        private final Map<String, Delta> totals = new LinkedHashMap<>();
+        private final Map<DayKey, Delta> daily = new LinkedHashMap<>();
+
+        void addComplaint(ComplaintChangedEvent.Snapshot c, int sign) {
+            if (c == null || c.equipmentCode() == null || c.reportDate() == null) {
+                return;
+            }
+            int open = c.status() != null && OPEN_STATUSES.contains(c.status()) ? sign : 0;
+            // Retractions never move the last incident back; the next rebuild does
+            LocalDateTime incident = sign > 0 ? c.reportDate() : null;
+
+            totals.computeIfAbsent(c.equipmentCode(), k -> new Delta()).add(sign, open, 0, 0, 0, incident);
+            daily.computeIfAbsent(new DayKey(c.reportDate().toLocalDate(), c.equipmentCode()), k -> new Delta())
+                    .add(sign, 0, 0, 0, 0, incident);
+        }
+
+        void addWorkReport(WorkReportChangedEvent.Snapshot w, int sign) {
+            if (w == null || w.equipmentCode() == null || w.reportDate() == null) {
+                return;
+            }
+            boolean breakdown = w.category() == WorkReport.Category.BREAKDOWN;
+            long minutes = w.totalResolutionTimeMinutes() != null ? (long) sign * w.totalResolutionTimeMinutes() : 0;
+            long breakdownMinutes = breakdown ? minutes : 0;
+            LocalDateTime incident = breakdown && sign > 0
+                    ? (w.startTime() != null ? w.startTime() : w.reportDate().atStartOfDay())
+                    : null;
+
+            totals.computeIfAbsent(w.equipmentCode(), k -> new Delta())
+                    .add(0, 0, sign, breakdownMinutes, minutes, incident);
+            daily.computeIfAbsent(new DayKey(w.reportDate(), w.equipmentCode()), k -> new Delta())
+                    .add(0, 0, sign, breakdownMinutes, minutes, incident);
+        }
+
+        void apply() {
+            totals.forEach((equipmentCode, d) -> statRepository.increment(equipmentCode, d.complaints,
+                    d.openComplaints, d.workReports, d.breakdownMinutes, d.resolutionMinutes, d.lastIncident));
+            daily.forEach((key, d) -> dailyStatRepository.increment(key.day(), key.equipmentCode(), d.complaints,
+                    d.workReports, d.breakdownMinutes, d.resolutionMinutes, d.lastIncident));
+        }
+    }
+
+    private record DayKey(LocalDate day, String equipmentCode) {
+    }
+
+    private static final class Delta {
+        int complaints;
+        int openComplaints;
+        int workReports;
+        long breakdownMinutes;
+        long resolutionMinutes;
+        LocalDateTime lastIncident;
+
+        void add(int complaints, int openComplaints, int workReports, long breakdownMinutes,
+                long resolutionMinutes, LocalDateTime incident) {
+            this.complaints += complaints;
+            this.openComplaints += openComplaints;
+            this.workReports += workReports;
+            this.breakdownMinutes += breakdownMinutes;
+            this.resolutionMinutes += resolutionMinutes;
+            if (incident != null && (lastIncident == null || incident.isAfter(lastIncident))) {
+                lastIncident = incident;
+            }
+        }
+    }
+
+    private EquipmentStatDTO toDto(EquipmentStat stat) {
+        return new EquipmentStatDTO(
+                stat.getEquipmentCode(),
+                stat.getEquipment().getName(),
+                stat.getTotalComplaints().longValue(),
+                stat.getOpenComplaints().longValue(),
+                stat.getTotalWorkReports().longValue(),
+                stat.getBreakdownMinutes(),
+                stat.getResolutionMinutes(),
+                stat.getLastIncidentTime());
+    }
+
+    private EquipmentStatDTO toDto(EquipmentDailyStatRepository.WindowRow row) {
+        return new EquipmentStatDTO(
+                row.getEquipmentCode(),
+                row.getEquipmentName(),
+                row.getTotalComplaints(),
+                row.getOpenComplaints(),
+                row.getTotalWorkReports(),
+                row.getBreakdownMinutes(),
+                row.getResolutionMinutes(),
+                row.getLastIncidentTime());
+    }
+}
@@ -0,0 +1,149 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.dto.CursorPageDTO;
+import ahqpck.maintenance.report.repository.FieldProjectionRepository;
+import ahqpck.maintenance.report.util.ExportWriter;
+import ahqpck.maintenance.report.util.FieldCatalog;
+import ahqpck.maintenance.report.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sparse-fieldset pages for the JSON API: one narrow tuple query for the selected columns,
+ * plus one batched query per selected computed field, keyset-paged like
+ * {@link ComplaintService#scrollComplaints}. Exports use the same field catalogs.
+ */
+@Service
+@RequiredArgsConstructor
+public class FieldProjectionService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final FieldProjectionRepository fieldProjectionRepository;
+
+    @Value("${app.export.fetch-size:-2147483648}")
+    private int exportFetchSize;
+
+    @Value("${app.export.xlsx.window-rows:200}")
+    private int xlsxWindowRows;
+
+    /**
+     * @param fields    comma separated field names, blank for the catalog defaults
+     * @param sortField a sortable field of the catalog
+     * @param computed  loader per computed field: ids of the page -> value per id
+     */
+    @Transactional(readOnly = true)
+    public <T> CursorPageDTO<Map<String, Object>> page(Class<T> type, Specification<T> spec, FieldCatalog catalog,
+            String fields, String sortField, boolean asc, String cursor, int size,
+            Map<String, Function<List<String>, Map<String, ?>>> computed) {
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<String> selected = catalog.select(fields);
+        String sortPath = catalog.sortPath(sortField);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<String> columns = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (String field : selected) {
+            if (catalog.path(field) != null) {
+                columns.add(field);
+                paths.add(catalog.path(field));
+            }
+        }
+
+        // One row past the page tells whether there is a next one, without a count query
+        List<Object[]> rows = fieldProjectionRepository.findFields(type, spec, paths, sortPath, asc,
+                after != null ? after.sortKey() : null, after != null ? after.id() : null, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+
+        // Trailing two values of every row are the sort key and the id
+        int idIndex = paths.size() + 1;
+        List<String> ids = rows.stream().map(row -> (String) row[idIndex]).toList();
+        Map<String, Map<String, ?>> computedValues = new LinkedHashMap<>();
+        for (String field : selected) {
+            if (catalog.path(field) == null && !ids.isEmpty()) {
+                computedValues.put(field, computed.get(field).apply(ids));
+            }
+        }
+
+        List<Map<String, Object>> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            String id = (String) row[idIndex];
+            for (String field : selected) {
+                int column = columns.indexOf(field);
+                if (column >= 0) {
+                    item.put(field, row[column]);
+                } else {
+                    Map<String, ?> values = computedValues.get(field);
+                    Object value = values.get(id);
+                    item.put(field, value != null ? value : List.of());
+                }
+            }
+            content.add(item);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = KeysetCursor.encode(last[paths.size()], (String) last[idIndex]);
+        }
+        return new CursorPageDTO<>(content, limit, nextCursor, hasNext);
+    }
+
+    /**
+     * Streams every matching row, selected {@code fields} only (all columns when blank), to
+     * {@code out}. Rows go from a forward-only cursor straight to the writer, so memory stays
+     * flat whatever the row count. Validate the request with {@link #checkExport} first: once
+     * the response has started, errors can no longer become a 400.
+     *
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public <T> long export(Class<T> type, Specification<T> spec, FieldCatalog catalog, String fields,
+            String sortField, boolean asc, ExportWriter.Format format, OutputStream out) throws IOException {
+
+        List<String> selected = catalog.selectColumns(fields);
+        String sortPath = catalog.sortPath(sortField);
+        List<String> paths = selected.stream().map(catalog::path).toList();
+
+        long count = 0;
+        try (ExportWriter writer = ExportWriter.open(format, out, xlsxWindowRows);
+                Stream<Object[]> rows = fieldProjectionRepository.streamFields(type, spec, paths, sortPath, asc,
+                        exportFetchSize)) {
+            writer.writeHeader(selected);
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(iterator.next(), paths.size());
+                count++;
+            }
+            writer.finish();
+        }
+        return count;
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown or computed fields or an unsortable field
+     */
+    public static void checkExport(FieldCatalog catalog, String fields, String sortField) {
+        catalog.selectColumns(fields);
+        catalog.sortPath(sortField);
+    }
+}
@@ -0,0 +1,241 @@
+package ahqpck.maintenance.report.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import ahqpck.maintenance.report.dto.ImportJobDTO;
+import ahqpck.maintenance.report.entity.ImportJob;
+import ahqpck.maintenance.report.exception.ImportLimitException;
+import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.repository.ImportJobRepository;
+import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SheetReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs the Excel imports in the background so a large file does not hold the HTTP request
+ * open until the proxy gives up on it.
+ * <p>
+ * Jobs run on a fixed pool of {@code app.import.threads} behind a queue of
+ * {@code app.import.queue-capacity}; when both are full a submit is refused rather than
+ * piling up uploads on disk. A user may have at most {@code app.import.max-jobs-per-user}
+ * jobs queued or running. Progress of a running job is read from its {@link ImportProgress};
+ * the job row is written on submit, start and finish, so the result outlives the process.
+ * Jobs still unfinished when the application starts were cut off by a restart and are
+ * marked failed.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final ImportJobRepository importJobRepository;
+
+    /** Jobs queued or running, by id. */
+    private final Map<String, ActiveJob> active = new ConcurrentHashMap<>();
+
+    @Value("${app.import.threads:2}")
+    private int threads;
+
+    @Value("${app.import.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.import.max-jobs-per-user:2}")
+    private int maxJobsPerUser;
+
+    private ThreadPoolExecutor executor;
+
+    /** One of the import methods of the entity services. */
+    @FunctionalInterface
+    public interface Importer {
+        ImportUtil.ImportResult run(SheetReader sheet, ImportProgress progress) throws IOException;
+    }
+
+    private record ActiveJob(String submittedBy, ImportProgress progress) {
+    }
+
+    @PostConstruct
+    void init() {
+        int poolSize = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("import-", 1).factory());
+
+        int interrupted = importJobRepository.failAll(EnumSet.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING),
+                "Interrupted by an application restart.", LocalDateTime.now());
+        if (interrupted > 0) {
+            log.warn("Marked {} unfinished import job(s) as failed", interrupted);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ================== SUBMIT ==================
+    /**
+     * Queues {@code importer} over {@code sheet}. The job takes ownership of {@code sheet} and
+     * closes it when done, or right away if the job cannot be queued.
+     *
+     * @throws ImportLimitException if the user already has the maximum number of jobs
+     *                              running, or the queue is full
+     */
+    public ImportJobDTO submit(ImportJob.Kind kind, String fileName, String submittedBy, SheetReader sheet,
+            Importer importer) {
+        ImportJob job = new ImportJob();
+        ActiveJob activeJob = new ActiveJob(submittedBy, new ImportProgress());
+        try {
+            // Check and claim the user's slot together, so two uploads at once cannot both pass
+            synchronized (active) {
+                long running = active.values().stream().filter(j -> j.submittedBy().equals(submittedBy)).count();
+                if (running >= maxJobsPerUser) {
+                    throw new ImportLimitException("You already have " + running
+                            + " import(s) in progress. Wait for one to finish before starting another.");
+                }
+                job.setKind(kind);
+                job.setFileName(fileName);
+                job.setSubmittedBy(submittedBy);
+                importJobRepository.save(job);
+                active.put(job.getId(), activeJob);
+            }
+            executor.execute(() -> run(job.getId(), activeJob.progress(), sheet, importer));
+        } catch (RejectedExecutionException e) {
+            active.remove(job.getId());
+            finish(job.getId(), ImportJob.Status.FAILED, activeJob.progress(), null,
+                    "The import queue is full.");
+            closeQuietly(sheet);
+            throw new ImportLimitException("Too many imports are waiting. Please try again later.");
+        } catch (RuntimeException e) {
+            closeQuietly(sheet);
+            throw e;
+        }
+        return toDTO(job, activeJob.progress());
+    }
+
+    // ================== QUERY ==================
+    public ImportJobDTO getJob(String id, String submittedBy) {
+        ImportJob job = findOwn(id, submittedBy);
+        ActiveJob activeJob = active.get(id);
+        return toDTO(job, activeJob != null ? activeJob.progress() : null);
+    }
+
+    public List<ImportJobDTO> getRecentJobs(String submittedBy) {
+        return importJobRepository.findTop20BySubmittedByOrderByCreatedAtDesc(submittedBy).stream()
+                .map(job -> {
+                    ActiveJob activeJob = active.get(job.getId());
+                    return toDTO(job, activeJob != null ? activeJob.progress() : null);
+                })
+                .toList();
+    }
+
+    /** Asks a queued or running job to stop; a no-op for a finished one. */
+    public ImportJobDTO cancel(String id, String submittedBy) {
+        ImportJob job = findOwn(id, submittedBy);
+        ActiveJob activeJob = active.get(id);
+        if (activeJob != null) {
+            activeJob.progress().cancel();
+        }
+        return toDTO(job, activeJob != null ? activeJob.progress() : null);
+    }
+
+    // ================== RUN ==================
+    private void run(String id, ImportProgress progress, SheetReader sheet, Importer importer) {
+        try (sheet) {
+            if (progress.isCancelRequested()) {
+                finish(id, ImportJob.Status.CANCELLED, progress, null, null);
+                return;
+            }
+            importJobRepository.findById(id).ifPresent(job -> {
+                job.setStatus(ImportJob.Status.RUNNING);
+                job.setStartedAt(LocalDateTime.now());
+                importJobRepository.save(job);
+            });
+
+            ImportUtil.ImportResult result = importer.run(sheet, progress);
+            finish(id, progress.isStopped() ? ImportJob.Status.CANCELLED : ImportJob.Status.COMPLETED,
+                    progress, result, null);
+        } catch (Exception e) {
+            if (progress.isStopped()) {
+                finish(id, ImportJob.Status.CANCELLED, progress, null, null);
+            } else {
+                log.warn("Import job {} failed", id, e);
+                finish(id, ImportJob.Status.FAILED, progress, null,
+                        e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        } finally {
+            active.remove(id);
+        }
+    }
+
+    private void finish(String id, ImportJob.Status status, ImportProgress progress, ImportUtil.ImportResult result,
+            String failureReason) {
+        importJobRepository.findById(id).ifPresent(job -> {
+            job.setStatus(status);
+            job.setParsed(progress.getParsed());
+            job.setValidated(progress.getValidated());
+            job.setPersisted(progress.getPersisted());
+            job.setFailed(progress.getFailed());
+            if (result != null && result.hasErrors()) {
+                job.setErrorMessages(String.join("\n", result.getErrorMessages()));
+            }
+            if (failureReason != null) {
+                job.setFailureReason(failureReason.length() > 1000 ? failureReason.substring(0, 1000) : failureReason);
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+        });
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    /** Jobs are only visible to the user who submitted them. */
+    private ImportJob findOwn(String id, String submittedBy) {
+        return importJobRepository.findById(id)
+                .filter(job -> job.getSubmittedBy().equals(submittedBy))
+                .orElseThrow(() -> new NotFoundException("Import job not found with ID: " + id));
+    }
+
+    private static void closeQuietly(SheetReader sheet) {
+        try {
+            sheet.close();
+        } catch (IOException e) {
+            log.debug("Could not remove import upload: {}", e.getMessage());
+        }
+    }
+
+    /** Live counters while the job is active, the stored ones after. */
+    private ImportJobDTO toDTO(ImportJob job, ImportProgress progress) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.getId());
+        dto.setKind(job.getKind());
+        dto.setFileName(job.getFileName());
+        dto.setStatus(job.getStatus());
+        dto.setCancelRequested(progress != null && progress.isCancelRequested());
+        dto.setParsed(progress != null ? progress.getParsed() : job.getParsed());
+        dto.setValidated(progress != null ? progress.getValidated() : job.getValidated());
+        dto.setPersisted(progress != null ? progress.getPersisted() : job.getPersisted());
+        dto.setFailed(progress != null ? progress.getFailed() : job.getFailed());
+        dto.setErrorMessages(job.getErrorMessages() != null ? List.of(job.getErrorMessages().split("\n")) : List.of());
+        dto.setFailureReason(job.getFailureReason());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        return dto;
+    }
+}
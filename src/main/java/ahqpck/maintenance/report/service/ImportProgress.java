@@ -0,0 +1,75 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live counters of one import, written by the {@link BatchImporter} threads and read by
+ * whoever polls the job. A row is counted as parsed once it is read from the sheet, then as
+ * either validated or failed; validated rows become persisted when their chunk commits, or
+ * failed if the chunk's row-by-row replay rejects them.
+ * <p>
+ * {@link #cancel()} only raises a flag: parsing stops at the next row and writing at the
+ * next chunk, so a cancelled import never leaves half a chunk behind.
+ */
+public class ImportProgress {
+
+    private final AtomicInteger parsed = new AtomicInteger();
+    private final AtomicInteger validated = new AtomicInteger();
+    private final AtomicInteger persisted = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private volatile boolean cancelRequested;
+    private volatile boolean stopped;
+
+    public int getParsed() {
+        return parsed.get();
+    }
+
+    public int getValidated() {
+        return validated.get();
+    }
+
+    public int getPersisted() {
+        return persisted.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /** Whether the import gave up on rows because of {@link #cancel()}. */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    // ================== UPDATED BY BatchImporter ==================
+    void rowParsed(boolean valid) {
+        parsed.incrementAndGet();
+        (valid ? validated : failed).incrementAndGet();
+    }
+
+    void rowRejected() {
+        validated.decrementAndGet();
+        failed.incrementAndGet();
+    }
+
+    void rowsPersisted(int count) {
+        persisted.addAndGet(count);
+    }
+
+    void rowFailed() {
+        failed.incrementAndGet();
+    }
+
+    void stop() {
+        stopped = true;
+    }
+}
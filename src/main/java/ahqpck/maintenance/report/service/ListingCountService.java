@@ -0,0 +1,215 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.event.ComplaintChangedEvent;
+import ahqpck.maintenance.report.event.ComplaintsImportedEvent;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportsImportedEvent;
+import ahqpck.maintenance.report.util.EstimatedPage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Totals for the list pages, which are read as slices (see
+ * {@link ahqpck.maintenance.report.repository.SliceableRepository}).
+ * <p>
+ * In {@code DEFERRED} mode the exact {@code COUNT(*)} runs on a virtual thread, at most
+ * {@code maxConcurrent} at a time, and is cached per table and filter. A request waits
+ * {@code waitMillis} for it. If the count is not in by then, the page is returned with an
+ * estimate and the count keeps running for the next request. The estimate is InnoDB's row
+ * count for unfiltered lists, and a lower bound from the slice otherwise. In {@code EXACT}
+ * mode the count runs inline as before.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListingCountService {
+
+    public enum Mode {
+        EXACT, DEFERRED
+    }
+
+    public static final String COMPLAINTS = "complaints";
+    public static final String WORK_REPORTS = "work_reports";
+    public static final String EQUIPMENTS = "equipments";
+    public static final String PARTS = "parts";
+    public static final String AREAS = "areas";
+    public static final String USERS = "users";
+
+    private static final Logger log = LoggerFactory.getLogger(ListingCountService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.listing.count.mode:DEFERRED}")
+    private Mode mode;
+
+    @Value("${app.listing.count.wait-ms:50}")
+    private long waitMillis;
+
+    @Value("${app.listing.count.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.listing.count.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private AsyncCache<String, Long> counts;
+    private Cache<String, Long> tableRows;
+    private Semaphore connectionBudget;
+
+    @PostConstruct
+    void init() {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        counts = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(2_000).executor(executor).buildAsync();
+        tableRows = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(32).build();
+        connectionBudget = new Semaphore(Math.max(1, maxConcurrent), true);
+    }
+
+    /**
+     * @param table       table name, the cache namespace
+     * @param filterKey   everything that changes the count (keyword, dates); blank when unfiltered
+     * @param exactCount  the {@code COUNT(*)} for the same specification as the slice
+     */
+    public <T> Page<T> toPage(String table, String filterKey, Slice<T> slice, Supplier<Long> exactCount) {
+        EstimatedPage<T> fromSlice = EstimatedPage.of(slice, 0, false);
+        if (fromSlice.isTotalExact()) {
+            // Last page: the total is what we have seen
+            return fromSlice;
+        }
+        if (mode == Mode.EXACT) {
+            return EstimatedPage.of(slice, exactCount.get(), true);
+        }
+
+        String key = table + '|' + (filterKey == null ? "" : filterKey);
+        CompletableFuture<Long> count = counts.get(key,
+                (k, ignored) -> CompletableFuture.supplyAsync(() -> countWithinBudget(exactCount), executor));
+        try {
+            return EstimatedPage.of(slice, count.get(waitMillis, TimeUnit.MILLISECONDS), true);
+        } catch (TimeoutException e) {
+            return EstimatedPage.of(slice, estimate(table, filterKey), false);
+        } catch (ExecutionException e) {
+            log.warn("Count for {} failed", key, e.getCause());
+            return EstimatedPage.of(slice, estimate(table, filterKey), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EstimatedPage.of(slice, estimate(table, filterKey), false);
+        }
+    }
+
+    /**
+     * Cache key part for a filter combination; blank (unfiltered) when every part is blank.
+     */
+    public static String filterKey(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        boolean filtered = false;
+        for (Object part : parts) {
+            String value = part == null ? "" : part.toString().trim().toLowerCase();
+            filtered |= !value.isEmpty();
+            key.append(value).append('|');
+        }
+        return filtered ? key.toString() : "";
+    }
+
+    public void invalidate(String table) {
+        String prefix = table + '|';
+        counts.synchronous().asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    // ================== INVALIDATION ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        invalidate(COMPLAINTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportChanged(WorkReportChangedEvent event) {
+        invalidate(WORK_REPORTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        invalidate(COMPLAINTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportsImported(WorkReportsImportedEvent event) {
+        invalidate(WORK_REPORTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        switch (event.kind()) {
+            case USERS -> invalidate(USERS);
+            case AREAS -> invalidate(AREAS);
+            case EQUIPMENTS -> invalidate(EQUIPMENTS);
+            case PARTS -> invalidate(PARTS);
+        }
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private Long countWithinBudget(Supplier<Long> exactCount) {
+        try {
+            connectionBudget.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to count", e);
+        }
+        try {
+            return exactCount.get();
+        } finally {
+            connectionBudget.release();
+        }
+    }
+
+    private long estimate(String table, String filterKey) {
+        if (filterKey != null && !filterKey.isBlank()) {
+            return 0;
+        }
+        Long rows = tableRows.get(table, this::readTableRows);
+        return rows == null ? 0 : rows;
+    }
+
+    // InnoDB's own estimate, refreshed with the table statistics; 0 where there is none
+    private Long readTableRows(String table) {
+        try {
+            Long rows = jdbcTemplate.queryForObject("""
+                    SELECT table_rows FROM information_schema.tables
+                    WHERE table_schema = DATABASE() AND table_name = ?
+                    """, Long.class, table);
+            return rows == null ? 0L : rows;
+        } catch (DataAccessException e) {
+            return 0L;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,6 +2,7 @@ package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.PartDTO;
 import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.PartRepository;
 import ahqpck.maintenance.report.specification.PartSpecification;
@@ -11,9 +12,11 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -29,17 +32,21 @@ public class PartService {
     private String uploadDir;
 
     private final PartRepository partRepository;
+    private final ListingCountService listingCountService;
     private final Validator validator;
 
     private final FileUploadUtil fileUploadUtil;
     private final ImportUtil importUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<PartDTO> getAllParts(String keyword, int page, int size, String sortBy, boolean asc) {
         Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Specification<Part> spec = PartSpecification.search(keyword);
-        Page<Part> partPage = partRepository.findAll(spec, pageable);
+        Slice<Part> slice = partRepository.findSlice(spec, pageable);
+        Page<Part> partPage = listingCountService.toPage(ListingCountService.PARTS, ListingCountService.filterKey(keyword), slice,
+                () -> partRepository.count(spec));
 
         return partPage.map(this::toDTO);
     }
@@ -74,6 +81,7 @@ public class PartService {
         }
 
         partRepository.save(part);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.PARTS, part.getId()));
     }
 
     public void updatePart(PartDTO dto, MultipartFile imageFile, boolean deleteImage) {
@@ -102,6 +110,7 @@ public class PartService {
         }
 
         partRepository.save(part);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.PARTS, part.getId()));
     }
 
     public void deletePart(String id) {
@@ -112,6 +121,7 @@ public class PartService {
             fileUploadUtil.deleteFile(uploadDir, part.getImage());
         }
         partRepository.delete(part);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.PARTS, id));
     }
 
     private void mapToEntity(Part part, PartDTO dto) {
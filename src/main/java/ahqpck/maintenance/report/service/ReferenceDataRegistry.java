@@ -0,0 +1,154 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ahqpck.maintenance.report.dto.AreaRefDTO;
+import ahqpck.maintenance.report.dto.EquipmentRefDTO;
+import ahqpck.maintenance.report.dto.UserRefDTO;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
+import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.EquipmentRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Users, areas and equipment as immutable {@code (id, code or employeeId, name)} snapshots,
+ * for the dropdowns of every form and the code lookups of {@code mapToEntity}. Reads are a
+ * volatile read and a map lookup, no query.
+ * <p>
+ * A {@link ReferenceDataChangedEvent} drops the snapshot of its kind after commit; the next
+ * read rebuilds it with one narrow query and publishes it atomically. Writes in a burst
+ * (an Excel import) therefore cost one rebuild, not one per row.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataRegistry {
+
+    private final UserRepository userRepository;
+    private final AreaRepository areaRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    private final Slot<UserRefDTO> users = new Slot<>();
+    private final Slot<AreaRefDTO> areas = new Slot<>();
+    private final Slot<EquipmentRefDTO> equipments = new Slot<>();
+
+    /** Entries ordered by name, and the same entries by lower-cased code (MySQL compares codes case-insensitively). */
+    private record Snapshot<T>(List<T> byName, Map<String, T> byCode) {
+
+        static <T> Snapshot<T> of(List<T> entries, Function<T, String> code) {
+            Map<String, T> byCode = new LinkedHashMap<>();
+            for (T entry : entries) {
+                byCode.putIfAbsent(key(code.apply(entry)), entry);
+            }
+            return new Snapshot<>(List.copyOf(entries), Map.copyOf(byCode));
+        }
+    }
+
+    /**
+     * The current snapshot of one kind. A rebuild only publishes its snapshot if no
+     * invalidation happened while it was reading, so a write that commits mid-rebuild is
+     * never masked by the older data.
+     */
+    private static final class Slot<T> {
+        private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+        private final AtomicLong generation = new AtomicLong();
+
+        Snapshot<T> get(Supplier<Snapshot<T>> loader) {
+            Snapshot<T> current = snapshot.get();
+            if (current != null) {
+                return current;
+            }
+            // One loader at a time per kind; readers that come in meanwhile wait for its result
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    long before = generation.get();
+                    current = loader.get();
+                    if (generation.get() == before) {
+                        snapshot.compareAndSet(null, current);
+                    }
+                }
+                return current;
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            snapshot.set(null);
+        }
+    }
+
+    // ================== READ ==================
+    public List<UserRefDTO> getUsers() {
+        return userSnapshot().byName();
+    }
+
+    public List<AreaRefDTO> getAreas() {
+        return areaSnapshot().byName();
+    }
+
+    public List<EquipmentRefDTO> getEquipments() {
+        return equipmentSnapshot().byName();
+    }
+
+    public Optional<UserRefDTO> findUser(String employeeId) {
+        return lookup(userSnapshot(), employeeId);
+    }
+
+    public Optional<AreaRefDTO> findArea(String code) {
+        return lookup(areaSnapshot(), code);
+    }
+
+    public Optional<EquipmentRefDTO> findEquipment(String code) {
+        return lookup(equipmentSnapshot(), code);
+    }
+
+    // ================== INVALIDATION ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        switch (event.kind()) {
+            case USERS -> users.invalidate();
+            case AREAS -> areas.invalidate();
+            case EQUIPMENTS -> equipments.invalidate();
+            case PARTS -> {
+                // Parts have no dropdown snapshot; see TypeaheadService
+            }
+        }
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private Snapshot<UserRefDTO> userSnapshot() {
+        return users.get(() -> Snapshot.of(userRepository.findAllRefs(), UserRefDTO::employeeId));
+    }
+
+    private Snapshot<AreaRefDTO> areaSnapshot() {
+        return areas.get(() -> Snapshot.of(areaRepository.findAllRefs(), AreaRefDTO::code));
+    }
+
+    private Snapshot<EquipmentRefDTO> equipmentSnapshot() {
+        return equipments.get(() -> Snapshot.of(equipmentRepository.findAllRefs(), EquipmentRefDTO::code));
+    }
+
+    private static <T> Optional<T> lookup(Snapshot<T> snapshot, String code) {
+        if (code == null || code.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.byCode().get(key(code)));
+    }
+
+    private static String key(String code) {
+        return code == null ? "" : code.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,297 @@
+package ahqpck.maintenance.report.service;
+
+import ahqpck.maintenance.report.dto.ReliabilityDTO;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportsImportedEvent;
+import ahqpck.maintenance.report.repository.WorkReportRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Mean time between failures and mean time to repair, computed from BREAKDOWN work reports.
+ * <p>
+ * Each equipment's breakdowns are kept as a timeline ordered by start time. A failure adds
+ * its repair time (stop - start) to the aggregates; the uptime between two consecutive
+ * failures (next start - previous stop) is a gap. MTTR is repair minutes / failures and
+ * MTBF is gap minutes / gaps. Repairs are counted in the month and area of the breakdown,
+ * gaps in the month and area of the failure that ends them.
+ * <p>
+ * The timelines are loaded once by streaming the breakdowns in equipment/start order and
+ * then kept current from {@link WorkReportChangedEvent}s: inserting or removing a breakdown
+ * only touches its two neighbours, so an update costs O(log n) however long the history.
+ * A reload builds a new index beside the live one and swaps it in; changes that commit while
+ * it streams are applied to both, so neither the old index nor the new one misses them.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReliabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReliabilityService.class);
+
+    private static final Comparator<Breakdown> BY_START = Comparator
+            .comparing(Breakdown::start)
+            .thenComparing(Breakdown::id);
+
+    private final WorkReportRepository workReportRepository;
+
+    private final Object lock = new Object();
+    private final Object reloadLock = new Object();
+
+    // Guarded by lock
+    private Index index = new Index();
+    // Changes seen since the running reload started, replayed onto its index; null when idle
+    private List<WorkReportChangedEvent> pending;
+
+    private record Breakdown(String id, String equipmentCode, String areaCode, LocalDateTime start, LocalDateTime stop) {
+
+        long repairMinutes() {
+            return Math.max(0, Duration.between(start, stop).toMinutes());
+        }
+    }
+
+    // Running sums for one equipment, area or month
+    private static final class Stats {
+        long failures;
+        long repairMinutes;
+        long gaps;
+        long gapMinutes;
+
+        void add(long failures, long repairMinutes, long gaps, long gapMinutes) {
+            this.failures += failures;
+            this.repairMinutes += repairMinutes;
+            this.gaps += gaps;
+            this.gapMinutes += gapMinutes;
+        }
+
+        ReliabilityDTO toDto(String key) {
+            return new ReliabilityDTO(key, failures, repairMinutes,
+                    failures > 0 ? (double) repairMinutes / failures : null,
+                    gaps > 0 ? (double) gapMinutes / gaps : null);
+        }
+    }
+
+    // ================== LOAD ==================
+    /**
+     * Replaces the in-memory timelines with the breakdowns currently in the database. Reads
+     * keep using the previous timelines until the new ones are complete.
+     */
+    @Transactional(readOnly = true)
+    public int reload() {
+        synchronized (reloadLock) {
+            // Buffer from before the snapshot is read: a change it may miss is replayed
+            synchronized (lock) {
+                pending = new ArrayList<>();
+            }
+            Index fresh = new Index();
+            try (Stream<WorkReportRepository.BreakdownInterval> rows = workReportRepository.streamBreakdownIntervals()) {
+                rows.forEach(row -> fresh.add(new Breakdown(row.getId(), row.getEquipmentCode(), row.getAreaCode(),
+                        row.getStartTime(), row.getStopTime())));
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    pending = null;
+                }
+                throw e;
+            }
+
+            synchronized (lock) {
+                // Replaying is idempotent: each event sets its work report's breakdown outright
+                pending.forEach(fresh::apply);
+                log.info("Loaded {} breakdowns over {} equipment for reliability metrics ({} changes replayed)",
+                        fresh.breakdowns.size(), fresh.timelines.size(), pending.size());
+                pending = null;
+                index = fresh;
+                return fresh.breakdowns.size();
+            }
+        }
+    }
+
+    // ================== UPDATE ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportChanged(WorkReportChangedEvent event) {
+        synchronized (lock) {
+            apply(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkReportsImported(WorkReportsImportedEvent event) {
+        synchronized (lock) {
+            event.created().forEach(this::apply);
+        }
+    }
+
+    // ================== READ ==================
+    public List<ReliabilityDTO> getByEquipment() {
+        synchronized (lock) {
+            return toDtos(index.byEquipment);
+        }
+    }
+
+    public List<ReliabilityDTO> getByArea() {
+        synchronized (lock) {
+            return toDtos(index.byArea);
+        }
+    }
+
+    /**
+     * One entry per month of {@code year} up to the current month, for one equipment or,
+     * when {@code equipmentCode} is blank, for all of them.
+     */
+    public List<ReliabilityDTO> getMonthly(Integer year, String equipmentCode) {
+        int effectiveYear = (year != null && year > 1900) ? year : LocalDate.now().getYear();
+        YearMonth last = YearMonth.of(effectiveYear, 12);
+        if (last.isAfter(YearMonth.now())) {
+            last = YearMonth.now();
+        }
+
+        synchronized (lock) {
+            NavigableMap<YearMonth, Stats> months = equipmentCode == null || equipmentCode.isBlank()
+                    ? index.byMonth
+                    : index.byEquipmentMonth.getOrDefault(equipmentCode.trim(), new TreeMap<>());
+
+            List<ReliabilityDTO> result = new ArrayList<>();
+            for (YearMonth month = YearMonth.of(effectiveYear, 1); !month.isAfter(last); month = month.plusMonths(1)) {
+                result.add(months.getOrDefault(month, new Stats()).toDto(month.toString()));
+            }
+            return result;
+        }
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    // Applies the change to the live index and, during a reload, queues it for the new one;
+    // callers hold the lock
+    private void apply(WorkReportChangedEvent event) {
+        index.apply(event);
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    // The breakdown timelines and the aggregates derived from them
+    private static final class Index {
+        private final Map<String, Breakdown> breakdowns = new HashMap<>();
+        private final Map<String, TreeSet<Breakdown>> timelines = new HashMap<>();
+        private final Map<String, Stats> byEquipment = new HashMap<>();
+        private final Map<String, Stats> byArea = new HashMap<>();
+        private final NavigableMap<YearMonth, Stats> byMonth = new TreeMap<>();
+        private final Map<String, NavigableMap<YearMonth, Stats>> byEquipmentMonth = new HashMap<>();
+
+        // Replaces the work report's breakdown, if any, with the one it has now
+        void apply(WorkReportChangedEvent event) {
+            Breakdown previous = breakdowns.get(event.workReportId());
+            if (previous != null) {
+                remove(previous);
+            }
+            Breakdown current = toBreakdown(event.workReportId(), event.after());
+            if (current != null) {
+                add(current);
+            }
+        }
+
+        void add(Breakdown b) {
+            TreeSet<Breakdown> timeline = timelines.computeIfAbsent(b.equipmentCode(), k -> new TreeSet<>(BY_START));
+            Breakdown prev = timeline.lower(b);
+            Breakdown next = timeline.higher(b);
+
+            if (prev != null && next != null) {
+                gap(prev, next, -1);
+            }
+            if (prev != null) {
+                gap(prev, b, 1);
+            }
+            if (next != null) {
+                gap(b, next, 1);
+            }
+            failure(b, 1);
+
+            timeline.add(b);
+            breakdowns.put(b.id(), b);
+        }
+
+        private void remove(Breakdown b) {
+            TreeSet<Breakdown> timeline = timelines.get(b.equipmentCode());
+            timeline.remove(b);
+            breakdowns.remove(b.id());
+
+            Breakdown prev = timeline.lower(b);
+            Breakdown next = timeline.higher(b);
+
+            if (prev != null) {
+                gap(prev, b, -1);
+            }
+            if (next != null) {
+                gap(b, next, -1);
+            }
+            if (prev != null && next != null) {
+                gap(prev, next, 1);
+            }
+            failure(b, -1);
+
+            if (timeline.isEmpty()) {
+                timelines.remove(b.equipmentCode());
+            }
+        }
+
+        private void failure(Breakdown b, int sign) {
+            apply(b, sign, sign * b.repairMinutes(), 0, 0);
+        }
+
+        // Uptime between two consecutive failures, booked against the later one
+        private void gap(Breakdown prev, Breakdown next, int sign) {
+            long minutes = Math.max(0, Duration.between(prev.stop(), next.start()).toMinutes());
+            apply(next, 0, 0, sign, sign * minutes);
+        }
+
+        private void apply(Breakdown b, long failures, long repairMinutes, long gaps, long gapMinutes) {
+            YearMonth month = YearMonth.from(b.start());
+            byEquipment.computeIfAbsent(b.equipmentCode(), k -> new Stats()).add(failures, repairMinutes, gaps, gapMinutes);
+            if (b.areaCode() != null) {
+                byArea.computeIfAbsent(b.areaCode(), k -> new Stats()).add(failures, repairMinutes, gaps, gapMinutes);
+            }
+            byMonth.computeIfAbsent(month, k -> new Stats()).add(failures, repairMinutes, gaps, gapMinutes);
+            byEquipmentMonth.computeIfAbsent(b.equipmentCode(), k -> new TreeMap<>())
+                    .computeIfAbsent(month, k -> new Stats()).add(failures, repairMinutes, gaps, gapMinutes);
+        }
+    }
+
+    private static Breakdown toBreakdown(String id, WorkReportChangedEvent.Snapshot s) {
+        if (s == null || s.category() != WorkReport.Category.BREAKDOWN || s.equipmentCode() == null
+                || s.startTime() == null || s.stopTime() == null) {
+            return null;
+        }
+        return new Breakdown(id, s.equipmentCode(), s.areaCode(), s.startTime(), s.stopTime());
+    }
+
+    private static List<ReliabilityDTO> toDtos(Map<String, Stats> stats) {
+        List<ReliabilityDTO> result = new ArrayList<>(stats.size());
+        stats.forEach((key, s) -> {
+            if (s.failures > 0) {
+                result.add(s.toDto(key));
+            }
+        });
+        result.sort(Comparator.comparing(ReliabilityDTO::getFailures).reversed()
+                .thenComparing(ReliabilityDTO::getKey));
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hit/miss counters of the Hibernate second-level cache regions (entities, natural ids and
+ * query results, see {@code hibernate-cache.conf}). Counters only move while
+ * {@code hibernate.generate_statistics} is on.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // ================== METRICS ==================
+    public Map<String, Map<String, Object>> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String region : new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long requests = stats.getHitCount() + stats.getMissCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", stats.getElementCountInMemory());
+            entry.put("hits", stats.getHitCount());
+            entry.put("misses", stats.getMissCount());
+            entry.put("hitRate", requests == 0 ? 1.0 : (double) stats.getHitCount() / requests);
+            entry.put("puts", stats.getPutCount());
+            result.put(region, entry);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package ahqpck.maintenance.report.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.event.ComplaintChangedEvent;
+import ahqpck.maintenance.report.event.ComplaintsImportedEvent;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportsImportedEvent;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One version stamp per table (the {@link ListingCountService} table names), bumped on every
+ * committed write, so conditional GETs can tell an unchanged response without querying it.
+ * <p>
+ * Stamps start at the boot time, so ETags handed out before a restart never match after it.
+ * They are bumped after completion, i.e. after every after-commit listener (dashboard cache,
+ * reliability timelines) has caught up: a request that sees the new stamp also sees the new
+ * data.
+ */
+@Service
+@RequiredArgsConstructor
+public class TableVersionService {
+
+    private final EntityManager entityManager;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long version(String table) {
+        return versions.computeIfAbsent(table, t -> new AtomicLong(epoch)).get();
+    }
+
+    public void bump(String... tables) {
+        for (String table : tables) {
+            versions.computeIfAbsent(table, t -> new AtomicLong(epoch)).incrementAndGet();
+        }
+    }
+
+    /**
+     * Weak ETag over the stamps of {@code tables} and whatever else selects the response
+     * (URI, query string, user, ...); nulls are allowed.
+     */
+    public String etag(String[] tables, Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (String table : tables) {
+            key.append(table).append(':').append(version(table)).append('|');
+        }
+        for (Object part : parts) {
+            key.append(part).append('|');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * {@code updatedAt} of one entity with such a column, read by primary key; empty if the
+     * row does not exist.
+     */
+    public Optional<LocalDateTime> updatedAt(Class<?> entity, String id) {
+        String name = entityManager.getMetamodel().entity(entity).getName();
+        return entityManager
+                .createQuery("SELECT e.updatedAt FROM " + name + " e WHERE e.id = :id", LocalDateTime.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // ================== INVALIDATION ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        bump(ListingCountService.COMPLAINTS);
+        // Closing or reopening a complaint moves part stock
+        if (isClosed(event.before()) || isClosed(event.after())) {
+            bump(ListingCountService.PARTS);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onWorkReportChanged(WorkReportChangedEvent event) {
+        bump(ListingCountService.WORK_REPORTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        bump(ListingCountService.COMPLAINTS);
+        if (event.created().stream().anyMatch(created -> isClosed(created.after()))) {
+            bump(ListingCountService.PARTS);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onWorkReportsImported(WorkReportsImportedEvent event) {
+        bump(ListingCountService.WORK_REPORTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        switch (event.kind()) {
+            case USERS -> bump(ListingCountService.USERS);
+            case AREAS -> bump(ListingCountService.AREAS);
+            case EQUIPMENTS -> bump(ListingCountService.EQUIPMENTS);
+            case PARTS -> bump(ListingCountService.PARTS);
+        }
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private static boolean isClosed(ComplaintChangedEvent.Snapshot snapshot) {
+        return snapshot != null && snapshot.status() == Complaint.Status.CLOSED;
+    }
+}
@@ -0,0 +1,134 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ahqpck.maintenance.report.dto.AreaRefDTO;
+import ahqpck.maintenance.report.dto.EquipmentRefDTO;
+import ahqpck.maintenance.report.dto.PartRefDTO;
+import ahqpck.maintenance.report.dto.UserRefDTO;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
+import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.EquipmentRepository;
+import ahqpck.maintenance.report.repository.PartRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import ahqpck.maintenance.report.util.PrefixIndex;
+
+/**
+ * Typeahead over users (name, employee ID), areas, equipment and parts (code, name), served
+ * from one in-memory {@link PrefixIndex} per kind.
+ * <p>
+ * An index is built with one narrow query on its first search. After that it is kept up to
+ * date entry by entry: a {@link ReferenceDataChangedEvent} re-reads only the written row
+ * after commit, or drops it from the index when it is gone.
+ */
+@Service
+public class TypeaheadService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final Source<UserRefDTO> users;
+    private final Source<AreaRefDTO> areas;
+    private final Source<EquipmentRefDTO> equipments;
+    private final Source<PartRefDTO> parts;
+
+    public TypeaheadService(UserRepository userRepository, AreaRepository areaRepository,
+            EquipmentRepository equipmentRepository, PartRepository partRepository) {
+        this.users = new Source<>(
+                new PrefixIndex<>(UserRefDTO::id, List.of(UserRefDTO::name, UserRefDTO::employeeId)),
+                userRepository::findAllRefs, userRepository::findRefById);
+        this.areas = new Source<>(
+                new PrefixIndex<>(AreaRefDTO::id, List.of(AreaRefDTO::code, AreaRefDTO::name)),
+                areaRepository::findAllRefs, areaRepository::findRefById);
+        this.equipments = new Source<>(
+                new PrefixIndex<>(EquipmentRefDTO::id, List.of(EquipmentRefDTO::code, EquipmentRefDTO::name)),
+                equipmentRepository::findAllRefs, equipmentRepository::findRefById);
+        this.parts = new Source<>(
+                new PrefixIndex<>(PartRefDTO::id, List.of(PartRefDTO::code, PartRefDTO::name)),
+                partRepository::findAllRefs, partRepository::findRefById);
+    }
+
+    /**
+     * The index of one kind and where its rows come from. Loading and applying a change are
+     * serialized, so a change that commits while the index is being built is applied after
+     * it, never lost.
+     */
+    private static final class Source<T> {
+        private final PrefixIndex<T> index;
+        private final Supplier<List<T>> all;
+        private final Function<String, Optional<T>> one;
+        private volatile boolean loaded;
+
+        Source(PrefixIndex<T> index, Supplier<List<T>> all, Function<String, Optional<T>> one) {
+            this.index = index;
+            this.all = all;
+            this.one = one;
+        }
+
+        List<T> search(String query, int limit) {
+            if (!loaded) {
+                load();
+            }
+            return index.search(query, limit);
+        }
+
+        synchronized void changed(String id) {
+            if (!loaded) {
+                // Not built yet: the first search reads the row anyway
+                return;
+            }
+            if (id == null) {
+                loaded = false;
+                return;
+            }
+            one.apply(id).ifPresentOrElse(index::put, () -> index.remove(id));
+        }
+
+        private synchronized void load() {
+            if (!loaded) {
+                index.replaceAll(all.get());
+                loaded = true;
+            }
+        }
+    }
+
+    // ================== SEARCH ==================
+    public List<UserRefDTO> searchUsers(String query, int limit) {
+        return users.search(query, clamp(limit));
+    }
+
+    public List<AreaRefDTO> searchAreas(String query, int limit) {
+        return areas.search(query, clamp(limit));
+    }
+
+    public List<EquipmentRefDTO> searchEquipments(String query, int limit) {
+        return equipments.search(query, clamp(limit));
+    }
+
+    public List<PartRefDTO> searchParts(String query, int limit) {
+        return parts.search(query, clamp(limit));
+    }
+
+    // ================== INCREMENTAL UPDATE ==================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        switch (event.kind()) {
+            case USERS -> users.changed(event.id());
+            case AREAS -> areas.changed(event.id());
+            case EQUIPMENTS -> equipments.changed(event.id());
+            case PARTS -> parts.changed(event.id());
+        }
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -5,6 +5,7 @@ import ahqpck.maintenance.report.dto.RoleDTO;
 import ahqpck.maintenance.report.entity.Role;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.entity.User.Status;
+import ahqpck.maintenance.report.event.ReferenceDataChangedEvent;
 import ahqpck.maintenance.report.exception.NotFoundException;
 import ahqpck.maintenance.report.repository.RoleRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
@@ -17,9 +18,11 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -44,6 +47,8 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListingCountService listingCountService;
     private final RoleRepository roleRepository;
     private final FileUploadUtil fileUploadUtil;
     private final EmailUtil emailUtil;
@@ -53,7 +58,9 @@ public class UserService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         Specification<User> spec = UserSpecification.search(keyword);
-        Page<User> userPage = userRepository.findAll(spec, pageable);
+        Slice<User> slice = userRepository.findSlice(spec, pageable);
+        Page<User> userPage = listingCountService.toPage(ListingCountService.USERS, ListingCountService.filterKey(keyword), slice,
+                () -> userRepository.count(spec));
 
         return userPage.map(this::toDTO);
     }
@@ -103,6 +110,7 @@ public class UserService {
 
         user.getRoles().addAll(roles);
         userRepository.save(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.USERS, user.getId()));
 
         // try {
         //     emailUtil.sendAccountActivationEmail(user.getEmail(), token);
@@ -169,6 +177,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.USERS, user.getId()));
     }
 
     public void deleteUser(String id) {
@@ -179,6 +188,7 @@ public class UserService {
             fileUploadUtil.deleteFile(uploadDir, user.getImage());
         }
         userRepository.delete(user);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.USERS, id));
     }
 
     private void mapToEntity(User user, UserDTO dto) {
@@ -1,30 +1,48 @@
 package ahqpck.maintenance.report.service;
 
 import ahqpck.maintenance.report.dto.AreaDTO;
+import ahqpck.maintenance.report.dto.AreaRefDTO;
 import ahqpck.maintenance.report.dto.ComplaintDTO;
+import ahqpck.maintenance.report.dto.CursorPageDTO;
 import ahqpck.maintenance.report.dto.EquipmentDTO;
+import ahqpck.maintenance.report.dto.EquipmentRefDTO;
 import ahqpck.maintenance.report.dto.UserDTO;
+import ahqpck.maintenance.report.dto.UserRefDTO;
 import ahqpck.maintenance.report.dto.WorkReportDTO;
+import ahqpck.maintenance.report.dto.WorkReportFilterDTO;
 import ahqpck.maintenance.report.entity.Complaint;
 import ahqpck.maintenance.report.entity.Equipment;
 import ahqpck.maintenance.report.entity.User;
 import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.event.ChangeType;
+import ahqpck.maintenance.report.event.WorkReportChangedEvent;
+import ahqpck.maintenance.report.event.WorkReportsImportedEvent;
 import ahqpck.maintenance.report.repository.WorkReportRepository;
 import ahqpck.maintenance.report.repository.AreaRepository;
 import ahqpck.maintenance.report.repository.EquipmentRepository;
 import ahqpck.maintenance.report.repository.UserRepository;
 import ahqpck.maintenance.report.specification.WorkReportSpecification;
+import ahqpck.maintenance.report.specification.KeywordSearch;
+import ahqpck.maintenance.report.specification.KeywordSearchResolver;
 import ahqpck.maintenance.report.exception.NotFoundException;
+import ahqpck.maintenance.report.util.ExportWriter;
+import ahqpck.maintenance.report.util.FieldCatalog;
+import ahqpck.maintenance.report.util.DateColumnParser;
 import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SheetReader;
+import ahqpck.maintenance.report.util.KeysetCursor;
 import ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -32,15 +50,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,27 +72,154 @@ import java.util.stream.Collectors;
 public class WorkReportService {
 
     private final WorkReportRepository workReportRepository;
+    private final ListingCountService listingCountService;
     private final AreaRepository areaRepository;
     private final EquipmentRepository equipmentRepository;
     private final UserRepository userRepository;
     private final Validator validator;
     private final ImportUtil importUtil;
     private final ZeroPaddedCodeGenerator codeGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EquipmentStatsService equipmentStatsService;
+    private final KeywordSearchResolver keywordSearches;
+    private final FieldProjectionService fieldProjectionService;
+    private final ReferenceDataRegistry referenceData;
+    private final BatchImporter batchImporter;
 
     private static final Logger log = LoggerFactory.getLogger(WorkReportService.class);
 
+    private static final int MAX_SCROLL_SIZE = 200;
+
+    /** Fields of {@code GET /api/work-reports?fields=}; see {@link #findWorkReportFields}. */
+    public static final FieldCatalog API_FIELDS = FieldCatalog.builder()
+            .field("id", "id")
+            .sortableField("code", "code")
+            .sortableField("reportDate", "reportDate")
+            .sortableField("updatedAt", "updatedAt")
+            .sortableField("shift", "shift")
+            .sortableField("status", "status")
+            .sortableField("category", "category")
+            .sortableField("startTime", "startTime")
+            .field("stopTime", "stopTime")
+            .field("totalResolutionTimeMinutes", "totalResolutionTimeMinutes")
+            .field("scope", "scope")
+            .field("workType", "workType")
+            .field("problem", "problem")
+            .field("solution", "solution")
+            .field("remark", "remark")
+            .field("areaCode", "area.code")
+            .field("areaName", "area.name")
+            .field("equipmentCode", "equipment.code")
+            .field("equipmentName", "equipment.name")
+            .field("supervisorEmpId", "supervisor.employeeId")
+            .field("supervisorName", "supervisor.name")
+            .computedField("technicians")
+            .defaults("id", "code", "reportDate", "shift", "status", "category", "equipmentCode",
+                    "equipmentName", "areaCode", "startTime", "stopTime")
+            .build();
+
     // ================== GET ALL WITH PAGINATION & SEARCH ==================
     @Transactional(readOnly = true)
+    @Timed(value = "work.report.list", histogram = true)
     public Page<WorkReportDTO> getAllWorkReports(String keyword, int page, int size, String sortBy, boolean asc) {
-        Sort sort = asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        KeywordSearch<WorkReport> search = keywordSearches.workReports(keyword);
+        Pageable pageable = PageRequest.of(page, size, search.sort(sortBy, asc));
 
-        Specification<WorkReport> spec = WorkReportSpecification.search(keyword);
-        Page<WorkReport> workReportPage = workReportRepository.findAll(spec, pageable);
+        Specification<WorkReport> spec = search.spec();
+        Slice<WorkReport> slice = workReportRepository.findSlice(spec, pageable, WorkReportRepository.LIST_GRAPH);
+        Page<WorkReport> workReportPage = listingCountService.toPage(ListingCountService.WORK_REPORTS, ListingCountService.filterKey(keyword), slice,
+                () -> workReportRepository.count(spec));
 
         return workReportPage.map(this::toDTO);
     }
 
+    // ================== GET ALL WITH CURSOR (KEYSET) ==================
+    /**
+     * Seek pagination by (reportDate, id); see {@link ComplaintService#scrollComplaints}.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "work.report.scroll", histogram = true)
+    public CursorPageDTO<WorkReportDTO> scrollWorkReports(String keyword, String cursor, int size, boolean asc) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Sort.Direction direction = asc ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, "reportDate").and(Sort.by(direction, "id"));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<WorkReport> spec = keywordSearches.workReports(keyword).spec();
+        if (after != null) {
+            spec = spec.and(WorkReportSpecification.after(parseReportDate(after.sortKey()), after.id(), asc));
+        }
+
+        // One row past the page tells whether there is a next one, without a count query
+        List<WorkReport> rows = workReportRepository.findBy(spec, q -> q
+                .sortBy(sort)
+                .limit(limit + 1)
+                .project(WorkReportRepository.LIST_GRAPH)
+                .all());
+        boolean hasNext = rows.size() > limit;
+        List<WorkReport> workReports = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            WorkReport last = workReports.get(workReports.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getReportDate(), last.getId());
+        }
+        return new CursorPageDTO<>(workReports.stream().map(this::toDTO).toList(), limit, nextCursor, hasNext);
+    }
+
+    // ================== GET FIELDS (JSON API) ==================
+    /**
+     * Keyset-paged work reports holding only the requested {@code fields}; see
+     * {@link ComplaintService#findComplaintFields}. {@code technicians} costs one more query
+     * for the whole page.
+     */
+    @Timed(value = "work.report.fields", histogram = true)
+    public CursorPageDTO<Map<String, Object>> findWorkReportFields(WorkReportFilterDTO filter, String fields,
+            String sortBy, boolean asc, String cursor, int size) {
+        return fieldProjectionService.page(WorkReport.class, filterSpec(filter), API_FIELDS, fields, sortBy, asc,
+                cursor, size, Map.of("technicians", this::findTechnicianFields));
+    }
+
+    // ================== EXPORT ==================
+    /** See {@link ComplaintService#exportComplaints}. */
+    @Timed(value = "work.report.export", histogram = true)
+    public long exportWorkReports(WorkReportFilterDTO filter, String fields, String sortBy, boolean asc,
+            ExportWriter.Format format, OutputStream out) throws IOException {
+        return fieldProjectionService.export(WorkReport.class, filterSpec(filter), API_FIELDS, fields, sortBy, asc,
+                format, out);
+    }
+
+    private Specification<WorkReport> filterSpec(WorkReportFilterDTO filter) {
+        Specification<WorkReport> spec = keywordSearches.workReports(filter.getKeyword()).spec()
+                .and(WorkReportSpecification.withReportDateRange(filter.getReportDateFrom(), filter.getReportDateTo()))
+                .and(WorkReportSpecification.hasStatus(filter.getStatus()))
+                .and(WorkReportSpecification.hasCategory(filter.getCategory()))
+                .and(WorkReportSpecification.hasShift(filter.getShift()));
+        if (filter.getEquipmentCode() != null && !filter.getEquipmentCode().isBlank()) {
+            spec = spec.and(WorkReportSpecification.hasEquipmentCode(filter.getEquipmentCode().trim()));
+        }
+        if (filter.getAreaCode() != null && !filter.getAreaCode().isBlank()) {
+            spec = spec.and(WorkReportSpecification.hasAreaCode(filter.getAreaCode().trim()));
+        }
+        if (filter.getEmployee() != null && !filter.getEmployee().isBlank()) {
+            spec = spec.and(WorkReportSpecification.involvesEmployee(filter.getEmployee().trim()));
+        }
+        return spec;
+    }
+
+    // technicians of the JSON API: employee ID and name, grouped by work report ID
+    private Map<String, List<Map<String, Object>>> findTechnicianFields(List<String> workReportIds) {
+        return workReportRepository.findTechniciansByWorkReportIds(workReportIds)
+                .stream()
+                .collect(Collectors.groupingBy(WorkReportRepository.TechnicianRow::getWorkReportId,
+                        Collectors.mapping(row -> {
+                            Map<String, Object> technician = new LinkedHashMap<>();
+                            technician.put("employeeId", row.getEmployeeId());
+                            technician.put("name", row.getName());
+                            return technician;
+                        }, Collectors.toList())));
+    }
+
     // ================== GET BY ID ==================
     @Transactional(readOnly = true)
     public WorkReportDTO getWorkReportById(String id) {
@@ -90,27 +241,7 @@ public class WorkReportService {
             }
 
             validateNoDuplicateBreakdown(dto);
-            mapToEntity(workReport, dto);
-            System.out.println("entity success" + dto.getTechnicianEmpIds());
-
-            Set<User> technicians = new HashSet<>();
-            if (dto.getTechnicianEmpIds() != null && !dto.getTechnicianEmpIds().isEmpty()) {
-                for (String empId : dto.getTechnicianEmpIds()) {
-                    if (empId == null || empId.trim().isEmpty())
-                        continue;
-                    String trimmedEmpId = empId.trim();
-                    User technician = userRepository.findByEmployeeId(trimmedEmpId)
-                            .orElseThrow(() -> new IllegalArgumentException(
-                                    "Technician not found with employee ID: " + trimmedEmpId));
-                    technicians.add(technician);
-                    System.out.println("techIds success");
-                }
-            } else {
-                throw new IllegalArgumentException("At least one technician must be assigned.");
-            }
-
-            workReport.setTechnicians(technicians);
-            workReportRepository.save(workReport);
+            saveNew(workReport, dto);
 
         } catch (Exception e) {
             e.printStackTrace(); // 👈 This will show the real error
@@ -118,202 +249,319 @@ public class WorkReportService {
         }
     }
 
-    // Add this method to EquipmentService
-    public ImportUtil.ImportResult importWorkReportsFromExcel(List<Map<String, Object>> data) {
-        List<String> errorMessages = new ArrayList<>();
-        int importedCount = 0;
-        System.out.println("data imported " + data);
+    private void saveNew(WorkReport workReport, WorkReportDTO dto) {
+        saveEntity(workReport, dto);
+        WorkReportChangedEvent.Snapshot after = WorkReportChangedEvent.Snapshot.of(workReport);
+        equipmentStatsService.workReportChanged(null, after);
+        eventPublisher.publishEvent(new WorkReportChangedEvent(workReport.getId(), ChangeType.CREATED,
+                null, after));
+    }
 
-        if (data == null || data.isEmpty()) {
-            throw new IllegalArgumentException("No data to import.");
+    private WorkReport saveEntity(WorkReport workReport, WorkReportDTO dto) {
+        mapToEntity(workReport, dto);
+
+        Set<User> technicians = new HashSet<>();
+        if (dto.getTechnicianEmpIds() != null && !dto.getTechnicianEmpIds().isEmpty()) {
+            for (String empId : dto.getTechnicianEmpIds()) {
+                if (empId == null || empId.trim().isEmpty())
+                    continue;
+                String trimmedEmpId = empId.trim();
+                UserRefDTO technician = referenceData.findUser(trimmedEmpId)
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "Technician not found with employee ID: " + trimmedEmpId));
+                // The join table holds user IDs, so the reference is never loaded
+                technicians.add(userRepository.getReferenceById(technician.id()));
+            }
+        } else {
+            throw new IllegalArgumentException("At least one technician must be assigned.");
         }
 
-        for (int i = 0; i < data.size(); i++) {
-            Map<String, Object> row = data.get(i);
-            try {
-                WorkReportDTO dto = new WorkReportDTO();
+        workReport.setTechnicians(technicians);
+        return workReportRepository.save(workReport);
+    }
 
-                // ✅ REPORT DATE (required)
-                Object reportDateObj = row.get("reportDate");
-                System.out.println("report date before = " + reportDateObj);
-                if (reportDateObj == null) {
-                    throw new IllegalArgumentException("Report Date is required");
-                }
-                LocalDate reportDate = importUtil.toLocalDate(reportDateObj);
-                if (reportDate == null) {
-                    throw new IllegalArgumentException("Invalid Report Date format");
-                }
+    // Add this method to EquipmentService
+    @Timed(value = "excel.import", histogram = true)
+    public ImportUtil.ImportResult importWorkReportsFromExcel(SheetReader sheet, ImportProgress progress) throws IOException {
+        // One parser per date column, its format fixed by the column's first value in sheet order
+        DateColumnParser reportDates = new DateColumnParser();
+        DateColumnParser startTimes = new DateColumnParser();
+        DateColumnParser stopTimes = new DateColumnParser();
+        Consumer<Map<String, Object>> detectDateFormats = row -> {
+            reportDates.detectDate(row.get("reportDate"));
+            startTimes.detectDateTime(row.get("startTime"));
+            stopTimes.detectDateTime(row.get("stopTime"));
+        };
+
+        // Rows are parsed and checked against the reference data first, then written in chunks
+        BatchImporter.Batch<WorkReportDTO> batch = batchImporter.parse(sheet, progress, detectDateFormats, row -> {
+            WorkReportDTO dto = new WorkReportDTO();
+
+            // ✅ REPORT DATE (required)
+            Object reportDateObj = row.get("reportDate");
+            if (reportDateObj == null) {
+                throw new IllegalArgumentException("Report Date is required");
+            }
+            LocalDate reportDate = reportDates.toLocalDate(reportDateObj);
+            if (reportDate == null) {
+                throw new IllegalArgumentException("Invalid Report Date format");
+            }
 
-                System.out.println("report date after = " + reportDate);
-                dto.setReportDate(reportDate);
+            dto.setReportDate(reportDate);
 
-                // ✅ SHIFT (required)
-                String shiftStr = importUtil.toString(row.get("shift"));
-                if (shiftStr == null || shiftStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Shift is required");
-                }
-                try {
-                    dto.setShift(WorkReport.Shift.valueOf(shiftStr.trim().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException("Invalid Shift value: '" + shiftStr + "'");
-                }
+            // ✅ SHIFT (required)
+            String shiftStr = importUtil.toString(row.get("shift"));
+            if (shiftStr == null || shiftStr.trim().isEmpty()) {
+                throw new IllegalArgumentException("Shift is required");
+            }
+            try {
+                dto.setShift(WorkReport.Shift.valueOf(shiftStr.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid Shift value: '" + shiftStr + "'");
+            }
 
-                // 🟡 AREA (optional)
-                String areaCode = importUtil.toString(row.get("area"));
-                if (areaCode != null && !areaCode.trim().isEmpty()) {
-                    AreaDTO areaDTO = new AreaDTO();
-                    areaDTO.setCode(areaCode.trim());
-                    dto.setArea(areaDTO);
-                }
+            // 🟡 AREA (optional)
+            String areaCode = importUtil.toString(row.get("area"));
+            if (areaCode != null && !areaCode.trim().isEmpty()) {
+                AreaDTO areaDTO = new AreaDTO();
+                areaDTO.setCode(areaCode.trim());
+                dto.setArea(areaDTO);
+            }
 
-                // ✅ EQUIPMENT (required)
-                String equipmentCode = importUtil.toString(row.get("equipment"));
-                if (equipmentCode == null || equipmentCode.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Equipment is required");
-                }
-                EquipmentDTO equipmentDTO = new EquipmentDTO();
-                equipmentDTO.setCode(equipmentCode.trim());
-                dto.setEquipment(equipmentDTO);
-
-                // ✅ CATEGORY (required)
-                String categoryStr = importUtil.toString(row.get("category"));
-                if (categoryStr == null || categoryStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Category is required");
-                }
-                try {
-                    dto.setCategory(WorkReport.Category.valueOf(categoryStr.trim().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException("Invalid Category value: '" + categoryStr + "'");
-                }
+            // ✅ EQUIPMENT (required)
+            String equipmentCode = importUtil.toString(row.get("equipment"));
+            if (equipmentCode == null || equipmentCode.trim().isEmpty()) {
+                throw new IllegalArgumentException("Equipment is required");
+            }
+            EquipmentDTO equipmentDTO = new EquipmentDTO();
+            equipmentDTO.setCode(equipmentCode.trim());
+            dto.setEquipment(equipmentDTO);
+
+            // ✅ CATEGORY (required)
+            String categoryStr = importUtil.toString(row.get("category"));
+            if (categoryStr == null || categoryStr.trim().isEmpty()) {
+                throw new IllegalArgumentException("Category is required");
+            }
+            try {
+                dto.setCategory(WorkReport.Category.valueOf(categoryStr.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid Category value: '" + categoryStr + "'");
+            }
 
-                // ✅ STATUS (required)
-                String statusStr = importUtil.toString(row.get("status"));
-                if (statusStr == null || statusStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Status is required");
-                }
-                try {
-                    dto.setStatus(WorkReport.Status.valueOf(statusStr.trim().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException("Invalid Status value: '" + statusStr + "'");
-                }
+            // ✅ STATUS (required)
+            String statusStr = importUtil.toString(row.get("status"));
+            if (statusStr == null || statusStr.trim().isEmpty()) {
+                throw new IllegalArgumentException("Status is required");
+            }
+            try {
+                dto.setStatus(WorkReport.Status.valueOf(statusStr.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid Status value: '" + statusStr + "'");
+            }
 
-                // ✅ SCOPE (required)
-                String scopeStr = importUtil.toString(row.get("scope"));
-                if (scopeStr == null || scopeStr.trim().isEmpty()) {
-                    throw new IllegalArgumentException("Scope is required");
-                }
-                try {
-                    dto.setScope(WorkReport.Scope.valueOf(scopeStr.trim().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException("Invalid Scope value: '" + scopeStr + "'");
-                }
+            // ✅ SCOPE (required)
+            String scopeStr = importUtil.toString(row.get("scope"));
+            if (scopeStr == null || scopeStr.trim().isEmpty()) {
+                throw new IllegalArgumentException("Scope is required");
+            }
+            try {
+                dto.setScope(WorkReport.Scope.valueOf(scopeStr.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid Scope value: '" + scopeStr + "'");
+            }
 
-                // ✅ TECHNICIAN (required)
-                // String technicianEmpId = importUtil.toString(row.get("technician"));
-                // if (technicianEmpId == null || technicianEmpId.trim().isEmpty()) {
-                // throw new IllegalArgumentException("Technician is required");
-                // }
-                // Replace single technician
-                String technicianEmpIds = importUtil.toString(row.get("technician"));
-                if (technicianEmpIds == null || technicianEmpIds.trim().isEmpty()) {
-                    throw new IllegalArgumentException("At least one technician is required");
-                }
+            // ✅ TECHNICIAN (required)
+            // String technicianEmpId = importUtil.toString(row.get("technician"));
+            // if (technicianEmpId == null || technicianEmpId.trim().isEmpty()) {
+            // throw new IllegalArgumentException("Technician is required");
+            // }
+            // Replace single technician
+            String technicianEmpIds = importUtil.toString(row.get("technician"));
+            if (technicianEmpIds == null || technicianEmpIds.trim().isEmpty()) {
+                throw new IllegalArgumentException("At least one technician is required");
+            }
 
-                // Split by comma and trim each ID (support multiple: "0905, 1221")
-                Set<UserDTO> technicianDTOs = new HashSet<>();
-                List<String> invalidTechnicians = new ArrayList<>();
-
-                String[] empIdArray = technicianEmpIds.split(",");
-                for (String empId : empIdArray) {
-                    String trimmedEmpId = empId.trim(); // ✅ Trim whitespace
-                    if (trimmedEmpId.isEmpty())
-                        continue; // Skip empty parts
-
-                    Optional<User> userOpt = userRepository.findByEmployeeId(trimmedEmpId);
-                    if (userOpt.isPresent()) {
-                        User user = userOpt.get();
-                        UserDTO dtoTechnician = new UserDTO();
-                        dtoTechnician.setId(user.getId());
-                        dtoTechnician.setName(user.getName());
-                        dtoTechnician.setEmployeeId(user.getEmployeeId());
-                        dtoTechnician.setEmail(user.getEmail());
-                        technicianDTOs.add(dtoTechnician);
-                    } else {
-                        invalidTechnicians.add(trimmedEmpId); // Report trimmed ID
-                    }
+            // Split by comma and trim each ID (support multiple: "0905, 1221")
+            Set<UserDTO> technicianDTOs = new HashSet<>();
+            List<String> invalidTechnicians = new ArrayList<>();
+
+            String[] empIdArray = technicianEmpIds.split(",");
+            for (String empId : empIdArray) {
+                String trimmedEmpId = empId.trim(); // ✅ Trim whitespace
+                if (trimmedEmpId.isEmpty())
+                    continue; // Skip empty parts
+
+                Optional<UserRefDTO> userOpt = referenceData.findUser(trimmedEmpId);
+                if (userOpt.isPresent()) {
+                    UserRefDTO user = userOpt.get();
+                    UserDTO dtoTechnician = new UserDTO();
+                    dtoTechnician.setId(user.id());
+                    dtoTechnician.setName(user.name());
+                    dtoTechnician.setEmployeeId(user.employeeId());
+                    technicianDTOs.add(dtoTechnician);
+                } else {
+                    invalidTechnicians.add(trimmedEmpId); // Report trimmed ID
                 }
+            }
 
-                if (!invalidTechnicians.isEmpty()) {
-                    throw new IllegalArgumentException(
-                            "Technician(s) not found: " + String.join(", ", invalidTechnicians));
-                }
+            if (!invalidTechnicians.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Technician(s) not found: " + String.join(", ", invalidTechnicians));
+            }
 
-                dto.setTechnicians(technicianDTOs);
+            dto.setTechnicians(technicianDTOs);
 
-                Set<String> empIds = technicianDTOs.stream()
-                        .map(UserDTO::getEmployeeId)
-                        .filter(id -> id != null && !id.trim().isEmpty())
-                        .collect(Collectors.toSet());
+            Set<String> empIds = technicianDTOs.stream()
+                    .map(UserDTO::getEmployeeId)
+                    .filter(id -> id != null && !id.trim().isEmpty())
+                    .collect(Collectors.toSet());
 
-                dto.setTechnicianEmpIds(empIds);
+            dto.setTechnicianEmpIds(empIds);
 
-                // 🟡 SUPERVISOR (optional)
-                String supervisorEmpId = importUtil.toString(row.get("supervisor"));
-                if (supervisorEmpId != null && !supervisorEmpId.trim().isEmpty()) {
-                    UserDTO supervisorDTO = new UserDTO();
-                    supervisorDTO.setEmployeeId(supervisorEmpId.trim());
-                    dto.setSupervisor(supervisorDTO);
-                }
+            // 🟡 SUPERVISOR (optional)
+            String supervisorEmpId = importUtil.toString(row.get("supervisor"));
+            if (supervisorEmpId != null && !supervisorEmpId.trim().isEmpty()) {
+                UserDTO supervisorDTO = new UserDTO();
+                supervisorDTO.setEmployeeId(supervisorEmpId.trim());
+                dto.setSupervisor(supervisorDTO);
+            }
 
-                // 🟡 PROBLEM (optional)
-                dto.setProblem(importUtil.toString(row.get("problem")));
+            // 🟡 PROBLEM (optional)
+            dto.setProblem(importUtil.toString(row.get("problem")));
 
-                // 🟡 SOLUTION (optional)
-                dto.setSolution(importUtil.toString(row.get("solution")));
+            // 🟡 SOLUTION (optional)
+            dto.setSolution(importUtil.toString(row.get("solution")));
 
-                // 🟡 START TIME (optional, but recommended)
-                dto.setStartTime(importUtil.toLocalDateTime(row.get("startTime")));
+            // 🟡 START TIME (optional, but recommended)
+            dto.setStartTime(startTimes.toLocalDateTime(row.get("startTime")));
 
-                // 🟡 STOP TIME (optional, but recommended)
-                dto.setStopTime(importUtil.toLocalDateTime(row.get("stopTime")));
+            // 🟡 STOP TIME (optional, but recommended)
+            dto.setStopTime(stopTimes.toLocalDateTime(row.get("stopTime")));
 
-                // 🟡 TOTAL RESOLUTION TIME (optional, can be calculated)
-                dto.setTotalResolutionTimeMinutes(importUtil.toDurationInMinutes(row.get("totalTime")));
+            // 🟡 TOTAL RESOLUTION TIME (optional, can be calculated)
+            dto.setTotalResolutionTimeMinutes(importUtil.toDurationInMinutes(row.get("totalTime")));
 
-                // 🟡 WORK TYPE (optional)
-                dto.setWorkType(importUtil.toString(row.get("work type")));
+            // 🟡 WORK TYPE (optional)
+            dto.setWorkType(importUtil.toString(row.get("work type")));
 
-                // 🟡 REMARK (optional)
-                dto.setRemark(importUtil.toString(row.get("remark")));
+            // 🟡 REMARK (optional)
+            dto.setRemark(importUtil.toString(row.get("remark")));
 
-                // Final validation (exclude optional fields like area, supervisor, etc. if
-                // needed)
-                Set<ConstraintViolation<WorkReportDTO>> violations = validator.validate(dto);
-                if (!violations.isEmpty()) {
-                    List<String> filteredMessages = violations.stream()
-                            .filter(v -> {
-                                String field = v.getPropertyPath().toString();
-                                return !List.of("area", "supervisor", "problem", "solution", "workType", "remark")
-                                        .contains(field);
-                            })
-                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                            .collect(Collectors.toList());
+            // Final validation (exclude optional fields like area, supervisor, etc. if
+            // needed)
+            Set<ConstraintViolation<WorkReportDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                List<String> filteredMessages = violations.stream()
+                        .filter(v -> {
+                            String field = v.getPropertyPath().toString();
+                            return !List.of("area", "supervisor", "problem", "solution", "workType", "remark")
+                                    .contains(field);
+                        })
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .collect(Collectors.toList());
 
-                    if (!filteredMessages.isEmpty()) {
-                        throw new IllegalArgumentException("Validation failed: " + String.join(", ", filteredMessages));
-                    }
+                if (!filteredMessages.isEmpty()) {
+                    throw new IllegalArgumentException("Validation failed: " + String.join(", ", filteredMessages));
                 }
+            }
 
-                createWorkReport(dto);
-                importedCount++;
-
-            } catch (Exception e) {
-                String message = e.getMessage() != null ? e.getMessage() : "Unknown error";
-                errorMessages.add("Row " + (i + 1) + ": " + message);
+            // Unknown codes fail the row here rather than its chunk at write time
+            if (dto.getArea() != null) {
+                requireArea(dto.getArea().getCode());
+            }
+            // Keep the stored spelling of the code, the overlap check below keys on it
+            dto.getEquipment().setCode(requireEquipment(dto.getEquipment().getCode()).code());
+            if (dto.getSupervisor() != null) {
+                requireUser("Supervisor", dto.getSupervisor().getEmployeeId());
             }
+
+            return dto;
+        });
+
+        rejectOverlappingBreakdowns(batch);
+
+        // One reservation for the codes of the whole sheet; no other create can take them meanwhile
+        List<String> codes = codeGenerator.generate(WorkReport.class, "code", "WR", batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.rows().get(i).value().setCode(codes.get(i));
         }
 
-        return new ImportUtil.ImportResult(importedCount, errorMessages);
+        return batchImporter.write(batch, dto -> {
+            WorkReport workReport = new WorkReport();
+            workReport.setCode(dto.getCode());
+            return saveEntity(workReport, dto);
+        }, this::recordImported);
+    }
+
+    // Rollups and listeners get a chunk at once: one upsert per stats row, one event per chunk
+    private void recordImported(List<WorkReport> workReports) {
+        List<WorkReportChangedEvent> created = workReports.stream()
+                .map(w -> new WorkReportChangedEvent(w.getId(), ChangeType.CREATED, null,
+                        WorkReportChangedEvent.Snapshot.of(w)))
+                .toList();
+        equipmentStatsService.workReportsCreated(created.stream().map(WorkReportChangedEvent::after).toList());
+        eventPublisher.publishEvent(new WorkReportsImportedEvent(created));
+    }
+
+    /**
+     * The import counterpart of {@link #validateNoDuplicateBreakdown}: the breakdowns already
+     * stored for the sheet's equipment and time span are read in one query, and each row is
+     * checked against them and against the breakdown rows above it.
+     */
+    private void rejectOverlappingBreakdowns(BatchImporter.Batch<WorkReportDTO> batch) {
+        List<WorkReportDTO> breakdowns = batch.rows().stream()
+                .map(BatchImporter.Row::value)
+                .filter(WorkReportService::isTimedBreakdown)
+                .toList();
+        if (breakdowns.isEmpty()) {
+            return;
+        }
+
+        Set<String> equipmentCodes = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (WorkReportDTO dto : breakdowns) {
+            equipmentCodes.add(dto.getEquipment().getCode());
+            from = from == null || dto.getStartTime().isBefore(from) ? dto.getStartTime() : from;
+            to = to == null || dto.getStopTime().isAfter(to) ? dto.getStopTime() : to;
+        }
+        LocalDateTime windowFrom = from;
+        LocalDateTime windowTo = to;
+
+        Map<String, List<LocalDateTime[]>> taken = new HashMap<>();
+        for (WorkReportRepository.BreakdownInterval interval : BatchImporter.queryIn(equipmentCodes,
+                codes -> workReportRepository.findBreakdownIntervals(codes, windowFrom, windowTo))) {
+            taken.computeIfAbsent(interval.getEquipmentCode().toLowerCase(Locale.ROOT), code -> new ArrayList<>())
+                    .add(new LocalDateTime[] { interval.getStartTime(), interval.getStopTime() });
+        }
+
+        batch.check(dto -> {
+            if (!isTimedBreakdown(dto)) {
+                return;
+            }
+            String equipmentCode = dto.getEquipment().getCode();
+            LocalDateTime start = dto.getStartTime();
+            LocalDateTime stop = dto.getStopTime();
+            if (start.isAfter(stop)) {
+                throw new IllegalArgumentException("Start time cannot be after stop time.");
+            }
+
+            List<LocalDateTime[]> intervals = taken.computeIfAbsent(equipmentCode.toLowerCase(Locale.ROOT),
+                    code -> new ArrayList<>());
+            for (LocalDateTime[] interval : intervals) {
+                if (interval[0].isBefore(stop) && interval[1].isAfter(start)) {
+                    throw new IllegalArgumentException(
+                            "A breakdown report already exists for equipment '" + equipmentCode +
+                                    "' during this time period. Overlapping breakdowns are not allowed.");
+                }
+            }
+            intervals.add(new LocalDateTime[] { start, stop });
+        });
+    }
+
+    private static boolean isTimedBreakdown(WorkReportDTO dto) {
+        return dto.getCategory() == WorkReport.Category.BREAKDOWN
+                && dto.getStartTime() != null && dto.getStopTime() != null;
     }
 
     // ================== UPDATE ==================
@@ -322,6 +570,8 @@ public class WorkReportService {
         WorkReport workReport = workReportRepository.findById(dto.getId())
                 .orElseThrow(() -> new NotFoundException("Work report not found with ID: " + dto.getId()));
 
+        WorkReportChangedEvent.Snapshot before = WorkReportChangedEvent.Snapshot.of(workReport);
+
         try {
             // Update basic fields
             // validateNoDuplicateReport(dto);
@@ -334,10 +584,11 @@ public class WorkReportService {
                     if (empId == null || empId.trim().isEmpty())
                         continue;
                     String trimmedEmpId = empId.trim();
-                    User technician = userRepository.findByEmployeeId(trimmedEmpId)
+                    UserRefDTO technician = referenceData.findUser(trimmedEmpId)
                             .orElseThrow(() -> new IllegalArgumentException(
                                     "Technician not found with employee ID: " + trimmedEmpId));
-                    technicians.add(technician);
+                    // The join table holds user IDs, so the reference is never loaded
+                    technicians.add(userRepository.getReferenceById(technician.id()));
                 }
             } else {
                 throw new IllegalArgumentException("At least one technician must be assigned.");
@@ -348,6 +599,10 @@ public class WorkReportService {
 
             // Save (managed entity, but explicit save for clarity)
             workReportRepository.save(workReport);
+            WorkReportChangedEvent.Snapshot after = WorkReportChangedEvent.Snapshot.of(workReport);
+            equipmentStatsService.workReportChanged(before, after);
+            eventPublisher.publishEvent(new WorkReportChangedEvent(workReport.getId(), ChangeType.UPDATED,
+                    before, after));
 
             log.info("Work report updated successfully with ID: {}", workReport.getId());
 
@@ -363,7 +618,10 @@ public class WorkReportService {
         WorkReport workReport = workReportRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Work report not found with ID: " + id));
 
+        WorkReportChangedEvent.Snapshot before = WorkReportChangedEvent.Snapshot.of(workReport);
         workReportRepository.delete(workReport);
+        equipmentStatsService.workReportChanged(before, null);
+        eventPublisher.publishEvent(new WorkReportChangedEvent(id, ChangeType.DELETED, before, null));
     }
 
     // ================== PRIVATE HELPERS ==================
@@ -414,8 +672,14 @@ public class WorkReportService {
             }
         }
 
+        WorkReportChangedEvent.Snapshot before = existing.getId() != null ? WorkReportChangedEvent.Snapshot.of(existing) : null;
         mapToEntity(existing, dto);
         workReportRepository.save(existing);
+        WorkReportChangedEvent.Snapshot after = WorkReportChangedEvent.Snapshot.of(existing);
+        equipmentStatsService.workReportChanged(before, after);
+        eventPublisher.publishEvent(new WorkReportChangedEvent(existing.getId(),
+                before == null ? ChangeType.CREATED : ChangeType.UPDATED,
+                before, after));
     }
 
     private void mapToEntity(WorkReport workReport, WorkReportDTO dto) {
@@ -434,22 +698,15 @@ public class WorkReportService {
 
         // Area (optional)
         if (dto.getArea() != null && dto.getArea().getCode() != null && !dto.getArea().getCode().trim().isEmpty()) {
-            String areaCode = dto.getArea().getCode().trim();
-            areaRepository.findByCode(areaCode)
-                    .ifPresentOrElse(
-                            workReport::setArea,
-                            () -> {
-                                throw new IllegalArgumentException("Area not found with code: " + areaCode);
-                            });
+            AreaRefDTO area = requireArea(dto.getArea().getCode());
+            workReport.setArea(areaRepository.getReferenceById(area.id()));
         } else {
             workReport.setArea(null);
         }
 
         // Equipment (required)
-        String equipmentCode = dto.getEquipment().getCode();
-        Equipment equipment = equipmentRepository.findByCode(equipmentCode)
-                .orElseThrow(() -> new IllegalArgumentException("Equipment not found with code: " + equipmentCode));
-        workReport.setEquipment(equipment);
+        EquipmentRefDTO equipment = requireEquipment(dto.getEquipment().getCode());
+        workReport.setEquipment(equipmentRepository.getReferenceById(equipment.id()));
 
         // Technician (required)
         // if (dto.getTechnicians() == null || dto.getTechnicians().isEmpty()) {
@@ -473,17 +730,38 @@ public class WorkReportService {
         // Supervisor (optional)
         if (dto.getSupervisor() != null && dto.getSupervisor().getEmployeeId() != null
                 && !dto.getSupervisor().getEmployeeId().trim().isEmpty()) {
-            String supervisorEmpId = dto.getSupervisor().getEmployeeId();
-            User supervisor = userRepository.findByEmployeeId4Roles(supervisorEmpId)
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Supervisor not found with employeeId: " + supervisorEmpId));
-            workReport.setSupervisor(supervisor);
+            UserRefDTO supervisor = requireUser("Supervisor", dto.getSupervisor().getEmployeeId());
+            workReport.setSupervisor(userRepository.getReferenceById(supervisor.id()));
         } else {
             workReport.setSupervisor(null);
         }
     }
 
+    private AreaRefDTO requireArea(String code) {
+        String areaCode = code == null ? null : code.trim();
+        return referenceData.findArea(areaCode)
+                .orElseThrow(() -> new IllegalArgumentException("Area not found with code: " + areaCode));
+    }
+
+    private EquipmentRefDTO requireEquipment(String code) {
+        return referenceData.findEquipment(code)
+                .orElseThrow(() -> new IllegalArgumentException("Equipment not found with code: " + code));
+    }
+
+    private UserRefDTO requireUser(String role, String employeeId) {
+        return referenceData.findUser(employeeId)
+                .orElseThrow(() -> new IllegalArgumentException(role + " not found with employeeId: " + employeeId));
+    }
+
     // ================== DTO CONVERSION ==================
+    private static LocalDate parseReportDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor report date: " + value);
+        }
+    }
+
     private WorkReportDTO toDTO(WorkReport workReport) {
         WorkReportDTO dto = new WorkReportDTO();
         dto.setId(workReport.getId());
@@ -1,5 +1,6 @@
 package ahqpck.maintenance.report.specification;
 
+import ahqpck.maintenance.report.config.MatchAgainstFunctionContributor;
 import ahqpck.maintenance.report.entity.Complaint;
 import ahqpck.maintenance.report.entity.Area;
 import ahqpck.maintenance.report.entity.Equipment;
@@ -9,8 +10,10 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
@@ -28,37 +31,44 @@ public class ComplaintSpecification {
 
             String pattern = "%" + keyword.trim().toLowerCase() + "%";
 
-            // Use LEFT JOIN
-            Join<Complaint, User> reporter = root.join("reporter", JoinType.LEFT);
-            Join<Complaint, User> assignee = root.join("assignee", JoinType.LEFT);
-            Join<Complaint, Area> area = root.join("area", JoinType.LEFT);
-            Join<Complaint, Equipment> equipment = root.join("equipment", JoinType.LEFT);
-
             return cb.or(
                     cb.like(cb.lower(root.get("code")), pattern),
                     cb.like(cb.lower(root.get("subject")), pattern),
                     cb.like(cb.lower(root.get("description")), pattern),
-                    cb.like(cb.lower(root.get("status").as(String.class)), pattern),
-                    cb.like(cb.lower(root.get("priority").as(String.class)), pattern),
-                    cb.like(cb.lower(root.get("category").as(String.class)), pattern),
-
-                    // Use coalesce to handle nulls in joined fields
-                    cb.like(cb.lower(cb.coalesce(reporter.<String>get("name"), "")), pattern),
-                    cb.like(cb.lower(cb.coalesce(reporter.<String>get("employeeId"), "")), pattern),
-                    cb.like(cb.lower(cb.coalesce(reporter.<String>get("email"), "")), pattern),
-
-                    cb.like(cb.lower(cb.coalesce(assignee.<String>get("name"), "")), pattern),
-                    cb.like(cb.lower(cb.coalesce(assignee.<String>get("employeeId"), "")), pattern),
-                    cb.like(cb.lower(cb.coalesce(assignee.<String>get("email"), "")), pattern),
-
-                    cb.like(cb.lower(cb.coalesce(area.<String>get("name"), "")), pattern),
-                    cb.like(cb.lower(cb.coalesce(area.<String>get("code"), "")), pattern),
-
-                    cb.like(cb.lower(cb.coalesce(equipment.<String>get("name"), "")), pattern),
-                    cb.like(cb.lower(cb.coalesce(equipment.<String>get("code"), "")), pattern));
+                    attributesLike(root, cb, pattern));
         };
     }
 
+    // Status, priority, category and the joined people, area and equipment; the part of
+    // search() that the FULLTEXT index does not cover
+    private static Predicate attributesLike(Root<Complaint> root, CriteriaBuilder cb, String pattern) {
+        // Use LEFT JOIN
+        Join<Complaint, User> reporter = root.join("reporter", JoinType.LEFT);
+        Join<Complaint, User> assignee = root.join("assignee", JoinType.LEFT);
+        Join<Complaint, Area> area = root.join("area", JoinType.LEFT);
+        Join<Complaint, Equipment> equipment = root.join("equipment", JoinType.LEFT);
+
+        return cb.or(
+                cb.like(cb.lower(root.get("status").as(String.class)), pattern),
+                cb.like(cb.lower(root.get("priority").as(String.class)), pattern),
+                cb.like(cb.lower(root.get("category").as(String.class)), pattern),
+
+                // Use coalesce to handle nulls in joined fields
+                cb.like(cb.lower(cb.coalesce(reporter.<String>get("name"), "")), pattern),
+                cb.like(cb.lower(cb.coalesce(reporter.<String>get("employeeId"), "")), pattern),
+                cb.like(cb.lower(cb.coalesce(reporter.<String>get("email"), "")), pattern),
+
+                cb.like(cb.lower(cb.coalesce(assignee.<String>get("name"), "")), pattern),
+                cb.like(cb.lower(cb.coalesce(assignee.<String>get("employeeId"), "")), pattern),
+                cb.like(cb.lower(cb.coalesce(assignee.<String>get("email"), "")), pattern),
+
+                cb.like(cb.lower(cb.coalesce(area.<String>get("name"), "")), pattern),
+                cb.like(cb.lower(cb.coalesce(area.<String>get("code"), "")), pattern),
+
+                cb.like(cb.lower(cb.coalesce(equipment.<String>get("name"), "")), pattern),
+                cb.like(cb.lower(cb.coalesce(equipment.<String>get("code"), "")), pattern));
+    }
+
     public static Specification<Complaint> withReportDateRange(LocalDateTime from, LocalDateTime to) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -73,4 +83,75 @@ public class ComplaintSpecification {
             return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Rows strictly after ({@code reportDate}, {@code id}) in the given direction, i.e. the
+     * seek predicate for keyset pagination ordered by reportDate then id.
+     */
+    public static Specification<Complaint> after(LocalDateTime reportDate, String id, boolean asc) {
+        return (root, query, cb) -> {
+            if (reportDate == null || id == null) {
+                return cb.conjunction();
+            }
+            return asc
+                    ? cb.or(cb.greaterThan(root.get("reportDate"), reportDate),
+                            cb.and(cb.equal(root.get("reportDate"), reportDate), cb.greaterThan(root.get("id"), id)))
+                    : cb.or(cb.lessThan(root.get("reportDate"), reportDate),
+                            cb.and(cb.equal(root.get("reportDate"), reportDate), cb.lessThan(root.get("id"), id)));
+        };
+    }
+
+    // ================== EXACT MATCH & FULL-TEXT ==================
+    public static Specification<Complaint> hasCode(String code) {
+        return (root, query, cb) -> cb.equal(root.get("code"), code);
+    }
+
+    public static Specification<Complaint> hasEquipmentCode(String equipmentCode) {
+        return (root, query, cb) -> cb.equal(root.get("equipment").get("code"), equipmentCode);
+    }
+
+    public static Specification<Complaint> hasAreaCode(String areaCode) {
+        return (root, query, cb) -> cb.equal(root.get("area").get("code"), areaCode);
+    }
+
+    public static Specification<Complaint> involvesEmployee(String employeeId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.join("reporter", JoinType.LEFT).get("employeeId"), employeeId),
+                cb.equal(root.join("assignee", JoinType.LEFT).get("employeeId"), employeeId));
+    }
+
+    public static Specification<Complaint> hasStatus(Complaint.Status status) {
+        return (root, query, cb) -> status == null ? cb.conjunction() : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Complaint> hasPriority(Complaint.Priority priority) {
+        return (root, query, cb) -> priority == null ? cb.conjunction() : cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Complaint> hasCategory(Complaint.Category category) {
+        return (root, query, cb) -> category == null ? cb.conjunction() : cb.equal(root.get("category"), category);
+    }
+
+    // Assignee's employee ID; compares the FK column, no join
+    public static Specification<Complaint> hasAssignee(String employeeId) {
+        return (root, query, cb) -> cb.equal(root.get("assignee").get("employeeId"), employeeId);
+    }
+
+    /**
+     * MATCH ... AGAINST over subject and description (the ft_complaints_text index), ordered
+     * by relevance unless the caller sorts explicitly. The query is bound, not inlined, so
+     * MySQL sees one statement shape for every keyword. Names, codes, emails and the enum
+     * columns are still matched with LIKE on {@code keyword}; those rows score 0 and come last.
+     */
+    public static Specification<Complaint> fullText(String booleanQuery, String keyword) {
+        return (root, query, cb) -> {
+            Expression<Double> score = cb.function(MatchAgainstFunctionContributor.FUNCTION_NAME, Double.class,
+                    root.get("subject"), root.get("description"), ((HibernateCriteriaBuilder) cb).value(booleanQuery));
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(cb.desc(score), cb.desc(root.get("reportDate")));
+            }
+            String pattern = "%" + keyword.trim().toLowerCase() + "%";
+            return cb.or(cb.greaterThan(score, 0.0), attributesLike(root, cb, pattern));
+        };
+    }
+}
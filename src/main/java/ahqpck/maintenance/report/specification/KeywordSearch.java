@@ -0,0 +1,25 @@
+package ahqpck.maintenance.report.specification;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The filter for a listing's search box, and whether it orders rows by full-text relevance
+ * itself. Built by {@link KeywordSearchResolver}.
+ */
+public record KeywordSearch<T>(Specification<T> spec, boolean ranked) {
+
+    /** {@code sortBy} value that orders full-text results by relevance. */
+    public static final String SORT_RELEVANCE = "relevance";
+
+    /**
+     * The page sort for {@code sortBy}. Relevance is left to the full-text specification,
+     * which orders by score itself; without a score it falls back to newest first.
+     */
+    public Sort sort(String sortBy, boolean asc) {
+        if (SORT_RELEVANCE.equals(sortBy)) {
+            return ranked ? Sort.unsorted() : Sort.by("reportDate").descending();
+        }
+        return asc ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+    }
+}
@@ -0,0 +1,94 @@
+package ahqpck.maintenance.report.specification;
+
+import org.springframework.stereotype.Component;
+
+import ahqpck.maintenance.report.config.FullTextIndexInitializer;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.ComplaintRepository;
+import ahqpck.maintenance.report.repository.EquipmentRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import ahqpck.maintenance.report.repository.WorkReportRepository;
+import ahqpck.maintenance.report.util.FullTextQuery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Picks how a search box keyword is matched. A keyword that is exactly a complaint or work
+ * report, equipment or area code or an employee ID is answered through that unique index.
+ * Other keywords use the FULLTEXT index when it is available, and the LIKE specification
+ * otherwise.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeywordSearchResolver {
+
+    private final ComplaintRepository complaintRepository;
+    private final WorkReportRepository workReportRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final AreaRepository areaRepository;
+    private final UserRepository userRepository;
+    private final FullTextIndexInitializer fullTextIndex;
+
+    // Full text over subject and description
+    public KeywordSearch<Complaint> complaints(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return new KeywordSearch<>(ComplaintSpecification.search(null), false);
+        }
+        String term = keyword.trim();
+
+        if (FullTextQuery.isSingleToken(term)) {
+            if (complaintRepository.existsByCode(term)) {
+                return new KeywordSearch<>(ComplaintSpecification.hasCode(term), false);
+            }
+            if (equipmentRepository.existsByCode(term)) {
+                return new KeywordSearch<>(ComplaintSpecification.hasEquipmentCode(term), false);
+            }
+            if (areaRepository.existsByCode(term)) {
+                return new KeywordSearch<>(ComplaintSpecification.hasAreaCode(term), false);
+            }
+            if (userRepository.existsByEmployeeId(term)) {
+                return new KeywordSearch<>(ComplaintSpecification.involvesEmployee(term), false);
+            }
+        }
+
+        String booleanQuery = booleanQuery(term);
+        if (booleanQuery != null) {
+            return new KeywordSearch<>(ComplaintSpecification.fullText(booleanQuery, term), true);
+        }
+        return new KeywordSearch<>(ComplaintSpecification.search(term), false);
+    }
+
+    // Full text over problem, solution and remark; the employee ID may be the supervisor or a technician
+    public KeywordSearch<WorkReport> workReports(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return new KeywordSearch<>(WorkReportSpecification.search(null), false);
+        }
+        String term = keyword.trim();
+
+        if (FullTextQuery.isSingleToken(term)) {
+            if (workReportRepository.existsByCode(term)) {
+                return new KeywordSearch<>(WorkReportSpecification.hasCode(term), false);
+            }
+            if (equipmentRepository.existsByCode(term)) {
+                return new KeywordSearch<>(WorkReportSpecification.hasEquipmentCode(term), false);
+            }
+            if (areaRepository.existsByCode(term)) {
+                return new KeywordSearch<>(WorkReportSpecification.hasAreaCode(term), false);
+            }
+            if (userRepository.existsByEmployeeId(term)) {
+                return new KeywordSearch<>(WorkReportSpecification.involvesEmployee(term), false);
+            }
+        }
+
+        String booleanQuery = booleanQuery(term);
+        if (booleanQuery != null) {
+            return new KeywordSearch<>(WorkReportSpecification.fullText(booleanQuery, term), true);
+        }
+        return new KeywordSearch<>(WorkReportSpecification.search(term), false);
+    }
+
+    private String booleanQuery(String term) {
+        return fullTextIndex.isAvailable() ? FullTextQuery.toBooleanQuery(term) : null;
+    }
+}
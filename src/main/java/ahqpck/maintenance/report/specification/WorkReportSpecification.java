@@ -1,11 +1,15 @@
 package ahqpck.maintenance.report.specification;
 
+import ahqpck.maintenance.report.config.MatchAgainstFunctionContributor;
 import ahqpck.maintenance.report.entity.WorkReport;
 import ahqpck.maintenance.report.entity.Area;
 import ahqpck.maintenance.report.entity.Equipment;
 import ahqpck.maintenance.report.entity.User;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
+
 import jakarta.persistence.criteria.*;
 
 public class WorkReportSpecification {
@@ -18,40 +22,137 @@ public class WorkReportSpecification {
 
             String pattern = "%" + keyword.trim().toLowerCase() + "%";
 
-            // LEFT JOINs to related entities
-            Join<WorkReport, Equipment> equipment = root.join("equipment", JoinType.LEFT);
-            Join<WorkReport, Area> area = root.join("area", JoinType.LEFT);
-            // Join<WorkReport, User> technician = root.join("technician", JoinType.LEFT);
-            Join<WorkReport, User> supervisor = root.join("supervisor", JoinType.LEFT);
-
             return cb.or(
                 // Search in WorkReport fields
                 cb.like(cb.lower(root.get("code")), pattern),
                 cb.like(cb.lower(root.get("problem")), pattern),
                 cb.like(cb.lower(root.get("solution")), pattern),
-                cb.like(cb.lower(root.get("workType")), pattern),
                 cb.like(cb.lower(root.get("remark")), pattern),
-                cb.like(cb.lower(root.get("status").as(String.class)), pattern),
-                cb.like(cb.lower(root.get("category").as(String.class)), pattern),
-                
-                // Search in Equipment (via join)
-                cb.like(cb.lower(cb.coalesce(equipment.<String>get("name"), "")), pattern),
-                cb.like(cb.lower(cb.coalesce(equipment.<String>get("code"), "")), pattern),
-
-                // Search in Area (via join)
-                cb.like(cb.lower(cb.coalesce(area.<String>get("name"), "")), pattern),
-                cb.like(cb.lower(cb.coalesce(area.<String>get("code"), "")), pattern),
-
-                // Search in Technician
-                // cb.like(cb.lower(cb.coalesce(technician.<String>get("name"), "")), pattern),
-                // cb.like(cb.lower(cb.coalesce(technician.<String>get("employeeId"), "")), pattern),
-                // cb.like(cb.lower(cb.coalesce(technician.<String>get("email"), "")), pattern),
-
-                // Search in Supervisor
-                cb.like(cb.lower(cb.coalesce(supervisor.<String>get("name"), "")), pattern),
-                cb.like(cb.lower(cb.coalesce(supervisor.<String>get("employeeId"), "")), pattern),
-                cb.like(cb.lower(cb.coalesce(supervisor.<String>get("email"), "")), pattern)
+                attributesLike(root, cb, pattern)
             );
         };
     }
-}
\ No newline at end of file
+
+    // Work type, status, category and the joined equipment, area and supervisor; the part of
+    // search() that the FULLTEXT index does not cover
+    private static Predicate attributesLike(Root<WorkReport> root, CriteriaBuilder cb, String pattern) {
+        // LEFT JOINs to related entities
+        Join<WorkReport, Equipment> equipment = root.join("equipment", JoinType.LEFT);
+        Join<WorkReport, Area> area = root.join("area", JoinType.LEFT);
+        // Join<WorkReport, User> technician = root.join("technician", JoinType.LEFT);
+        Join<WorkReport, User> supervisor = root.join("supervisor", JoinType.LEFT);
+
+        return cb.or(
+            cb.like(cb.lower(root.get("workType")), pattern),
+            cb.like(cb.lower(root.get("status").as(String.class)), pattern),
+            cb.like(cb.lower(root.get("category").as(String.class)), pattern),
+
+            // Search in Equipment (via join)
+            cb.like(cb.lower(cb.coalesce(equipment.<String>get("name"), "")), pattern),
+            cb.like(cb.lower(cb.coalesce(equipment.<String>get("code"), "")), pattern),
+
+            // Search in Area (via join)
+            cb.like(cb.lower(cb.coalesce(area.<String>get("name"), "")), pattern),
+            cb.like(cb.lower(cb.coalesce(area.<String>get("code"), "")), pattern),
+
+            // Search in Technician
+            // cb.like(cb.lower(cb.coalesce(technician.<String>get("name"), "")), pattern),
+            // cb.like(cb.lower(cb.coalesce(technician.<String>get("employeeId"), "")), pattern),
+            // cb.like(cb.lower(cb.coalesce(technician.<String>get("email"), "")), pattern),
+
+            // Search in Supervisor
+            cb.like(cb.lower(cb.coalesce(supervisor.<String>get("name"), "")), pattern),
+            cb.like(cb.lower(cb.coalesce(supervisor.<String>get("employeeId"), "")), pattern),
+            cb.like(cb.lower(cb.coalesce(supervisor.<String>get("email"), "")), pattern)
+        );
+    }
+
+    /**
+     * Rows strictly after ({@code reportDate}, {@code id}) in the given direction, i.e. the
+     * seek predicate for keyset pagination ordered by reportDate then id.
+     */
+    public static Specification<WorkReport> after(LocalDate reportDate, String id, boolean asc) {
+        return (root, query, cb) -> {
+            if (reportDate == null || id == null) {
+                return cb.conjunction();
+            }
+            return asc
+                    ? cb.or(cb.greaterThan(root.get("reportDate"), reportDate),
+                            cb.and(cb.equal(root.get("reportDate"), reportDate), cb.greaterThan(root.get("id"), id)))
+                    : cb.or(cb.lessThan(root.get("reportDate"), reportDate),
+                            cb.and(cb.equal(root.get("reportDate"), reportDate), cb.lessThan(root.get("id"), id)));
+        };
+    }
+
+    // ================== EXACT MATCH & FULL-TEXT ==================
+    public static Specification<WorkReport> hasCode(String code) {
+        return (root, query, cb) -> cb.equal(root.get("code"), code);
+    }
+
+    public static Specification<WorkReport> hasEquipmentCode(String equipmentCode) {
+        return (root, query, cb) -> cb.equal(root.get("equipment").get("code"), equipmentCode);
+    }
+
+    public static Specification<WorkReport> hasAreaCode(String areaCode) {
+        return (root, query, cb) -> cb.equal(root.get("area").get("code"), areaCode);
+    }
+
+    // Supervisor, or one of the technicians
+    public static Specification<WorkReport> involvesEmployee(String employeeId) {
+        return (root, query, cb) -> {
+            Subquery<String> technicianOf = query.subquery(String.class);
+            Root<WorkReport> report = technicianOf.from(WorkReport.class);
+            Join<WorkReport, User> technician = report.join("technicians");
+            technicianOf.select(report.get("id")).where(cb.equal(technician.get("employeeId"), employeeId));
+
+            return cb.or(
+                    cb.equal(root.join("supervisor", JoinType.LEFT).get("employeeId"), employeeId),
+                    root.get("id").in(technicianOf));
+        };
+    }
+
+    public static Specification<WorkReport> hasStatus(WorkReport.Status status) {
+        return (root, query, cb) -> status == null ? cb.conjunction() : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<WorkReport> hasCategory(WorkReport.Category category) {
+        return (root, query, cb) -> category == null ? cb.conjunction() : cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<WorkReport> hasShift(WorkReport.Shift shift) {
+        return (root, query, cb) -> shift == null ? cb.conjunction() : cb.equal(root.get("shift"), shift);
+    }
+
+    public static Specification<WorkReport> withReportDateRange(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) {
+                return cb.conjunction();
+            }
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get("reportDate"), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("reportDate"), from);
+            }
+            return cb.between(root.get("reportDate"), from, to);
+        };
+    }
+
+    /**
+     * MATCH ... AGAINST over problem, solution and remark (the ft_work_reports_text index),
+     * ordered by relevance unless the caller sorts explicitly, with the LIKE fallback for
+     * the other columns; see {@link ComplaintSpecification#fullText(String, String)}.
+     */
+    public static Specification<WorkReport> fullText(String booleanQuery, String keyword) {
+        return (root, query, cb) -> {
+            Expression<Double> score = cb.function(MatchAgainstFunctionContributor.FUNCTION_NAME, Double.class,
+                    root.get("problem"), root.get("solution"), root.get("remark"),
+                    ((HibernateCriteriaBuilder) cb).value(booleanQuery));
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(cb.desc(score), cb.desc(root.get("reportDate")));
+            }
+            String pattern = "%" + keyword.trim().toLowerCase() + "%";
+            return cb.or(cb.greaterThan(score, 0.0), attributesLike(root, cb, pattern));
+        };
+    }
+}
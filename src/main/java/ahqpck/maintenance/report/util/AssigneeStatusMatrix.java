@@ -0,0 +1,145 @@
+package ahqpck.maintenance.report.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusColumnarDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDetailDTO;
+
+/**
+ * Complaint counts per status, assignee and day, held as {@code int[status][assignee][day]}.
+ *
+ * Days are indexed by their epoch-day offset from {@code from}, assignees in the order they
+ * first appear in the rows, so building is linear in the rows with no per-row lookups in
+ * date lists and no boxing.
+ */
+public final class AssigneeStatusMatrix {
+
+    private static final String[] STATUSES = { "OPEN", "PENDING", "CLOSED" };
+
+    private static final int OPEN = 0;
+    private static final int PENDING = 1;
+    private static final int CLOSED = 2;
+
+    private final LocalDate from;
+    private final int days;
+    private final List<String> assignees;
+    private final int[][][] counts;
+
+    private AssigneeStatusMatrix(LocalDate from, int days, List<String> assignees, int[][][] counts) {
+        this.from = from;
+        this.days = days;
+        this.assignees = assignees;
+        this.counts = counts;
+    }
+
+    /**
+     * @param rows {@code [assignee name, status, report date, count]} as returned by
+     *             {@code DashboardRepository.getAssigneeDailyStatus}
+     */
+    public static AssigneeStatusMatrix build(List<Object[]> rows, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
+        }
+
+        long firstDay = from.toEpochDay();
+        int days = Math.toIntExact(to.toEpochDay() - firstDay + 1);
+
+        // Index assignees first so the matrix can be allocated once
+        Map<String, Integer> index = new HashMap<>();
+        List<String> assignees = new ArrayList<>();
+        int[] assigneeOf = new int[rows.size()];
+        for (int r = 0; r < rows.size(); r++) {
+            String assignee = (String) rows.get(r)[0];
+            Integer i = index.get(assignee);
+            if (i == null) {
+                i = assignees.size();
+                index.put(assignee, i);
+                assignees.add(assignee);
+            }
+            assigneeOf[r] = i;
+        }
+
+        int[][][] counts = new int[STATUSES.length][assignees.size()][days];
+        for (int r = 0; r < rows.size(); r++) {
+            Object[] row = rows.get(r);
+            int status = statusIndex((String) row[1]);
+            long day = toLocalDate(row[2]).toEpochDay() - firstDay;
+            if (status < 0 || day < 0 || day >= days) {
+                continue;
+            }
+            counts[status][assigneeOf[r]][(int) day] += ((Number) row[3]).intValue();
+        }
+
+        return new AssigneeStatusMatrix(from, days, List.copyOf(assignees), counts);
+    }
+
+    public List<String> getAssignees() {
+        return assignees;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public List<String> dates() {
+        List<String> dates = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            dates.add(from.plusDays(d).toString());
+        }
+        return dates;
+    }
+
+    // One object per assignee, the shape the dashboard table reads
+    public AssigneeDailyStatusDTO toRows() {
+        List<AssigneeDailyStatusDetailDTO> data = new ArrayList<>(assignees.size());
+        for (int a = 0; a < assignees.size(); a++) {
+            data.add(new AssigneeDailyStatusDetailDTO(assignees.get(a),
+                    copy(counts[OPEN][a]), copy(counts[PENDING][a]), copy(counts[CLOSED][a])));
+        }
+        return new AssigneeDailyStatusDTO(dates(), data);
+    }
+
+    // One array per status, indexed [assignee][day]
+    public AssigneeDailyStatusColumnarDTO toColumnar() {
+        return new AssigneeDailyStatusColumnarDTO(dates(), assignees,
+                copy(counts[OPEN]), copy(counts[PENDING]), copy(counts[CLOSED]));
+    }
+
+    private static int statusIndex(String status) {
+        if (status == null) {
+            return -1;
+        }
+        return switch (status) {
+            case "OPEN" -> OPEN;
+            case "PENDING" -> PENDING;
+            case "CLOSED" -> CLOSED;
+            default -> -1;
+        };
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        return ((java.sql.Date) value).toLocalDate();
+    }
+
+    // The matrix is cached, so callers only ever get copies
+    private static int[] copy(int[] values) {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    private static int[][] copy(int[][] values) {
+        int[][] result = new int[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = copy(values[i]);
+        }
+        return result;
+    }
+}
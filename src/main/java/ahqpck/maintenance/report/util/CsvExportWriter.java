@@ -0,0 +1,83 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV, UTF-8 with a BOM so Excel opens it with the right encoding. Text that Excel
+ * would read as a formula is prefixed with an apostrophe.
+ */
+public class CsvExportWriter implements ExportWriter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void writeHeader(List<String> names) throws IOException {
+        writer.write('\uFEFF');
+        writeRow(names.toArray(), names.size());
+    }
+
+    @Override
+    public void writeRow(Object[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        // Only the buffer, and finish() already sent it
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof LocalDateTime dateTime ? dateTime.format(DATE_TIME)
+                : value instanceof LocalDate date ? date.toString()
+                : value instanceof CharSequence chars ? neutralizeFormula(chars.toString())
+                : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Text typed by users must not run as a formula when Excel opens the file, so a leading
+    // =, +, -, @, tab or carriage return is escaped with an apostrophe. Numbers are left alone.
+    private static String neutralizeFormula(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        return switch (text.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r' -> "'" + text;
+            default -> text;
+        };
+    }
+}
@@ -0,0 +1,249 @@
+package ahqpck.maintenance.report.util;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Dates and date-times of one import column. The formatters are built once per class, and a
+ * text value that does not fit a format is rejected without throwing.
+ * <p>
+ * {@link #detectDate}/{@link #detectDateTime} fix the column's format from its first text
+ * value that parses. Every value then tries that format first and falls back to the full list
+ * without changing it, so an ambiguous value such as 05/06/2024 always reads the same way in
+ * a given column. Feed the detection from one thread in sheet order (see
+ * {@code BatchImporter.parse}); the parse threads only read the result. Without detection
+ * every value scans the list in order.
+ * <p>
+ * Use one instance per column per import.
+ */
+public class DateColumnParser {
+
+    /** An Excel serial day number, with the time of day as the fraction. */
+    static final Pattern EXCEL_SERIAL = Pattern.compile("\\d+(\\.\\d+)?");
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = formatters(
+            // Full date formats
+            "yyyy-MM-dd",
+            "dd/MM/yyyy", "MM/dd/yyyy",
+            "dd-MM-yyyy", "MM-dd-yyyy",
+
+            // Month-year formats, resolved to the first of the month
+            "MMM yyyy", // "Apr 2014"
+            "MMMM yyyy", // "April 2014"
+            "MM/yyyy", // "04/2014"
+            "M/yyyy", // "4/2014"
+            "yyyy-MM", // "2014-04"
+            "yyyy/MM");
+
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = formatters(
+            // ISO formats
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm",
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd HH:mm",
+
+            // Custom formats with seconds
+            "dd/MM/yyyy HH:mm:ss",
+            "MM/dd/yyyy HH:mm:ss",
+            "dd-MM-yyyy HH:mm:ss",
+            "MM-dd-yyyy HH:mm:ss",
+
+            // Without seconds
+            "dd/MM/yyyy HH:mm",
+            "MM/dd/yyyy HH:mm",
+            "dd-MM-yyyy HH:mm",
+            "MM-dd-yyyy HH:mm",
+
+            // With AM/PM (12-hour)
+            "dd/MM/yyyy h:mm a",
+            "MM/dd/yyyy h:mm a",
+            "dd-MM-yyyy h:mm a",
+            "MM-dd-yyyy h:mm a",
+            "yyyy-MM-dd h:mm a");
+
+    // Index of the column's format, -1 until detected; set once
+    private volatile int dateFormat = -1;
+    private volatile int dateTimeFormat = -1;
+
+    /** Fixes the column's date format from {@code value}, unless one is already fixed. */
+    public void detectDate(Object value) {
+        if (dateFormat < 0 && isText(value)) {
+            dateFormat = find(DATE_FORMATS, value.toString().trim(), DateColumnParser::parseDate);
+        }
+    }
+
+    /** Fixes the column's date-time format from {@code value}, unless one is already fixed. */
+    public void detectDateTime(Object value) {
+        if (dateTimeFormat < 0 && isText(value)) {
+            dateTimeFormat = find(DATE_TIME_FORMATS, value.toString().trim(), DateColumnParser::parseDateTime);
+        }
+    }
+
+    public LocalDate toLocalDate(Object obj) {
+        if (obj == null || obj.toString().trim().isEmpty()) {
+            return null;
+        }
+
+        if (obj instanceof Date) {
+            return ((Date) obj).toInstant()
+                    .atZone(ZoneId.of("UTC"))
+                    .toLocalDate()
+                    .plusDays(1);
+        }
+
+        String str = obj.toString().trim();
+
+        // Handle Excel serial date
+        if (EXCEL_SERIAL.matcher(str).matches()) {
+            return convertExcelDate(Double.parseDouble(str));
+        }
+
+        LocalDate date = parse(DATE_FORMATS, dateFormat, str, DateColumnParser::parseDate);
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid date format: " + str);
+        }
+        return date;
+    }
+
+    public LocalDateTime toLocalDateTime(Object obj) {
+        if (obj == null || obj.toString().trim().isEmpty()) {
+            return null;
+        }
+
+        if (obj instanceof Date) {
+            return ((Date) obj).toInstant()
+                    .atZone(ZoneId.of("UTC"))
+                    .toLocalDateTime()
+                    .plusHours(3);
+        }
+
+        String str = obj.toString().trim();
+
+        // Handle Excel serial date/time (e.g., 45356.625 = date + fraction of day)
+        if (EXCEL_SERIAL.matcher(str).matches()) {
+            return convertExcelDateTime(Double.parseDouble(str));
+        }
+
+        LocalDateTime dateTime = parse(DATE_TIME_FORMATS, dateTimeFormat, str, DateColumnParser::parseDateTime);
+        if (dateTime == null) {
+            throw new IllegalArgumentException("Invalid date-time format: " + str);
+        }
+        return dateTime;
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    // The column's format first, then the others in list order
+    private static <V> V parse(List<DateTimeFormatter> formats, int fixed, String str,
+            BiFunction<DateTimeFormatter, String, V> parser) {
+        if (fixed >= 0) {
+            V value = parser.apply(formats.get(fixed), str);
+            if (value != null) {
+                return value;
+            }
+        }
+        for (int i = 0; i < formats.size(); i++) {
+            V value = i == fixed ? null : parser.apply(formats.get(i), str);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // Index of the first format that parses str, or -1
+    private static <V> int find(List<DateTimeFormatter> formats, String str,
+            BiFunction<DateTimeFormatter, String, V> parser) {
+        for (int i = 0; i < formats.size(); i++) {
+            if (parser.apply(formats.get(i), str) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Only text values have a format; dates, blanks and Excel serials are skipped
+    private static boolean isText(Object value) {
+        if (value == null || value instanceof Date) {
+            return false;
+        }
+        String str = value.toString().trim();
+        return !str.isEmpty() && !EXCEL_SERIAL.matcher(str).matches();
+    }
+
+    private static LocalDate parseDate(DateTimeFormatter formatter, String str) {
+        TemporalAccessor parsed = parse(formatter, str);
+        if (parsed == null) {
+            return null;
+        }
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date != null) {
+            return date;
+        }
+        // Month-year formats: default day to 1
+        return LocalDate.of(parsed.get(ChronoField.YEAR), parsed.get(ChronoField.MONTH_OF_YEAR), 1);
+    }
+
+    private static LocalDateTime parseDateTime(DateTimeFormatter formatter, String str) {
+        TemporalAccessor parsed = parse(formatter, str);
+        if (parsed == null) {
+            return null;
+        }
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        return date != null && time != null ? LocalDateTime.of(date, time) : null;
+    }
+
+    /**
+     * The resolved value, or {@code null} if {@code str} does not have the format's shape.
+     * The shape is checked with {@code parseUnresolved}, which reports a mismatch instead of
+     * throwing; only a value of the right shape that does not resolve (month 13) costs an exception.
+     */
+    private static TemporalAccessor parse(DateTimeFormatter formatter, String str) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(str, position) == null || position.getIndex() != str.length()) {
+            return null;
+        }
+        try {
+            return formatter.parse(str);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static List<DateTimeFormatter> formatters(String... patterns) {
+        return Arrays.stream(patterns).map(DateTimeFormatter::ofPattern).toList();
+    }
+
+    private static LocalDate convertExcelDate(double serial) {
+        int n = (int) serial;
+        if (n >= 60)
+            n--; // Excel 1900 leap year bug
+        return LocalDate.of(1899, 12, 31).plusDays(n);
+    }
+
+    private static LocalDateTime convertExcelDateTime(double serial) {
+        // Excel's epoch starts from Dec 30, 1899
+        // Handle 1900 leap year bug
+        int days = (int) serial;
+        double fractionalDay = serial - days;
+
+        if (days >= 60)
+            days--; // Excel bug: treats 1900 as leap year
+
+        LocalDateTime base = LocalDateTime.of(1899, 12, 30, 0, 0);
+        return base.plusDays(days).plusNanos((long) (fractionalDay * 24 * 60 * 60 * 1_000_000_000L));
+    }
+}
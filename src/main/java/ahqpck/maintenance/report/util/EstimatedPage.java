@@ -0,0 +1,59 @@
+package ahqpck.maintenance.report.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A {@link Slice} presented as a {@link Page} whose total may not be exact yet. Navigation
+ * ({@code hasNext}, {@code hasPrevious}) always comes from the slice; the total is either an
+ * exact count or an estimate, flagged by {@link #isTotalExact()} so views can show
+ * "of ~1,200 entries" until the real count is in.
+ */
+public class EstimatedPage<T> extends SliceImpl<T> implements Page<T> {
+
+    private final long total;
+    private final boolean totalExact;
+
+    public EstimatedPage(List<T> content, Pageable pageable, boolean hasNext, long total, boolean totalExact) {
+        super(content, pageable, hasNext);
+        // Never report fewer rows than the ones already seen, or a last page behind this one
+        long seen = pageable.isPaged() ? pageable.getOffset() + content.size() : content.size();
+        long atLeast = hasNext ? seen + 1 : seen;
+        if (!hasNext && (!content.isEmpty() || pageable.isUnpaged() || pageable.getOffset() == 0)) {
+            this.total = seen;
+            this.totalExact = true;
+        } else {
+            this.total = Math.max(total, atLeast);
+            this.totalExact = totalExact && total >= atLeast;
+        }
+    }
+
+    public static <T> EstimatedPage<T> of(Slice<T> slice, long total, boolean totalExact) {
+        return new EstimatedPage<>(slice.getContent(), slice.getPageable(), slice.hasNext(), total, totalExact);
+    }
+
+    @Override
+    public long getTotalElements() {
+        return total;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return getSize() == 0 ? 1 : (int) Math.ceil((double) total / getSize());
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public <U> EstimatedPage<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = getContent().stream().<U>map(converter).toList();
+        return new EstimatedPage<>(converted, getPageable(), hasNext(), total, totalExact);
+    }
+}
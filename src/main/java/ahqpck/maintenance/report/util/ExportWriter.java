@@ -0,0 +1,62 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes an export row by row to a response stream. Nothing is kept per row beyond a small
+ * buffer (CSV) or the SXSSF window (XLSX), so memory does not grow with the export.
+ */
+public interface ExportWriter extends Closeable {
+
+    enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /** @throws IllegalArgumentException for anything but csv or xlsx */
+        public static Format of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown export format '" + value + "', expected csv or xlsx");
+            }
+        }
+    }
+
+    void writeHeader(List<String> names) throws IOException;
+
+    /** Writes the first {@code count} values of {@code values}. */
+    void writeRow(Object[] values, int count) throws IOException;
+
+    /**
+     * Completes the document after the last row. Not called when the export fails, so a
+     * broken export never goes out as a complete-looking file.
+     */
+    void finish() throws IOException;
+
+    /** Releases what the writer holds; the output stream itself is left open. */
+    @Override
+    void close() throws IOException;
+
+    static ExportWriter open(Format format, OutputStream out, int xlsxWindowRows) {
+        return format == Format.XLSX ? new XlsxExportWriter(out, xlsxWindowRows) : new CsvExportWriter(out);
+    }
+}
@@ -0,0 +1,117 @@
+package ahqpck.maintenance.report.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields a JSON list endpoint can return through {@code fields=}, each mapped to an
+ * attribute path of the entity ({@code "equipmentName" -> "equipment.name"}). Only the
+ * selected paths are queried, and only the associations they go through are joined.
+ * Fields with a {@code null} path are not columns (e.g. {@code partsUsed}) and are loaded
+ * by the service with one extra query when selected.
+ */
+public final class FieldCatalog {
+
+    private final Map<String, String> paths;
+    private final List<String> defaults;
+    private final Set<String> sortable;
+
+    private FieldCatalog(Map<String, String> paths, List<String> defaults, Set<String> sortable) {
+        this.paths = Collections.unmodifiableMap(paths);
+        this.defaults = List.copyOf(defaults);
+        this.sortable = Collections.unmodifiableSet(sortable);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param fields comma separated field names; blank for the defaults
+     * @throws IllegalArgumentException for an unknown field
+     */
+    public List<String> select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return defaults;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!paths.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + paths.keySet());
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? defaults : new ArrayList<>(selected);
+    }
+
+    /**
+     * Like {@link #select(String)} for flat outputs such as exports: blank means every column
+     * field, and computed fields are rejected.
+     */
+    public List<String> selectColumns(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return paths.entrySet().stream().filter(e -> e.getValue() != null).map(Map.Entry::getKey).toList();
+        }
+        List<String> selected = select(fields);
+        for (String field : selected) {
+            if (paths.get(field) == null) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be exported");
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code field} cannot be sorted on
+     */
+    public String sortPath(String field) {
+        if (!sortable.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort by '" + field + "', expected one of " + sortable);
+        }
+        return paths.get(field);
+    }
+
+    /** Attribute path of a field, or {@code null} for fields that are not columns. */
+    public String path(String field) {
+        return paths.get(field);
+    }
+
+    public static final class Builder {
+        private final Map<String, String> paths = new LinkedHashMap<>();
+        private final List<String> defaults = new ArrayList<>();
+        private final Set<String> sortable = new LinkedHashSet<>();
+
+        public Builder field(String name, String path) {
+            paths.put(name, path);
+            return this;
+        }
+
+        // Sortable fields must be non-null columns, the keyset cursor cannot step over NULLs
+        public Builder sortableField(String name, String path) {
+            sortable.add(name);
+            return field(name, path);
+        }
+
+        public Builder computedField(String name) {
+            return field(name, null);
+        }
+
+        public Builder defaults(String... names) {
+            defaults.addAll(List.of(names));
+            return this;
+        }
+
+        public FieldCatalog build() {
+            return new FieldCatalog(new LinkedHashMap<>(paths), defaults, new LinkedHashSet<>(sortable));
+        }
+    }
+}
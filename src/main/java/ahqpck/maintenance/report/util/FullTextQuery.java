@@ -0,0 +1,47 @@
+package ahqpck.maintenance.report.util;
+
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Builds MySQL boolean-mode full-text queries from what the user typed in a search box.
+ */
+public final class FullTextQuery {
+
+    // InnoDB ignores words shorter than innodb_ft_min_token_size (3 by default)
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    // Boolean-mode operators are stripped so user input cannot change the query's meaning
+    private static final Pattern OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Every word becomes a required prefix term, so {@code "motor bear"} is
+     * {@code "+motor* +bear*"}, matching while the user is still typing.
+     *
+     * @return the boolean-mode query, or {@code null} when no word is long enough for
+     *         the FULLTEXT index and the caller should fall back to LIKE
+     */
+    public static String toBooleanQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" ");
+        for (String word : OPERATORS.matcher(keyword).replaceAll(" ").trim().split("\\s+")) {
+            if (word.length() < MIN_TOKEN_LENGTH) {
+                return null;
+            }
+            query.add("+" + word + "*");
+        }
+        return query.toString();
+    }
+
+    /**
+     * True when {@code keyword} is a single token that could be a code or employee ID.
+     */
+    public static boolean isSingleToken(String keyword) {
+        return keyword != null && !keyword.isBlank() && keyword.trim().chars().noneMatch(Character::isWhitespace);
+    }
+}
@@ -0,0 +1,44 @@
+package ahqpck.maintenance.report.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position for seek pagination: the sort key and id of the last row a client has seen.
+ * The next page is read with {@code (sortKey, id) < (?, ?)} (or {@code >} ascending) instead of
+ * an OFFSET, so every page costs the same however deep it is.
+ */
+public record KeysetCursor(String sortKey, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(Object sortKey, String id) {
+        return new KeysetCursor(String.valueOf(sortKey), id).encode();
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} when {@code cursor} is blank (first page)
+     * @throws IllegalArgumentException when the cursor was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int split = raw.lastIndexOf(SEPARATOR);
+        if (split <= 0 || split == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new KeysetCursor(raw.substring(0, split), raw.substring(split + 1));
+    }
+}
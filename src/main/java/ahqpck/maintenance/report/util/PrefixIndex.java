@@ -0,0 +1,182 @@
+package ahqpck.maintenance.report.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive prefix index over the short texts of an entry (name, code,
+ * employee ID), for typeahead.
+ * <p>
+ * Every word of every text, plus each text with its separators removed ({@code EQ-001} is
+ * also {@code eq001}), is a key {@code word + '\0' + id} of a skip list. A search is a range
+ * scan over the keys starting with the query's longest word; the other query words must
+ * prefix some word of the same entry. Results come in key order, i.e. alphabetically by the
+ * matched word, then by id; they are not ranked.
+ * <p>
+ * The scan stops once {@code limit} entries matched. For a one-word query nearly every key in
+ * range matches (only an entry's further matching words are skipped), so the cost follows the
+ * limit. With more words, entries that miss one of them are skipped too, and a query whose
+ * other words rarely match can scan every key in the range.
+ * <p>
+ * Reads are lock-free; writes are serialized and replace one entry at a time, so a reader
+ * may briefly miss an entry that is being replaced, never see a half-indexed one.
+ * {@link #replaceAll} builds a new index and swaps it in whole.
+ */
+public final class PrefixIndex<T> {
+
+    private static final char SEPARATOR = '\0';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Function<T, String> id;
+    private final List<Function<T, String>> texts;
+
+    private volatile Maps<T> maps = new Maps<>();
+
+    private record Entry<T>(T value, Set<String> words) {
+    }
+
+    // The key list and the entries by id, swapped together by replaceAll
+    private record Maps<T>(ConcurrentSkipListMap<String, Entry<T>> keys, Map<String, Entry<T>> byId) {
+
+        Maps() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    public PrefixIndex(Function<T, String> id, List<Function<T, String>> texts) {
+        this.id = id;
+        this.texts = List.copyOf(texts);
+    }
+
+    /**
+     * Lower-cased, without diacritics: {@code "Éric  Müller"} is {@code "eric  muller"}.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // ================== SEARCH ==================
+    /**
+     * At most {@code limit} entries whose words start with every word of {@code query}.
+     */
+    public List<T> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String first = words.get(0);
+        for (String word : words) {
+            if (word.length() > first.length()) {
+                first = word;
+            }
+        }
+
+        Map<String, T> found = new LinkedHashMap<>();
+        for (Map.Entry<String, Entry<T>> hit : maps.keys().subMap(first, first + Character.MAX_VALUE).entrySet()) {
+            String key = hit.getKey();
+            String entryId = key.substring(key.indexOf(SEPARATOR) + 1);
+            if (found.containsKey(entryId) || !matchesAll(hit.getValue(), words)) {
+                continue;
+            }
+            found.put(entryId, hit.getValue().value());
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    public int size() {
+        return maps.byId().size();
+    }
+
+    // ================== WRITE ==================
+    /** Adds the entry, or replaces the one with the same id. */
+    public synchronized void put(T value) {
+        put(maps, value);
+    }
+
+    public synchronized void remove(String entryId) {
+        remove(maps, entryId);
+    }
+
+    public synchronized void replaceAll(Collection<T> values) {
+        Maps<T> fresh = new Maps<>();
+        for (T value : values) {
+            put(fresh, value);
+        }
+        maps = fresh;
+    }
+
+    // ================== PRIVATE HELPERS ==================
+    private void put(Maps<T> target, T value) {
+        String entryId = id.apply(value);
+        remove(target, entryId);
+
+        Set<String> words = new LinkedHashSet<>();
+        for (Function<T, String> text : texts) {
+            String normalized = normalize(text.apply(value));
+            words.addAll(words(normalized));
+            String compact = NON_WORD.matcher(normalized).replaceAll("");
+            if (!compact.isEmpty()) {
+                words.add(compact);
+            }
+        }
+        Entry<T> entry = new Entry<>(value, Set.copyOf(words));
+        target.byId().put(entryId, entry);
+        for (String word : words) {
+            target.keys().put(word + SEPARATOR + entryId, entry);
+        }
+    }
+
+    private static <T> void remove(Maps<T> target, String entryId) {
+        Entry<T> old = target.byId().remove(entryId);
+        if (old != null) {
+            for (String word : old.words()) {
+                target.keys().remove(word + SEPARATOR + entryId);
+            }
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(normalize(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static boolean matchesAll(Entry<?> entry, List<String> query) {
+        for (String prefix : query) {
+            boolean matched = false;
+            for (String word : entry.words()) {
+                if (word.startsWith(prefix)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * The rows of an import, pushed one at a time with the selected columns keyed by their
+ * import field name, the shape the importers read, together with the row's number in the
+ * sheet. A reader from {@link #open} streams the upload and never holds more than the
+ * current row, so memory does not grow with the sheet.
+ */
+@FunctionalInterface
+public interface SheetReader extends Closeable {
+
+    void forEachRow(RowConsumer action) throws IOException;
+
+    /** Receives a data row and its 1-based row number as the spreadsheet shows it. */
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(int rowNumber, Map<String, Object> row);
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /** Rows already in memory, numbered from 1. */
+    static SheetReader of(List<Map<String, Object>> rows) {
+        return action -> {
+            for (int i = 0; i < rows.size(); i++) {
+                action.accept(i + 1, rows.get(i));
+            }
+        };
+    }
+
+    /**
+     * Reads an uploaded .xlsx, .xls or .csv/.tsv file. The upload is copied to a temp file
+     * first, so the reader outlives the request; {@link #close()} deletes it.
+     *
+     * @param sheet     sheet name, or {@code null} for the first sheet (ignored for CSV)
+     * @param headerRow 1-based row holding the column headers, or {@code null} for the first
+     *                  row that contains one of {@code columns}
+     * @param columns   header text to import field name, as chosen in the import wizard
+     * @throws IllegalArgumentException for any other file type
+     */
+    static SheetReader open(MultipartFile file, String sheet, Integer headerRow, Map<String, String> columns)
+            throws IOException {
+        return UploadedSheetReader.open(file, sheet, headerRow, columns);
+    }
+}
@@ -0,0 +1,144 @@
+package ahqpck.maintenance.report.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import ahqpck.maintenance.report.entity.WorkReport;
+
+/**
+ * Turns sparse, date-ordered aggregate rows into a continuous series of buckets.
+ *
+ * Dashboard queries only return days that have data; this walks the requested range
+ * once, bucket by bucket, and merges the rows in as it goes, so the range is not
+ * limited by any SQL-side calendar and the cost is linear in buckets + rows.
+ */
+@Component
+public class TimeBucketer {
+
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    /** Most buckets one series may have, about ten years of days. */
+    public static final int MAX_BUCKETS = 3660;
+
+    public enum Granularity {
+        DAY, WEEK, MONTH, SHIFT
+    }
+
+    /**
+     * Fills every bucket between {@code from} and {@code to} (inclusive). The first and last
+     * bucket are clipped to the range, so e.g. a WEEK bucket starting before {@code from}
+     * only holds rows from {@code from} on, and rows after {@code to} are left out.
+     *
+     * @param rows       aggregate rows ordered by day, then shift ({@code DAY} before {@code NIGHT})
+     * @param dayOf      day a row belongs to
+     * @param shiftOf    shift a row belongs to; only read for {@link Granularity#SHIFT}, may be null otherwise
+     * @param newBucket  creates an empty bucket for a label ("2025-08-01", "2025-08", "2025-08-01 NIGHT")
+     * @param accumulate adds a row to its bucket
+     */
+    public <R, B> List<B> fill(List<R> rows, LocalDate from, LocalDate to, Granularity granularity,
+            Function<R, LocalDate> dayOf, Function<R, WorkReport.Shift> shiftOf,
+            Function<String, B> newBucket, BiConsumer<B, R> accumulate) {
+
+        checkRange(from, to, granularity);
+        if (granularity == Granularity.SHIFT && shiftOf == null) {
+            throw new IllegalArgumentException("SHIFT granularity is not available for this series");
+        }
+
+        List<B> buckets = new ArrayList<>();
+        long lowest = position(from, null, granularity);
+        long highest = position(to.plusDays(1), null, granularity);
+        int i = 0;
+
+        for (LocalDate start = firstBucketStart(from, granularity); !start.isAfter(to); start = next(start, granularity)) {
+            if (granularity == Granularity.SHIFT) {
+                for (WorkReport.Shift shift : WorkReport.Shift.values()) {
+                    long end = Math.min(position(start, shift, granularity) + 1, highest);
+                    i = merge(rows, i, lowest, end, newBucket.apply(start + " " + shift.name()), buckets,
+                            dayOf, shiftOf, granularity, accumulate);
+                }
+            } else {
+                long end = Math.min(position(next(start, granularity), null, granularity), highest);
+                i = merge(rows, i, lowest, end, newBucket.apply(label(start, granularity)), buckets,
+                        dayOf, shiftOf, granularity, accumulate);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Rejects ranges that are inverted or would need more than {@link #MAX_BUCKETS} buckets, so
+     * callers can check before they query the rows.
+     */
+    public void checkRange(LocalDate from, LocalDate to, Granularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid date range: 'from' must be before or equal to 'to'");
+        }
+        LocalDate start = firstBucketStart(from, granularity);
+        long buckets = switch (granularity) {
+            case WEEK -> ChronoUnit.WEEKS.between(start, to) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(start, to) + 1;
+            case SHIFT -> (ChronoUnit.DAYS.between(start, to) + 1) * WorkReport.Shift.values().length;
+            default -> ChronoUnit.DAYS.between(start, to) + 1;
+        };
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range too long: " + buckets + " " + granularity
+                    + " buckets, at most " + MAX_BUCKETS + ". Use a shorter range or a coarser granularity.");
+        }
+    }
+
+    // Adds rows[i..] that fall before end to bucket, skipping rows before the range
+    private <R, B> int merge(List<R> rows, int i, long lowest, long end, B bucket, List<B> buckets,
+            Function<R, LocalDate> dayOf, Function<R, WorkReport.Shift> shiftOf, Granularity granularity,
+            BiConsumer<B, R> accumulate) {
+
+        while (i < rows.size()) {
+            R row = rows.get(i);
+            long pos = position(dayOf.apply(row), shiftOf != null ? shiftOf.apply(row) : null, granularity);
+            if (pos >= end) {
+                break;
+            }
+            if (pos >= lowest) {
+                accumulate.accept(bucket, row);
+            }
+            i++;
+        }
+        buckets.add(bucket);
+        return i;
+    }
+
+    private static long position(LocalDate day, WorkReport.Shift shift, Granularity granularity) {
+        if (granularity == Granularity.SHIFT) {
+            return day.toEpochDay() * 2 + (shift != null ? shift.ordinal() : 0);
+        }
+        return day.toEpochDay();
+    }
+
+    private static LocalDate firstBucketStart(LocalDate from, Granularity granularity) {
+        return switch (granularity) {
+            case WEEK -> from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> from.withDayOfMonth(1);
+            default -> from;
+        };
+    }
+
+    private static LocalDate next(LocalDate start, Granularity granularity) {
+        return switch (granularity) {
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+            default -> start.plusDays(1);
+        };
+    }
+
+    private static String label(LocalDate start, Granularity granularity) {
+        return granularity == Granularity.MONTH ? start.format(MONTH_LABEL) : start.toString();
+    }
+}
@@ -0,0 +1,423 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * {@link SheetReader} over an uploaded file.
+ * <ul>
+ * <li>XLSX is read with SAX straight from the sheet XML; only the shared-strings table is
+ * held in memory.</li>
+ * <li>CSV/TSV is read a character at a time; the delimiter (comma, semicolon or tab) is the
+ * one the header line uses most.</li>
+ * <li>XLS goes through POI's HSSF workbook; the format stops at 65,536 rows.</li>
+ * </ul>
+ * Cells come through as their stored value, not their display text, the same as the
+ * wizard's preview: dates and times stay Excel serial numbers, which {@link ImportUtil}
+ * converts. Rows with no selected cell are skipped.
+ */
+class UploadedSheetReader implements SheetReader {
+
+    private enum Format {
+        XLSX, XLS, CSV
+    }
+
+    private final Path file;
+    private final Format format;
+    private final String sheet;
+    private final Integer headerRow;
+    private final Map<String, String> columns;
+
+    private UploadedSheetReader(Path file, Format format, String sheet, Integer headerRow,
+            Map<String, String> columns) {
+        this.file = file;
+        this.format = format;
+        this.sheet = sheet == null || sheet.isBlank() ? null : sheet;
+        this.headerRow = headerRow;
+        this.columns = columns;
+    }
+
+    static UploadedSheetReader open(MultipartFile upload, String sheet, Integer headerRow, Map<String, String> columns)
+            throws IOException {
+        if (upload == null || upload.isEmpty()) {
+            throw new IllegalArgumentException("No file uploaded.");
+        }
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns selected.");
+        }
+        String name = upload.getOriginalFilename() == null ? "" : upload.getOriginalFilename().toLowerCase(Locale.ROOT);
+        Format format;
+        if (name.endsWith(".xlsx")) {
+            format = Format.XLSX;
+        } else if (name.endsWith(".xls")) {
+            format = Format.XLS;
+        } else if (name.endsWith(".csv") || name.endsWith(".tsv") || name.endsWith(".txt")) {
+            format = Format.CSV;
+        } else {
+            throw new IllegalArgumentException("Unsupported file type: " + upload.getOriginalFilename()
+                    + ". Expected .xlsx, .xls or .csv");
+        }
+
+        Path file = Files.createTempFile("import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try (InputStream in = upload.getInputStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new UploadedSheetReader(file, format, sheet, headerRow, columns);
+    }
+
+    @Override
+    public void forEachRow(RowConsumer action) throws IOException {
+        Layout layout = new Layout(headerRow, columns, action);
+        switch (format) {
+            case XLSX -> readXlsx(layout);
+            case XLS -> readXls(layout);
+            case CSV -> readCsv(layout);
+        }
+        layout.finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // ================== XLSX ==================
+    private void readXlsx(Layout layout) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream in = sheets.next()) {
+                    if (sheet == null || sheet.equals(sheets.getSheetName())) {
+                        XMLReader parser = XMLHelper.newXMLReader();
+                        parser.setContentHandler(new XlsxSheetHandler(strings, layout));
+                        parser.parse(new InputSource(in));
+                        return;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Sheet not found: " + sheet);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IllegalArgumentException("Cannot read the Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    /** Collects {@code <c>} values of each {@code <row>} of a worksheet part. */
+    private static final class XlsxSheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable strings;
+        private final Layout layout;
+        private final StringBuilder text = new StringBuilder();
+        private final List<String> cells = new ArrayList<>();
+
+        private int rowNumber;
+        private int column;
+        private String type;
+        private boolean inValue;
+
+        XlsxSheetHandler(ReadOnlySharedStringsTable strings, Layout layout) {
+            this.strings = strings;
+            this.layout = layout;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                    cells.clear();
+                    column = -1;
+                }
+                case "c" -> {
+                    String r = attributes.getValue("r");
+                    column = r != null ? columnIndex(r) : column + 1;
+                    type = attributes.getValue("t");
+                    text.setLength(0);
+                }
+                // <v> holds the value; <t> the text of an inline string
+                case "v", "t" -> inValue = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> set(cells, column, value());
+                case "row" -> layout.row(rowNumber, cells);
+                default -> {
+                }
+            }
+        }
+
+        private String value() {
+            if (text.isEmpty()) {
+                return null;
+            }
+            String raw = text.toString();
+            if ("s".equals(type)) {
+                return strings.getItemAt(Integer.parseInt(raw)).getString();
+            }
+            if ("b".equals(type)) {
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            }
+            if (type == null || "n".equals(type)) {
+                // As Excel shows it: 42, not the 42.0 some writers store
+                try {
+                    return NumberToTextConverter.toText(Double.parseDouble(raw));
+                } catch (NumberFormatException e) {
+                    return raw;
+                }
+            }
+            return raw;
+        }
+
+        /** "AB12" to 27. */
+        private static int columnIndex(String reference) {
+            int index = 0;
+            for (int i = 0; i < reference.length() && Character.isLetter(reference.charAt(i)); i++) {
+                index = index * 26 + (Character.toUpperCase(reference.charAt(i)) - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+
+    // ================== XLS ==================
+    private void readXls(Layout layout) throws IOException {
+        try (InputStream in = Files.newInputStream(file); HSSFWorkbook workbook = new HSSFWorkbook(in)) {
+            Sheet source = sheet == null ? workbook.getSheetAt(0) : workbook.getSheet(sheet);
+            if (source == null) {
+                throw new IllegalArgumentException("Sheet not found: " + sheet);
+            }
+            List<String> cells = new ArrayList<>();
+            for (Row row : source) {
+                cells.clear();
+                for (Cell cell : row) {
+                    set(cells, cell.getColumnIndex(), value(cell));
+                }
+                layout.row(row.getRowNum() + 1, cells);
+            }
+        }
+    }
+
+    private static String value(Cell cell) {
+        CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        return switch (type) {
+            case STRING -> cell.getStringCellValue();
+            case NUMERIC -> NumberToTextConverter.toText(cell.getNumericCellValue());
+            case BOOLEAN -> cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            default -> null;
+        };
+    }
+
+    // ================== CSV ==================
+    private void readCsv(Layout layout) throws IOException {
+        try (PushbackReader reader = new PushbackReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            skipByteOrderMark(reader);
+            char delimiter = 0;
+            List<String> cells = new ArrayList<>();
+            StringBuilder line = new StringBuilder();
+            int rowNumber = 0;
+            while (readRecord(reader, line)) {
+                rowNumber++;
+                if (delimiter == 0) {
+                    delimiter = detectDelimiter(line);
+                }
+                split(line, delimiter, cells);
+                layout.row(rowNumber, cells);
+            }
+        }
+    }
+
+    private static void skipByteOrderMark(PushbackReader reader) throws IOException {
+        int first = reader.read();
+        if (first != -1 && first != '\uFEFF') {
+            reader.unread(first);
+        }
+    }
+
+    /** One record into {@code record}, keeping newlines inside quotes; false at end of input. */
+    private static boolean readRecord(PushbackReader reader, StringBuilder record) throws IOException {
+        record.setLength(0);
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if ((c == '\n' || c == '\r') && !quoted) {
+                if (c == '\r') {
+                    int next = reader.read();
+                    if (next != '\n' && next != -1) {
+                        reader.unread(next);
+                    }
+                }
+                return true;
+            }
+            record.append((char) c);
+        }
+        return !record.isEmpty();
+    }
+
+    private static char detectDelimiter(CharSequence header) {
+        int commas = 0;
+        int semicolons = 0;
+        int tabs = 0;
+        boolean quoted = false;
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                commas += c == ',' ? 1 : 0;
+                semicolons += c == ';' ? 1 : 0;
+                tabs += c == '\t' ? 1 : 0;
+            }
+        }
+        if (tabs >= commas && tabs >= semicolons && tabs > 0) {
+            return '\t';
+        }
+        return semicolons > commas ? ';' : ',';
+    }
+
+    private static void split(CharSequence record, char delimiter, List<String> cells) {
+        cells.clear();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == delimiter && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+    }
+
+    // ================== LAYOUT ==================
+    private static void set(List<String> cells, int column, String value) {
+        while (cells.size() <= column) {
+            cells.add(null);
+        }
+        cells.set(column, value);
+    }
+
+    /**
+     * Finds the header row, maps the selected columns to field names, and hands every row
+     * below it to the importer as a map. Blank rows are skipped but keep their number, so
+     * errors point at the row the user sees in the spreadsheet.
+     */
+    private static final class Layout {
+        private final Integer headerRow;
+        private final Map<String, String> columns;
+        private final RowConsumer action;
+
+        /** Column index to field name, once the header row is seen. */
+        private Map<Integer, String> fields;
+
+        Layout(Integer headerRow, Map<String, String> columns, RowConsumer action) {
+            this.headerRow = headerRow;
+            this.columns = new HashMap<>();
+            columns.forEach((header, field) -> this.columns.put(normalize(header), field));
+            this.action = action;
+        }
+
+        void row(int rowNumber, List<String> cells) {
+            if (fields == null) {
+                if (headerRow == null || rowNumber == headerRow) {
+                    header(cells);
+                }
+                return;
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            fields.forEach((index, field) -> {
+                String value = index < cells.size() ? cells.get(index) : null;
+                if (value != null && !value.isBlank()) {
+                    row.put(field, value);
+                }
+            });
+            if (!row.isEmpty()) {
+                action.accept(rowNumber, row);
+            }
+        }
+
+        void finish() {
+            if (fields == null) {
+                throw new IllegalArgumentException(headerRow != null
+                        ? "Row " + headerRow + " does not contain any of the selected columns."
+                        : "No header row with the selected columns was found.");
+            }
+        }
+
+        private void header(List<String> cells) {
+            Map<Integer, String> found = new LinkedHashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String field = cells.get(i) == null ? null : columns.get(normalize(cells.get(i)));
+                if (field != null) {
+                    found.put(i, field);
+                }
+            }
+            if (!found.isEmpty()) {
+                fields = found;
+            }
+        }
+
+        private static String normalize(String header) {
+            return header.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ahqpck.maintenance.report.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * XLSX through POI's SXSSF: only the last {@code windowRows} rows are in memory, older ones
+ * are flushed to a compressed temp file and zipped into the response on {@link #finish()}.
+ * Rolls over to a new sheet when one is full.
+ */
+public class XlsxExportWriter implements ExportWriter {
+
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle dateTimeStyle;
+    private final CellStyle dateStyle;
+
+    private List<String> header;
+    private Sheet sheet;
+    private int rowIndex;
+
+    public XlsxExportWriter(OutputStream out, int windowRows) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(windowRows);
+        this.workbook.setCompressTempFiles(true);
+        short dateTimeFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+        short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
+        this.dateTimeStyle = workbook.createCellStyle();
+        this.dateTimeStyle.setDataFormat(dateTimeFormat);
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(dateFormat);
+    }
+
+    @Override
+    public void writeHeader(List<String> names) {
+        this.header = List.copyOf(names);
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values, int count) {
+        if (rowIndex == MAX_ROWS) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < count; i++) {
+            setValue(row.createCell(i), values[i]);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Also deletes the temp files of the flushed rows
+        workbook.close();
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet("Sheet" + (workbook.getNumberOfSheets() + 1));
+        rowIndex = 0;
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < header.size(); i++) {
+            row.createCell(i).setCellValue(header.get(i));
+        }
+    }
+
+    private void setValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package ahqpck.maintenance.report.util;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import ahqpck.maintenance.report.entity.CodeSequence;
+import ahqpck.maintenance.report.repository.CodeSequenceRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
 
+/**
+ * Hands out codes from a per-prefix counter in {@code code_sequences}. Each call reserves its
+ * numbers under a row lock and commits at once, so a form save and a running import never
+ * get the same code, however long either takes to insert its rows.
+ */
 @Component
+@RequiredArgsConstructor
 public class ZeroPaddedCodeGenerator {
 
+    private static final int MAX_ATTEMPTS = 2;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final CodeSequenceRepository sequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Generates the next zero-padded code for a given entity and prefix.
      *
@@ -24,6 +44,50 @@ public class ZeroPaddedCodeGenerator {
      * @return Next code in format: {prefix}{6-digit number}, e.g., CP000001
      */
     public String generate(Class<?> entityClass, String codeField, String prefix) {
+        return generate(entityClass, codeField, prefix, 1).get(0);
+    }
+
+    /**
+     * Reserves {@code count} consecutive codes at once, for imports that create many rows.
+     * Numbers of rows that are never saved are not handed out again.
+     *
+     * @return The codes in order, e.g. CP000042, CP000043, ...
+     */
+    public List<String> generate(Class<?> entityClass, String codeField, String prefix, int count) {
+        int first = reserve(entityClass, codeField, prefix, count);
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(prefix + String.format("%06d", first + i));
+        }
+        return codes;
+    }
+
+    // Own transaction: the counter row stays locked for the reservation only, not through the
+    // caller's inserts
+    private int reserve(Class<?> entityClass, String codeField, String prefix, int count) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transaction.execute(status -> {
+                    CodeSequence sequence = sequenceRepository.findForUpdate(prefix)
+                            .orElseGet(() -> new CodeSequence(prefix, 1));
+                    // Codes saved without the counter (typed in, or older than it) are skipped as well
+                    int first = Math.max(sequence.getNextValue(), nextNumber(entityClass, codeField, prefix));
+                    sequence.setNextValue(first + count);
+                    sequenceRepository.saveAndFlush(sequence);
+                    return first;
+                });
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                // Another reservation created the prefix's row first; it is there to lock now
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private int nextNumber(Class<?> entityClass, String codeField, String prefix) {
         String jpql = "SELECT MAX(e." + codeField + ") " +
                       "FROM " + entityClass.getSimpleName() + " e " +
                       "WHERE e." + codeField + " LIKE :prefixPattern";
@@ -43,10 +107,10 @@ public class ZeroPaddedCodeGenerator {
                 }
             }
 
-            return prefix + String.format("%06d", nextNumber);
+            return nextNumber;
         } catch (IllegalArgumentException | NoResultException e) {
             // Handle invalid query or no results gracefully
-            return prefix + "000001";
+            return 1;
         }
     }
 }
\ No newline at end of file
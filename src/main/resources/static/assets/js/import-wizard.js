@@ -21,7 +21,7 @@ class ImportWizard {
             exportPdfBtnId: 'exportPdf',
 
             // Hidden input names
-            dataFieldName: 'data',
+            columnsFieldName: 'columns',
             sheetFieldName: 'sheet',
             headerRowFieldName: 'headerRow',
 
@@ -43,7 +43,8 @@ class ImportWizard {
         this.workbook = null;
         this.selectedSheet = "";
         this.headerRowIndex = 0;
-        this.parsedData = [];
+        this.columns = {};
+        this.dataRowCount = 0;
         this.steps = ['sheetSelection', 'columnMapping', 'previewSection'];
         this.currentStep = -1;
 
@@ -203,21 +204,13 @@ class ImportWizard {
             tbody.appendChild(tr);
         }
 
-        // Build parsed data
-        this.parsedData = [];
-        for (let i = this.headerRowIndex + 1; i < rows.length; i++) {
-            const row = rows[i];
-            const obj = {};
-            selectedIndices.forEach(idx => {
-                const btn = document.querySelector(`.col-btn[data-idx="${idx}"]`);
-                if (btn && btn.classList.contains('selected')) {
-                    const display = btn.textContent.trim();
-                    const key = this.options.fieldMapping[display] || display.toLowerCase();
-                    obj[key] = row[idx];
-                }
-            });
-            this.parsedData.push(obj);
-        }
+        // Selected columns by header text; the server reads the rows from the file itself
+        this.columns = {};
+        selectedBtns.forEach(btn => {
+            const display = btn.textContent.trim();
+            this.columns[display] = this.options.fieldMapping[display] || display.toLowerCase();
+        });
+        this.dataRowCount = rows.length - this.headerRowIndex - 1;
     }
 
     bindNavigation() {
@@ -233,7 +226,7 @@ class ImportWizard {
 
     bindFinalImport() {
         document.getElementById(this.options.importBtnId).addEventListener('click', () => {
-            if (this.parsedData.length === 0) {
+            if (this.dataRowCount <= 0 || Object.keys(this.columns).length === 0) {
                 this.options.onError(new Error("No data to import."));
                 return;
             }
@@ -241,13 +234,101 @@ class ImportWizard {
             if (this.options.onBeforeImport() === false) return;
 
             const form = document.getElementById(this.options.formId);
-            document.getElementById('importData').value = JSON.stringify(this.parsedData);
+            // The preview rows are counted from the sheet's used range, which need not start at row 1
+            const range = XLSX.utils.decode_range(this.workbook.Sheets[this.selectedSheet]['!ref']);
+            document.getElementById('importColumns').value = JSON.stringify(this.columns);
             document.getElementById('importSheet').value = this.selectedSheet;
-            document.getElementById('importHeaderRow').value = this.headerRowIndex + 1;
+            document.getElementById('importHeaderRow').value = range.s.r + this.headerRowIndex + 1;
+
+            // Imports run as background jobs; the modal follows the job until it is done
+            const importBtn = document.getElementById(this.options.importBtnId);
+            importBtn.disabled = true;
+            fetch(form.action, { method: 'POST', body: new FormData(form) })
+                .then(res => res.json().then(body => {
+                    if (!res.ok) throw new Error(body.error || `Import failed (${res.status})`);
+                    return body;
+                }))
+                .then(job => {
+                    this.showStep(-1);
+                    document.getElementById(this.options.prevBtnId).style.display = 'none';
+                    importBtn.style.display = 'none';
+                    this.trackJob(job, form.dataset.jobsUrl);
+                    this.options.onSuccess(job);
+                })
+                .catch(err => {
+                    importBtn.disabled = false;
+                    this.options.onError(err);
+                });
+        });
+    }
+
+    trackJob(job, jobsUrl) {
+        const panel = this.progressPanel();
+        const jobUrl = `${jobsUrl}/${job.id}`;
 
-            form.submit();
-            this.options.onSuccess();
+        panel.querySelector('.import-cancel').onclick = () => {
+            fetch(`${jobUrl}/cancel`, { method: 'POST' })
+                .then(res => res.json())
+                .then(updated => this.renderJob(panel, updated));
+        };
+
+        const poll = (current) => {
+            this.renderJob(panel, current);
+            if (['COMPLETED', 'CANCELLED', 'FAILED'].includes(current.status)) return;
+            setTimeout(() => {
+                fetch(jobUrl)
+                    .then(res => res.json())
+                    .then(poll)
+                    .catch(() => setTimeout(() => poll(current), 5000));
+            }, 1000);
+        };
+        poll(job);
+    }
+
+    progressPanel() {
+        let panel = document.getElementById('importProgress');
+        if (panel) return panel;
+
+        panel = document.createElement('div');
+        panel.id = 'importProgress';
+        panel.innerHTML = `
+            <h6><i class="fas fa-tasks mr-1"></i> Import Progress</h6>
+            <p class="mb-2"><strong class="import-status"></strong> <span class="text-muted import-file"></span></p>
+            <ul class="list-unstyled mb-3 import-counts"></ul>
+            <p class="text-danger import-failure"></p>
+            <ul class="small text-danger import-errors"></ul>
+            <button type="button" class="btn btn-outline-danger btn-sm import-cancel">Cancel import</button>
+            <button type="button" class="btn btn-primary btn-sm import-done" style="display:none;">Close &amp; refresh</button>`;
+        panel.querySelector('.import-done').onclick = () => window.location.reload();
+        document.getElementById(this.options.formId).after(panel);
+        return panel;
+    }
+
+    renderJob(panel, job) {
+        const finished = ['COMPLETED', 'CANCELLED', 'FAILED'].includes(job.status);
+        const status = job.cancelRequested && !finished ? 'CANCELLING' : job.status;
+
+        panel.querySelector('.import-status').textContent = status.charAt(0) + status.slice(1).toLowerCase();
+        panel.querySelector('.import-file').textContent = job.fileName || '';
+        panel.querySelector('.import-counts').innerHTML = '';
+        [['Rows read', job.parsed], ['Valid', job.validated], ['Imported', job.persisted], ['Failed', job.failed]]
+            .forEach(([label, count]) => {
+                const li = document.createElement('li');
+                li.textContent = `${label}: ${count}`;
+                panel.querySelector('.import-counts').appendChild(li);
+            });
+        panel.querySelector('.import-failure').textContent = job.failureReason || '';
+
+        const errors = panel.querySelector('.import-errors');
+        errors.innerHTML = '';
+        (job.errorMessages || []).forEach(err => {
+            const li = document.createElement('li');
+            li.textContent = err;
+            errors.appendChild(li);
         });
+
+        panel.querySelector('.import-cancel').style.display = finished || job.cancelRequested ? 'none' : 'inline-block';
+        panel.querySelector('.import-done').style.display = finished ? 'inline-block' : 'none';
     }
 
     // bindExportExcel() {
@@ -1,3 +1,29 @@
+// Overview: the first render of each chart is served from one /api/dashboards/overview
+// call; filter changes keep using the per-chart endpoints.
+let overviewRequest = null;
+
+document.addEventListener('DOMContentLoaded', () => {
+    overviewRequest = fetch(`${baseUrl}/api/dashboards/overview`)
+        .then(r => r.ok ? r.json() : null)
+        .catch(() => null);
+});
+
+function fetchJson(url) {
+    return fetch(url).then(r => {
+        if (!r.ok) throw new Error(`HTTP error! status: ${r.status}`);
+        return r.json();
+    });
+}
+
+// Resolves with the overview section if it was returned, otherwise calls url
+function fetchSection(section, url) {
+    if (!section || !overviewRequest) return fetchJson(url);
+    return overviewRequest.then(overview => {
+        const data = overview && overview.sections ? overview.sections[section] : null;
+        return data != null ? data : fetchJson(url);
+    });
+}
+
 // Helper Functions
 function formatDate(date) {
     return date.toISOString().split('T')[0]; // YYYY-MM-DD
@@ -55,7 +81,7 @@ function setComplaintStatsDefaults() {
     }
 }
 
-function fetchComplaintStats(from, to) {
+function fetchComplaintStats(from, to, section = null) {
     let url = `${baseUrl}/api/dashboards/status-count`;
     const params = new URLSearchParams();
 
@@ -66,11 +92,7 @@ function fetchComplaintStats(from, to) {
         url += '?' + params.toString();
     }
 
-    fetch(url)
-        .then(response => {
-            if (!response.ok) throw new Error('Network error');
-            return response.json();
-        })
+    fetchSection(section, url)
         .then(data => {
             document.getElementById('complaint-stats-total').textContent = data.totalAllComplaints || 0;
             document.getElementById('complaint-stats-open').textContent = data.totalOpen || 0;
@@ -95,13 +117,13 @@ function initComplaintStatsForm() {
     const from = document.getElementById('complaint-stats-from').value;
     const to = document.getElementById('complaint-stats-to').value;
 
-    fetchComplaintStats(from, to);
+    fetchComplaintStats(from, to, 'statusCount');
 }
 
 // Complaint Chart
 let complaintChart = null;
 
-function updateComplaintChart(mode, from = null, to = null, year = null) {
+function updateComplaintChart(mode, from = null, to = null, year = null, section = null) {
     if (mode === 'yearly') {
         const url = `/api/dashboards/monthly-complaint${year ? '?year=' + year : ''}`;
         fetch(url)
@@ -139,8 +161,7 @@ function updateComplaintChart(mode, from = null, to = null, year = null) {
         const toApi = toApiDateTime(to, true);     // T23:59
         const url = `/api/dashboards/daily-complaint?from=${fromApi}&to=${toApi}`;
 
-        fetch(url)
-            .then(r => r.json())
+        fetchSection(section, url)
             .then(data => {
                 if (!Array.isArray(data)) return;
 
@@ -278,7 +299,7 @@ function initComplaintChartForm() {
         }
     });
 
-    updateComplaintChart('daily', formatDate(from), formatDate(now));
+    updateComplaintChart('daily', formatDate(from), formatDate(now), null, 'dailyComplaint');
 }
 
 // Engineers Responsibility
@@ -296,8 +317,7 @@ function fetchEngineerData(from = null, to = null) {
         url += `?from=${from}&to=${to}`;
     }
 
-    fetch(url)
-        .then(res => res.json())
+    fetchSection(from && to ? null : 'assigneeDailyStatus', url)
         .then(data => {
             currentFrom = data.dates[0];
             currentTo = data.dates[data.dates.length - 1];
@@ -521,7 +541,7 @@ function renderWrChart(labels, corrective, preventive, breakdown, other, title)
     });
 }
 
-function updateWrChart(mode, from = null, to = null, year = null, equipmentCode = null) {
+function updateWrChart(mode, from = null, to = null, year = null, equipmentCode = null, section = null) {
     let url = '';
     if (mode === 'yearly') {
         url = `/api/dashboards/monthly-work-report-equipment?year=${year}`;
@@ -535,11 +555,7 @@ function updateWrChart(mode, from = null, to = null, year = null, equipmentCode
 
     console.log("Fetching:", url);
 
-    fetch(url)
-        .then(r => {
-            if (!r.ok) throw new Error(`HTTP error! status: ${r.status}`);
-            return r.json();
-        })
+    fetchSection(section, url)
         .then(data => {
             if (!Array.isArray(data)) {
                 console.warn("Expected array, got:", data);
@@ -606,8 +622,7 @@ function initWrChartForm() {
 
     populateYearSelector('wr-year-select', now.getFullYear());
 
-    fetch('/api/dashboards/equipment-complaint-count')
-        .then(r => r.json())
+    fetchSection('equipmentComplaintCount', '/api/dashboards/equipment-complaint-count')
         .then(equipmentList => {
             const select = document.getElementById('wr-equipment');
             equipmentList
@@ -618,7 +633,8 @@ function initWrChartForm() {
                 });
 
             const initialEquipment = document.getElementById('wr-equipment').value;
-            updateWrChart('daily', formatDate(from), formatDate(now), null, initialEquipment);
+            updateWrChart('daily', formatDate(from), formatDate(now), null, initialEquipment,
+                initialEquipment ? null : 'dailyWorkReportEquipment');
         })
         .catch(err => {
             console.warn("Failed to load equipment list:", err);
@@ -693,7 +709,7 @@ document.addEventListener('DOMContentLoaded', () => {
 // Breakdown Chart
 let breakdownChart = null;
 
-function updateBreakdownChart(mode, from = null, to = null, year = null) {
+function updateBreakdownChart(mode, from = null, to = null, year = null, section = null) {
     const ctx = document.getElementById('breakdown-line-chart').getContext('2d');
     if (breakdownChart) breakdownChart.destroy();
 
@@ -779,11 +795,7 @@ function updateBreakdownChart(mode, from = null, to = null, year = null) {
             .catch(err => console.error('Monthly breakdown fetch error:', err));
 
     } else {
-        fetch(`/api/dashboards/daily-breakdown?from=${from}&to=${to}`)
-            .then(r => {
-                if (!r.ok) throw new Error(`HTTP ${r.status}`);
-                return r.json();
-            })
+        fetchSection(section, `/api/dashboards/daily-breakdown?from=${from}&to=${to}`)
             .then(data => {
                 if (!Array.isArray(data)) return;
 
@@ -912,7 +924,7 @@ function initBreakdownChartForm() {
         }
     });
 
-    updateBreakdownChart('daily', formatDate(from), formatDate(now));
+    updateBreakdownChart('daily', formatDate(from), formatDate(now), null, 'dailyBreakdownTime');
 }
 
 // Equipment Repaired
@@ -934,7 +946,7 @@ function formatMinutes(minutes) {
     return `${formatNumber(minutes)} min`;
 }
 
-async function fetchEquipmentWorkData() {
+async function fetchEquipmentWorkData(section = null) {
     const container = document.getElementById(CONTAINER_ID);
     if (!container) {
         console.error('❌ Container not found:', CONTAINER_ID);
@@ -944,12 +956,7 @@ async function fetchEquipmentWorkData() {
     container.innerHTML = '<div class="text-center py-3">Loading...</div>';
 
     try {
-        const response = await fetch(EQUIPMENT_WORK_API_URL);
-        if (!response.ok) {
-            throw new Error(`HTTP ${response.status}: ${response.statusText}`);
-        }
-
-        wrAllData = await response.json();
+        wrAllData = await fetchSection(section, EQUIPMENT_WORK_API_URL);
         console.log('✅ API Response:', wrAllData);
 
         wrAllData.sort((a, b) => (b.totalResolutionTime || 0) - (a.totalResolutionTime || 0));
@@ -1107,7 +1114,7 @@ function enableScrollNavigation() {
 function initEquipmentWorkList() {
     setupButtons();
     enableScrollNavigation();
-    fetchEquipmentWorkData();
+    fetchEquipmentWorkData('equipmentCount');
 }
 
 window.addEventListener('DOMContentLoaded', () => {
@@ -1116,4 +1123,93 @@ window.addEventListener('DOMContentLoaded', () => {
     fetchEngineerData();
     initEquipmentWorkList();
     initBreakdownChartForm();
-});
\ No newline at end of file
+});
+// Live updates: /api/dashboards/stream pushes signed deltas after every committed write,
+// so open screens stay current without re-polling every chart.
+function addToText(id, delta) {
+    const el = document.getElementById(id);
+    if (el && delta) el.textContent = (parseInt(el.textContent) || 0) + delta;
+}
+
+function applyComplaintDelta(complaintDaily) {
+    const statsFrom = (document.getElementById('complaint-stats-from')?.value || '').slice(0, 10);
+    const statsTo = (document.getElementById('complaint-stats-to')?.value || '').slice(0, 10);
+    let changed = false;
+
+    Object.entries(complaintDaily).forEach(([day, statuses]) => {
+        const reported = s => (statuses[s] && statuses[s].reported) || 0;
+        const closed = s => (statuses[s] && statuses[s].closed) || 0;
+        const inStatsRange = day >= statsFrom && day < statsTo;
+
+        // Same rules as DashboardRepository.getStatusCount
+        addToText('complaint-stats-total', Object.keys(statuses).reduce((sum, s) => sum + reported(s), 0));
+        addToText('complaint-stats-pending', reported('PENDING'));
+        if (inStatsRange) {
+            addToText('complaint-stats-open', reported('OPEN') + reported('IN_PROGRESS'));
+            addToText('complaint-stats-closed', closed('DONE') + closed('CLOSED'));
+        }
+
+        if (complaintChart) {
+            const i = complaintChart.data.labels.indexOf(day);
+            if (i >= 0) {
+                const [open, closedSet, pending] = complaintChart.data.datasets;
+                open.data[i] += reported('OPEN');
+                closedSet.data[i] += closed('CLOSED');
+                pending.data[i] += reported('PENDING');
+                changed = true;
+            }
+        }
+    });
+
+    if (changed) complaintChart.update();
+}
+
+function applyWorkReportDelta(workReportDaily) {
+    if (!breakdownChart) return;
+    const dataset = breakdownChart.data.datasets[0];
+    let changed = false;
+
+    Object.entries(workReportDaily).forEach(([day, categories]) => {
+        const breakdown = categories.BREAKDOWN;
+        const i = breakdownChart.data.labels.indexOf(day);
+        if (!breakdown || i < 0) return;
+        dataset.data[i] += breakdown.minutes || 0;
+        if (dataset.breakdownCounts) dataset.breakdownCounts[i] += breakdown.count || 0;
+        changed = true;
+    });
+
+    if (changed) breakdownChart.update();
+}
+
+function applyAssigneeDelta(assigneeDaily) {
+    if (!currentFrom || !currentTo) return;
+    const touchesRange = Object.values(assigneeDaily)
+        .some(days => Object.keys(days).some(day => day >= currentFrom && day <= currentTo));
+    if (touchesRange) fetchEngineerData(`${currentFrom}T00:00`, `${currentTo}T23:59`);
+}
+
+function resyncDashboard() {
+    document.getElementById('complaint-stats-form')?.requestSubmit();
+    document.getElementById('apply-complaint-filters')?.click();
+    document.getElementById('apply-breakdown-filters')?.click();
+    document.getElementById('apply-filters-btn')?.click();
+    if (currentFrom && currentTo) fetchEngineerData(`${currentFrom}T00:00`, `${currentTo}T23:59`);
+    fetchEquipmentWorkData();
+}
+
+function connectDashboardStream() {
+    if (!window.EventSource) return;
+    const source = new EventSource(`${baseUrl}/api/dashboards/stream`);
+
+    source.addEventListener('delta', e => {
+        const delta = JSON.parse(e.data);
+        if (delta.complaintDaily) applyComplaintDelta(delta.complaintDaily);
+        if (delta.workReportDaily) applyWorkReportDelta(delta.workReportDaily);
+        if (delta.assigneeDaily) applyAssigneeDelta(delta.assigneeDaily);
+    });
+
+    // Too far behind for replay (or the server restarted): reload every section
+    source.addEventListener('resync', () => resyncDashboard());
+}
+
+window.addEventListener('load', connectDashboardStream);
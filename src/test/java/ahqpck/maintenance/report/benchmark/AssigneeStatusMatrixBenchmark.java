@@ -0,0 +1,134 @@
+package ahqpck.maintenance.report.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusColumnarDTO;
+import ahqpck.maintenance.report.dto.AssigneeDailyStatusDTO;
+import ahqpck.maintenance.report.util.AssigneeStatusMatrix;
+
+/**
+ * Assignee daily status, previous list-scanning build vs the matrix, over days × assignees.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ahqpck.maintenance.report.benchmark.AssigneeStatusMatrixBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssigneeStatusMatrixBenchmark {
+
+    private static final String[] STATUSES = { "OPEN", "PENDING", "CLOSED" };
+
+    @Param({ "7", "31", "92" })
+    public int days;
+
+    @Param({ "10", "60" })
+    public int assignees;
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        to = LocalDate.of(2025, 8, 31);
+        from = to.minusDays(days - 1L);
+
+        // About half of the (assignee, status, day) cells have complaints, ordered like the query
+        Random random = new Random(42);
+        rows = new ArrayList<>();
+        for (int a = 0; a < assignees; a++) {
+            for (int d = 0; d < days; d++) {
+                for (String status : STATUSES) {
+                    if (random.nextBoolean()) {
+                        rows.add(new Object[] { "Technician " + a, status,
+                                java.sql.Date.valueOf(from.plusDays(d)), (long) (1 + random.nextInt(5)) });
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<List<Integer>>> listScan() {
+        return legacyBuild(rows, from, to);
+    }
+
+    @Benchmark
+    public AssigneeDailyStatusDTO matrixRows() {
+        return AssigneeStatusMatrix.build(rows, from, to).toRows();
+    }
+
+    @Benchmark
+    public AssigneeDailyStatusColumnarDTO matrixColumnar() {
+        return AssigneeStatusMatrix.build(rows, from, to).toColumnar();
+    }
+
+    // The build DashboardService used before the matrix: seed per date × row, then indexOf per row
+    private static Map<String, List<List<Integer>>> legacyBuild(List<Object[]> results, LocalDate fromDate,
+            LocalDate toDate) {
+
+        List<LocalDate> dateList = Stream.iterate(fromDate, d -> d.plusDays(1))
+                .takeWhile(d -> !d.isAfter(toDate))
+                .collect(Collectors.toList());
+        int numDays = dateList.size();
+
+        Map<String, List<List<Integer>>> assigneeMap = new LinkedHashMap<>();
+        for (LocalDate date : dateList) {
+            for (Object[] row : results) {
+                assigneeMap.computeIfAbsent((String) row[0], k -> {
+                    List<Integer> zeros = Collections.nCopies(numDays, 0);
+                    return List.of(new ArrayList<>(zeros), new ArrayList<>(zeros), new ArrayList<>(zeros));
+                });
+            }
+        }
+
+        for (Object[] row : results) {
+            LocalDate reportDate = ((java.sql.Date) row[2]).toLocalDate();
+            if (!dateList.contains(reportDate)) {
+                continue;
+            }
+            int dayIndex = dateList.indexOf(reportDate);
+            int status = switch ((String) row[1]) {
+                case "OPEN" -> 0;
+                case "PENDING" -> 1;
+                default -> 2;
+            };
+            assigneeMap.get((String) row[0]).get(status).set(dayIndex, Math.toIntExact(((Number) row[3]).longValue()));
+        }
+        return assigneeMap;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AssigneeStatusMatrixBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,178 @@
+package ahqpck.maintenance.report.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ahqpck.maintenance.report.util.DateColumnParser;
+import ahqpck.maintenance.report.util.ImportUtil;
+
+/**
+ * Text date and date-time columns as a CSV export has them, in values per second: the
+ * {@code legacy*} methods are the parsers {@link ImportUtil} had before (a formatter built per
+ * pattern per value, an exception per mismatch), {@code importUtil*} the single-value methods
+ * it has now, and {@code column*} one {@link DateColumnParser} per column with its format
+ * detected from the first value, as the imports use.
+ * The date-time column uses "MM/dd/yyyy HH:mm", which sits behind eight other formats.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ahqpck.maintenance.report.benchmark.DateColumnParserBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateColumnParserBenchmark {
+
+    private static final int VALUES = 10_000;
+
+    private final ImportUtil importUtil = new ImportUtil();
+    private List<String> dates;
+    private List<String> dateTimes;
+
+    @Setup
+    public void setUp() {
+        DateTimeFormatter date = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        DateTimeFormatter dateTime = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm");
+        Random random = new Random(42);
+        dates = new ArrayList<>(VALUES);
+        dateTimes = new ArrayList<>(VALUES);
+        for (int i = 0; i < VALUES; i++) {
+            LocalDateTime value = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(300_000));
+            dates.add(value.format(date));
+            dateTimes.add(value.format(dateTime));
+        }
+    }
+
+    // ================== DATES ==================
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void legacyDates(Blackhole blackhole) {
+        for (String value : dates) {
+            blackhole.consume(legacyToLocalDate(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void importUtilDates(Blackhole blackhole) {
+        for (String value : dates) {
+            blackhole.consume(importUtil.toLocalDate(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void columnDates(Blackhole blackhole) {
+        DateColumnParser column = new DateColumnParser();
+        column.detectDate(dates.get(0));
+        for (String value : dates) {
+            blackhole.consume(column.toLocalDate(value));
+        }
+    }
+
+    // ================== DATE-TIMES ==================
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void legacyDateTimes(Blackhole blackhole) {
+        for (String value : dateTimes) {
+            blackhole.consume(legacyToLocalDateTime(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void importUtilDateTimes(Blackhole blackhole) {
+        for (String value : dateTimes) {
+            blackhole.consume(importUtil.toLocalDateTime(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void columnDateTimes(Blackhole blackhole) {
+        DateColumnParser column = new DateColumnParser();
+        column.detectDateTime(dateTimes.get(0));
+        for (String value : dateTimes) {
+            blackhole.consume(column.toLocalDateTime(value));
+        }
+    }
+
+    // ================== PREVIOUS ImportUtil PARSERS (text branch only) ==================
+    private static LocalDate legacyToLocalDate(String str) {
+        if (str.matches("\\d+(\\.\\d+)?")) {
+            throw new IllegalArgumentException("Serials are not benchmarked: " + str);
+        }
+        return Stream.of(
+                "yyyy-MM-dd",
+                "dd/MM/yyyy", "MM/dd/yyyy",
+                "dd-MM-yyyy", "MM-dd-yyyy",
+                "MMM yyyy", "MMMM yyyy", "MM/yyyy", "M/yyyy", "yyyy-MM", "yyyy/MM")
+                .map(pattern -> {
+                    try {
+                        return DateTimeFormatter.ofPattern(pattern).parse(str);
+                    } catch (Exception ignored) {
+                        return (TemporalAccessor) null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .map(parsed -> LocalDate.of(parsed.get(ChronoField.YEAR), parsed.get(ChronoField.MONTH_OF_YEAR), 1))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid date format: " + str));
+    }
+
+    private static LocalDateTime legacyToLocalDateTime(String str) {
+        if (str.matches("\\d+(\\.\\d+)?")) {
+            throw new IllegalArgumentException("Serials are not benchmarked: " + str);
+        }
+        return Stream.of(
+                "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm",
+                "dd/MM/yyyy HH:mm:ss", "MM/dd/yyyy HH:mm:ss", "dd-MM-yyyy HH:mm:ss", "MM-dd-yyyy HH:mm:ss",
+                "dd/MM/yyyy HH:mm", "MM/dd/yyyy HH:mm", "dd-MM-yyyy HH:mm", "MM-dd-yyyy HH:mm",
+                "dd/MM/yyyy h:mm a", "MM/dd/yyyy h:mm a", "dd-MM-yyyy h:mm a", "MM-dd-yyyy h:mm a",
+                "yyyy-MM-dd h:mm a")
+                .map(pattern -> {
+                    try {
+                        return LocalDateTime.parse(str, DateTimeFormatter.ofPattern(pattern));
+                    } catch (DateTimeParseException ignored) {
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid date-time format: " + str));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DateColumnParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package ahqpck.maintenance.report.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ahqpck.maintenance.report.dto.WorkReportDTO;
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.service.BatchImporter;
+import ahqpck.maintenance.report.service.ImportProgress;
+import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.SheetReader;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Parse stage of an import over work-report rows (dates, durations, enums, Bean Validation),
+ * in rows per second for each number of parse threads. Half of the rows carry Excel serials,
+ * half text dates as a CSV export has them.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ahqpck.maintenance.report.benchmark.ImportParseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportParseBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({ "1", "2", "4", "8" })
+    public int parseThreads;
+
+    private BatchImporter batchImporter;
+    private BatchImporter.RowParser<WorkReportDTO> parser;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    public void setUp() {
+        batchImporter = new BatchImporter(null);
+        ReflectionTestUtils.setField(batchImporter, "parseThreads", parseThreads);
+        ReflectionTestUtils.invokeMethod(batchImporter, "init");
+
+        ImportUtil importUtil = new ImportUtil();
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        parser = row -> parseWorkReport(row, importUtil, validator);
+
+        DateTimeFormatter text = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+        Random random = new Random(42);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(300_000));
+            LocalDateTime stop = start.plusMinutes(15 + random.nextInt(240));
+            Map<String, Object> row = new LinkedHashMap<>();
+            if (i % 2 == 0) {
+                row.put("reportDate", String.valueOf(45658 + random.nextInt(200)));
+                row.put("startTime", String.valueOf(45658 + random.nextInt(200) + random.nextInt(96) / 96.0));
+                row.put("stopTime", String.valueOf(45658 + random.nextInt(200) + random.nextInt(96) / 96.0));
+                row.put("totalTime", String.valueOf(random.nextInt(96) / 96.0));
+            } else {
+                row.put("reportDate", start.toLocalDate().toString());
+                row.put("startTime", start.format(text));
+                row.put("stopTime", stop.format(text));
+                row.put("totalTime", (1 + random.nextInt(4)) + ":" + (10 + random.nextInt(50)));
+            }
+            row.put("shift", random.nextBoolean() ? "day" : "night");
+            row.put("category", WorkReport.Category.values()[random.nextInt(WorkReport.Category.values().length)].name());
+            row.put("status", "CLOSED");
+            row.put("scope", "MECHANICAL");
+            row.put("problem", "Problem " + i);
+            rows.add(row);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(batchImporter, "shutdown");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchImporter.Batch<WorkReportDTO> parse() throws Exception {
+        return batchImporter.parse(SheetReader.of(rows), new ImportProgress(), parser);
+    }
+
+    // The CPU-bound part of WorkReportService's row parser; reference lookups are left out
+    private static WorkReportDTO parseWorkReport(Map<String, Object> row, ImportUtil importUtil, Validator validator) {
+        WorkReportDTO dto = new WorkReportDTO();
+        dto.setReportDate(importUtil.toLocalDate(row.get("reportDate")));
+        dto.setShift(WorkReport.Shift.valueOf(importUtil.toString(row.get("shift")).toUpperCase()));
+        dto.setCategory(WorkReport.Category.valueOf(importUtil.toString(row.get("category")).toUpperCase()));
+        dto.setStatus(WorkReport.Status.valueOf(importUtil.toString(row.get("status")).toUpperCase()));
+        dto.setScope(WorkReport.Scope.valueOf(importUtil.toString(row.get("scope")).toUpperCase()));
+        dto.setProblem(importUtil.toString(row.get("problem")));
+        dto.setStartTime(importUtil.toLocalDateTime(row.get("startTime")));
+        dto.setStopTime(importUtil.toLocalDateTime(row.get("stopTime")));
+        dto.setTotalResolutionTimeMinutes(importUtil.toDurationInMinutes(row.get("totalTime")));
+        if (!validator.validate(dto).isEmpty()) {
+            throw new IllegalArgumentException("Validation failed");
+        }
+        return dto;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ImportParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
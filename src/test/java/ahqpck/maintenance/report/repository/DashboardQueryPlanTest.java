@@ -0,0 +1,183 @@
+package ahqpck.maintenance.report.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs EXPLAIN for every native query in {@link DashboardRepository} against a seeded MySQL
+ * and fails when a fact table is read with a full table scan or needs a filesort.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardQueryPlanTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // Aliases the dashboard queries give to complaints, work_reports and complaint_daily_stats
+    private static final Set<String> FACT_ALIASES = Set.of("c", "wr", "s", "t", "p");
+
+    // 0..9999 without depending on cte_max_recursion_depth
+    private static final String SEQ = """
+            (SELECT a.n + b.n * 10 + c.n * 100 + d.n * 1000 AS n
+             FROM (SELECT 0 n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                   UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) a
+             CROSS JOIN (SELECT 0 n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                   UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) b
+             CROSS JOIN (SELECT 0 n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                   UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) c
+             CROSS JOIN (SELECT 0 n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                   UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d) seq
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, employee_id, email, created_at, status)
+                SELECT CONCAT('U', n), CONCAT('User ', n), CONCAT('E', LPAD(n, 4, '0')),
+                       CONCAT('user', n, '@example.com'), NOW(), 'ACTIVE'
+                FROM """ + SEQ + " WHERE n < 50");
+
+        jdbcTemplate.update("""
+                INSERT INTO areas (id, code, name, status, responsible_person)
+                SELECT CONCAT('A', n), CONCAT('AR', LPAD(n, 3, '0')), CONCAT('Area ', n), 'ACTIVE', 'E0000'
+                FROM """ + SEQ + " WHERE n < 10");
+
+        jdbcTemplate.update("""
+                INSERT INTO equipments (id, code, name)
+                SELECT CONCAT('Q', n), CONCAT('EQ', LPAD(n, 4, '0')), CONCAT('Equipment ', n)
+                FROM """ + SEQ + " WHERE n < 200");
+
+        for (int batch = 0; batch < 3; batch++) {
+            jdbcTemplate.update("""
+                    INSERT INTO complaints (id, code, report_date, updated_at, area_code, equipment_code,
+                                            reporter, assignee, priority, category, status, close_time)
+                    SELECT CONCAT('C', ?, '-', n), CONCAT('CP', ?, LPAD(n, 5, '0')),
+                           NOW() - INTERVAL (n % 730) DAY - INTERVAL (n % 24) HOUR, NOW(),
+                           CONCAT('AR', LPAD(n % 10, 3, '0')), CONCAT('EQ', LPAD(n % 200, 4, '0')),
+                           CONCAT('E', LPAD(n % 50, 4, '0')), CONCAT('E', LPAD((n * 7) % 50, 4, '0')),
+                           'LOW', ELT(n % 3 + 1, 'MECHANICAL', 'ELECTRICAL', 'IT'),
+                           ELT(n % 5 + 1, 'OPEN', 'IN_PROGRESS', 'PENDING', 'DONE', 'CLOSED'),
+                           CASE WHEN n % 5 >= 3 THEN NOW() - INTERVAL (n % 700) DAY END
+                    FROM """ + SEQ, batch, batch);
+
+            jdbcTemplate.update("""
+                    INSERT INTO work_reports (id, code, shift, report_date, updated_at, area_code, equipment_code,
+                                              category, start_time, stop_time, total_resolution_time_minutes,
+                                              status, scope)
+                    SELECT CONCAT('W', ?, '-', n), CONCAT('WR', ?, LPAD(n, 5, '0')),
+                           ELT(n % 2 + 1, 'DAY', 'NIGHT'), CURRENT_DATE() - INTERVAL (n % 730) DAY, NOW(),
+                           CONCAT('AR', LPAD(n % 10, 3, '0')), CONCAT('EQ', LPAD(n % 200, 4, '0')),
+                           ELT(n % 7 + 1, 'CORRECTIVE_MAINTENANCE', 'PREVENTIVE_MAINTENANCE', 'BREAKDOWN',
+                               'INSPECTION', 'MODIFICATION', 'INSTALLATION', 'OTHER'),
+                           NOW() - INTERVAL (n % 730) DAY, NOW() - INTERVAL (n % 730) DAY + INTERVAL (n % 240) MINUTE,
+                           n % 240, 'CLOSED', 'MECHANICAL'
+                    FROM """ + SEQ, batch, batch);
+        }
+
+        jdbcTemplate.update("""
+                INSERT INTO complaint_daily_stats (stat_date, status, category, area_code, equipment_code,
+                                                   reported_count, closed_count)
+                SELECT DATE(report_date), status, category, COALESCE(area_code, ''), equipment_code, COUNT(*), 0
+                FROM complaints
+                GROUP BY DATE(report_date), status, category, COALESCE(area_code, ''), equipment_code
+                """);
+
+        jdbcTemplate.execute("ANALYZE TABLE complaints, work_reports, complaint_daily_stats, equipments, users");
+    }
+
+    static Stream<Method> dashboardQueries() {
+        return Stream.of(DashboardRepository.class.getDeclaredMethods())
+                .filter(m -> m.isAnnotationPresent(Query.class) && m.getAnnotation(Query.class).nativeQuery());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("dashboardQueries")
+    void factTablesAreNeitherFullyScannedNorFilesorted(Method method) {
+        String sql = method.getAnnotation(Query.class).value();
+        List<Map<String, Object>> plan = namedJdbcTemplate.queryForList("EXPLAIN " + sql, bind(method));
+
+        List<String> offending = new ArrayList<>();
+        for (Map<String, Object> row : plan) {
+            String table = String.valueOf(row.get("table"));
+            if (!FACT_ALIASES.contains(table)) {
+                continue;
+            }
+            String type = String.valueOf(row.get("type"));
+            String extra = String.valueOf(row.get("Extra"));
+            if ("ALL".equals(type) || extra.contains("Using filesort")) {
+                offending.add(table + " type=" + type + " extra=" + extra + " key=" + row.get("key"));
+            }
+        }
+
+        assertThat(offending).as("plan of %s: %s", method.getName(), plan).isEmpty();
+    }
+
+    private MapSqlParameterSource bind(Method method) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (Parameter parameter : method.getParameters()) {
+            String name = parameter.getAnnotation(Param.class).value();
+            Class<?> type = parameter.getType();
+            Object value;
+            if (type == LocalDateTime.class) {
+                value = "from".equals(name)
+                        ? LocalDate.now().minusDays(29).atStartOfDay()
+                        : LocalDate.now().plusDays(1).atStartOfDay();
+            } else if (type == LocalDate.class) {
+                value = "from".equals(name) ? LocalDate.now().minusDays(29) : LocalDate.now();
+            } else if (type == Integer.class) {
+                value = LocalDate.now().getYear();
+            } else {
+                value = "EQ0001";
+            }
+            params.addValue(name, value);
+        }
+        return params;
+    }
+}
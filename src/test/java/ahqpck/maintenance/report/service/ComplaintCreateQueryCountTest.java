@@ -0,0 +1,140 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.dto.AreaDTO;
+import ahqpck.maintenance.report.dto.ComplaintDTO;
+import ahqpck.maintenance.report.dto.ComplaintPartDTO;
+import ahqpck.maintenance.report.dto.EquipmentDTO;
+import ahqpck.maintenance.report.dto.PartDTO;
+import ahqpck.maintenance.report.dto.UserDTO;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.Part;
+
+/**
+ * Creating a complaint resolves its area, equipment, reporter, assignee and parts. Once the
+ * second-level cache is warm those come from memory, and a create is down to its inserts and
+ * the rollup upserts.
+ * <p>
+ * Runs without the test transaction: Hibernate does not cache rows inserted by the
+ * transaction that reads them, so the seed data has to be committed first.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ComplaintCreateQueryCountTest extends ComplaintQueryCountTestBase {
+
+    @Autowired
+    private ReferenceDataRegistry referenceData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private int created;
+
+    @BeforeEach
+    void seed() {
+        seedReferenceData(1, 1, 1, 3);
+
+        given(codeGenerator.generate(Complaint.class, "code", "CP")).willAnswer(invocation -> "CP" + created++);
+        statistics = statistics();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        // The dropdown lists are loaded once per boot, not per create; keep them out of the count
+        referenceData.getUsers();
+        referenceData.getAreas();
+        referenceData.getEquipments();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("complaint_daily_stats", "equipment_daily_stats", "equipment_stats",
+                "complaint_parts", "complaints", "parts", "equipments", "areas", "users")) {
+            jdbcTemplate.update("delete from " + table);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void warmCreateOnlyInserts() {
+        long cold = statementsForCreate();
+        long coldHits = statistics.getSecondLevelCacheHitCount();
+        long warm = statementsForCreate();
+        long warmHits = statistics.getSecondLevelCacheHitCount();
+
+        // Cold: one select each for the area, equipment, user and three parts; warm: none of them
+        assertThat(cold - warm).isEqualTo(6);
+        // The complaint, its three part rows in one JDBC batch, and one upsert per dashboard rollup
+        // (complaint_daily_stats, equipment_stats, equipment_daily_stats), which leave the cache warm
+        assertThat(warm).isEqualTo(5);
+        assertThat(coldHits).isZero();
+        assertThat(warmHits).isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    void warmNaturalIdLookupsSkipTheDatabase() {
+        findAllByNaturalId();
+        statistics.clear();
+
+        findAllByNaturalId();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(4);
+    }
+
+    private void findAllByNaturalId() {
+        assertThat(areaRepository.findByCode("AR0")).isPresent();
+        assertThat(equipmentRepository.findByCode("EQ0")).isPresent();
+        assertThat(partRepository.findByCode("P0")).isPresent();
+        assertThat(userRepository.findByEmployeeId("E0")).isPresent();
+    }
+
+    private long statementsForCreate() {
+        statistics.clear();
+
+        complaintService.createComplaint(complaint(), null);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ComplaintDTO complaint() {
+        ComplaintDTO dto = new ComplaintDTO();
+        dto.setReportDate(LocalDateTime.of(2025, 8, 1, 8, 0));
+        dto.setPriority(Complaint.Priority.MEDIUM);
+        dto.setCategory(Complaint.Category.values()[0]);
+        dto.setStatus(Complaint.Status.OPEN);
+
+        AreaDTO area = new AreaDTO();
+        area.setCode("AR0");
+        dto.setArea(area);
+        EquipmentDTO equipment = new EquipmentDTO();
+        equipment.setCode("EQ0");
+        dto.setEquipment(equipment);
+        UserDTO user = new UserDTO();
+        user.setEmployeeId("E0");
+        dto.setReporter(user);
+        dto.setAssignee(user);
+
+        for (Part seeded : parts) {
+            PartDTO part = new PartDTO();
+            part.setId(seeded.getId());
+            ComplaintPartDTO used = new ComplaintPartDTO();
+            used.setPart(part);
+            used.setQuantity(1);
+            dto.getPartsUsed().add(used);
+        }
+        return dto;
+    }
+}
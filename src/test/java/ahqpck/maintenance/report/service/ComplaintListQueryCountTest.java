@@ -0,0 +1,97 @@
+package ahqpck.maintenance.report.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+
+import ahqpck.maintenance.report.dto.ComplaintDTO;
+import ahqpck.maintenance.report.entity.Complaint;
+import ahqpck.maintenance.report.entity.ComplaintPart;
+import ahqpck.maintenance.report.entity.ComplaintPartId;
+import ahqpck.maintenance.report.entity.Part;
+
+/**
+ * The complaint list must load a page, its associations and its parts in a fixed number of
+ * statements, however many rows the page has and however many distinct users, areas and
+ * equipment they point at.
+ */
+class ComplaintListQueryCountTest extends ComplaintQueryCountTestBase {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        seedReferenceData(10, 5, 8, 4);
+
+        for (int i = 0; i < 60; i++) {
+            Complaint complaint = new Complaint();
+            complaint.setCode("CP" + i);
+            complaint.setReportDate(LocalDateTime.of(2025, 8, 1, 8, 0).plusHours(i));
+            complaint.setArea(areas.get(i % areas.size()));
+            complaint.setEquipment(equipments.get(i % equipments.size()));
+            complaint.setReporter(users.get(i % users.size()));
+            complaint.setAssignee(users.get((i * 3) % users.size()));
+            complaint.setPriority(Complaint.Priority.MEDIUM);
+            complaint.setCategory(Complaint.Category.values()[i % Complaint.Category.values().length]);
+            complaint.setStatus(Complaint.Status.OPEN);
+            entityManager.persist(complaint);
+
+            for (int p = 0; p <= i % 3; p++) {
+                Part part = parts.get((i + p) % parts.size());
+                ComplaintPart cp = new ComplaintPart();
+                cp.setId(new ComplaintPartId(complaint.getId(), part.getId()));
+                cp.setComplaint(complaint);
+                cp.setPart(part);
+                cp.setQuantity(1 + p);
+                entityManager.persist(cp);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = statistics();
+    }
+
+    @Test
+    void pageLoadsInConstantStatements() {
+        long small = statementsFor(5);
+        long large = statementsFor(50);
+
+        // page select + count + parts, whatever the page size
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void pageCarriesAssociationsAndParts() {
+        Page<ComplaintDTO> page = complaintService.getAllComplaints(null, null, null, 0, 50, "reportDate", false);
+
+        assertThat(page.getTotalElements()).isEqualTo(60);
+        assertThat(page.getContent()).hasSize(50).allSatisfy(dto -> {
+            assertThat(dto.getArea().getName()).startsWith("Area ");
+            assertThat(dto.getEquipment().getName()).startsWith("Equipment ");
+            assertThat(dto.getReporter().getName()).startsWith("User ");
+            assertThat(dto.getAssignee().getName()).startsWith("User ");
+            assertThat(dto.getPartsUsed()).isNotEmpty();
+        });
+    }
+
+    private long statementsFor(int size) {
+        entityManager.clear();
+        statistics.clear();
+
+        Page<ComplaintDTO> page = complaintService.getAllComplaints(null, null, null, 0, size, "reportDate", false);
+        assertThat(page.getContent()).hasSize(size);
+
+        return statistics.getPrepareStatementCount();
+    }
+}
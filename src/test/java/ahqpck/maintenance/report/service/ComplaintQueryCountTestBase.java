@@ -0,0 +1,130 @@
+package ahqpck.maintenance.report.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import ahqpck.maintenance.report.config.FullTextIndexInitializer;
+import ahqpck.maintenance.report.entity.Area;
+import ahqpck.maintenance.report.entity.Equipment;
+import ahqpck.maintenance.report.entity.Part;
+import ahqpck.maintenance.report.entity.User;
+import ahqpck.maintenance.report.repository.AreaRepository;
+import ahqpck.maintenance.report.repository.EquipmentRepository;
+import ahqpck.maintenance.report.repository.PartRepository;
+import ahqpck.maintenance.report.repository.UserRepository;
+import ahqpck.maintenance.report.specification.KeywordSearchResolver;
+import ahqpck.maintenance.report.util.FileUploadUtil;
+import ahqpck.maintenance.report.util.ImportUtil;
+import ahqpck.maintenance.report.util.ZeroPaddedCodeGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+
+/**
+ * {@link ComplaintService} against H2 with Hibernate statistics on, for the tests that count
+ * its statements. The dashboard rollups ({@link ComplaintStatsService},
+ * {@link EquipmentStatsService}) are wired in, so their upserts are part of every count; H2
+ * runs in MySQL mode for their {@code ON DUPLICATE KEY UPDATE}.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Count inline: a deferred count runs on another connection, outside the test transaction
+        "app.listing.count.mode=EXACT"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ComplaintService.class, ListingCountService.class, ReferenceDataRegistry.class, BatchImporter.class,
+        KeywordSearchResolver.class, ComplaintStatsService.class, EquipmentStatsService.class })
+abstract class ComplaintQueryCountTestBase {
+
+    @MockitoBean
+    protected Validator validator;
+
+    @MockitoBean
+    protected FileUploadUtil fileUploadUtil;
+
+    @MockitoBean
+    protected ImportUtil importUtil;
+
+    @MockitoBean
+    protected ZeroPaddedCodeGenerator codeGenerator;
+
+    @MockitoBean
+    protected FullTextIndexInitializer fullTextIndex;
+
+    @MockitoBean
+    protected FieldProjectionService fieldProjectionService;
+
+    @Autowired
+    protected ComplaintService complaintService;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected AreaRepository areaRepository;
+
+    @Autowired
+    protected EquipmentRepository equipmentRepository;
+
+    @Autowired
+    protected PartRepository partRepository;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    protected final List<User> users = new ArrayList<>();
+    protected final List<Area> areas = new ArrayList<>();
+    protected final List<Equipment> equipments = new ArrayList<>();
+    protected final List<Part> parts = new ArrayList<>();
+
+    /**
+     * Users E0.., areas AR0.. (area i run by user i), equipment EQ0.. and parts P0..; saved
+     * through the repositories, so they commit unless the test runs in a transaction.
+     */
+    protected void seedReferenceData(int userCount, int areaCount, int equipmentCount, int partCount) {
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmployeeId("E" + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(userRepository.save(user));
+        }
+
+        for (int i = 0; i < areaCount; i++) {
+            Area area = new Area();
+            area.setCode("AR" + i);
+            area.setName("Area " + i);
+            area.setStatus(Area.Status.ACTIVE);
+            area.setResponsiblePerson(users.get(i));
+            areas.add(areaRepository.save(area));
+        }
+
+        for (int i = 0; i < equipmentCount; i++) {
+            Equipment equipment = new Equipment();
+            equipment.setCode("EQ" + i);
+            equipment.setName("Equipment " + i);
+            equipments.add(equipmentRepository.save(equipment));
+        }
+
+        for (int i = 0; i < partCount; i++) {
+            Part part = new Part();
+            part.setCode("P" + i);
+            part.setName("Part " + i);
+            parts.add(partRepository.save(part));
+        }
+    }
+
+    protected Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        return statistics;
+    }
+}
@@ -0,0 +1,113 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ahqpck.maintenance.report.service.BatchImporter;
+import ahqpck.maintenance.report.service.ImportProgress;
+
+/**
+ * A column's format is fixed once, from its first text value in sheet order, so ambiguous
+ * values read the same way however the rows are spread over the parse threads.
+ */
+class DateColumnParserTest {
+
+    @Test
+    void fullDatesKeepTheirDay() {
+        DateColumnParser column = new DateColumnParser();
+
+        assertThat(column.toLocalDate("15/03/2024")).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(column.toLocalDate("2024-03-15")).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(column.toLocalDate("12/25/2024")).isEqualTo(LocalDate.of(2024, 12, 25));
+    }
+
+    @Test
+    void monthYearDatesResolveToTheFirstOfTheMonth() {
+        DateColumnParser column = new DateColumnParser();
+
+        assertThat(column.toLocalDate("Apr 2014")).isEqualTo(LocalDate.of(2014, 4, 1));
+        assertThat(column.toLocalDate("April 2014")).isEqualTo(LocalDate.of(2014, 4, 1));
+        assertThat(column.toLocalDate("4/2014")).isEqualTo(LocalDate.of(2014, 4, 1));
+        assertThat(column.toLocalDate("2014-04")).isEqualTo(LocalDate.of(2014, 4, 1));
+    }
+
+    @Test
+    void ambiguousDatesFollowTheDetectedFormat() {
+        DateColumnParser monthFirst = new DateColumnParser();
+        monthFirst.detectDate("12/25/2024");
+        DateColumnParser dayFirst = new DateColumnParser();
+        dayFirst.detectDate("25/12/2024");
+
+        assertThat(monthFirst.toLocalDate("05/06/2024")).isEqualTo(LocalDate.of(2024, 5, 6));
+        assertThat(dayFirst.toLocalDate("05/06/2024")).isEqualTo(LocalDate.of(2024, 6, 5));
+    }
+
+    @Test
+    void valuesOutsideTheDetectedFormatDoNotChangeIt() {
+        DateColumnParser column = new DateColumnParser();
+        column.detectDate("12/25/2024");
+        column.detectDate("25/12/2024"); // already fixed
+
+        assertThat(column.toLocalDate("25/12/2024")).isEqualTo(LocalDate.of(2024, 12, 25));
+        assertThat(column.toLocalDate("2024-03-15")).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(column.toLocalDate("05/06/2024")).isEqualTo(LocalDate.of(2024, 5, 6));
+    }
+
+    @Test
+    void detectionSkipsBlanksSerialsAndUnparseableValues() {
+        DateColumnParser column = new DateColumnParser();
+        column.detectDateTime(null);
+        column.detectDateTime(" ");
+        column.detectDateTime("45658.625");
+        column.detectDateTime("not a date");
+        column.detectDateTime("12/25/2024 14:00");
+
+        assertThat(column.toLocalDateTime("05/06/2024 08:30")).isEqualTo(LocalDateTime.of(2024, 5, 6, 8, 30));
+    }
+
+    @Test
+    void rejectsValuesNoFormatFits() {
+        DateColumnParser column = new DateColumnParser();
+
+        assertThatThrownBy(() -> column.toLocalDate("garbage")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> column.toLocalDateTime("2024-03-15")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mixedColumnParsesTheSameOnEveryRun() throws Exception {
+        // Month-first column with day-first rows mixed in, over many parse blocks
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            rows.add(Map.of("date", i % 3 == 0 ? "12/25/2024" : i % 3 == 1 ? "25/12/2024" : "05/06/2024"));
+        }
+
+        List<LocalDate> first = parseColumn(rows, 4);
+        for (int run = 0; run < 5; run++) {
+            assertThat(parseColumn(rows, 4)).isEqualTo(first);
+        }
+        assertThat(first).containsOnly(LocalDate.of(2024, 12, 25), LocalDate.of(2024, 5, 6));
+    }
+
+    private static List<LocalDate> parseColumn(List<Map<String, Object>> rows, int threads) throws Exception {
+        BatchImporter importer = new BatchImporter(null);
+        ReflectionTestUtils.setField(importer, "parseThreads", threads);
+        ReflectionTestUtils.invokeMethod(importer, "init");
+        try {
+            DateColumnParser dates = new DateColumnParser();
+            BatchImporter.Batch<LocalDate> batch = importer.parse(SheetReader.of(rows), new ImportProgress(),
+                    row -> dates.detectDate(row.get("date")), row -> dates.toLocalDate(row.get("date")));
+            return batch.rows().stream().map(BatchImporter.Row::value).toList();
+        } finally {
+            ReflectionTestUtils.invokeMethod(importer, "shutdown");
+        }
+    }
+}
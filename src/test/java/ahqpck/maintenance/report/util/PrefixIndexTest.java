@@ -0,0 +1,110 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ahqpck.maintenance.report.dto.PartRefDTO;
+
+/**
+ * Typeahead matches on word prefixes whatever the case and accents of either side, and the
+ * index follows single writes as well as full reloads.
+ */
+class PrefixIndexTest {
+
+    private final PrefixIndex<PartRefDTO> index = new PrefixIndex<>(PartRefDTO::id,
+            List.of(PartRefDTO::code, PartRefDTO::name));
+
+    @Test
+    void matchesRegardlessOfCaseAndAccents() {
+        index.put(part("1", "P-001", "Pompe Hydraulique"));
+        index.put(part("2", "P-002", "Écrou Ø12"));
+        index.put(part("3", "P-003", "Müller Ventil"));
+
+        assertThat(codes("pompe")).containsExactly("P-001");
+        assertThat(codes("HYDRAU")).containsExactly("P-001");
+        assertThat(codes("ecrou")).containsExactly("P-002");
+        assertThat(codes("ÉCR")).containsExactly("P-002");
+        assertThat(codes("muller")).containsExactly("P-003");
+        assertThat(codes("Mül")).containsExactly("P-003");
+    }
+
+    @Test
+    void matchesCodesWithOrWithoutTheirSeparators() {
+        index.put(part("1", "EQ-001", "Conveyor"));
+        index.put(part("2", "EQ-002", "Crusher"));
+
+        assertThat(codes("eq001")).containsExactly("EQ-001");
+        assertThat(codes("eq-00")).containsExactly("EQ-001", "EQ-002");
+        assertThat(codes("001")).containsExactly("EQ-001");
+    }
+
+    @Test
+    void everyQueryWordMustPrefixAWordOfTheEntry() {
+        index.put(part("1", "P-001", "Bearing Front Left"));
+        index.put(part("2", "P-002", "Bearing Rear Left"));
+        index.put(part("3", "P-003", "Seal Front"));
+
+        assertThat(codes("bearing front")).containsExactly("P-001");
+        assertThat(codes("le be")).containsExactly("P-001", "P-002");
+        assertThat(codes("front bearing rear")).isEmpty();
+    }
+
+    @Test
+    void returnsEntriesInKeyOrderUpToTheLimit() {
+        index.put(part("1", "P-001", "Valve Large"));
+        index.put(part("2", "P-002", "Valve"));
+        index.put(part("3", "P-003", "Valvetrain"));
+
+        assertThat(codes("val")).containsExactly("P-001", "P-002", "P-003");
+        assertThat(index.search("val", 2)).extracting(PartRefDTO::code).containsExactly("P-001", "P-002");
+        assertThat(index.search("val", 0)).isEmpty();
+        assertThat(index.search("  ", 5)).isEmpty();
+    }
+
+    @Test
+    void putReplacesTheEntryWithTheSameId() {
+        index.put(part("1", "P-001", "Old Name"));
+
+        index.put(part("1", "P-001", "New Name"));
+
+        assertThat(codes("old")).isEmpty();
+        assertThat(index.search("new", 10)).extracting(PartRefDTO::name).containsExactly("New Name");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeDropsEveryWordOfTheEntry() {
+        index.put(part("1", "P-001", "Gear Box"));
+        index.put(part("2", "P-002", "Gear Wheel"));
+
+        index.remove("1");
+        index.remove("missing");
+
+        assertThat(codes("gear")).containsExactly("P-002");
+        assertThat(codes("box")).isEmpty();
+        assertThat(codes("p001")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replaceAllKeepsOnlyTheNewEntries() {
+        index.put(part("1", "P-001", "Filter"));
+
+        index.replaceAll(List.of(part("2", "P-002", "Fuse"), part("3", "P-003", "Filter Cap")));
+
+        assertThat(codes("f")).containsExactly("P-003", "P-002");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    // ================== HELPERS ==================
+    private List<String> codes(String query) {
+        return index.search(query, 10).stream().map(PartRefDTO::code).toList();
+    }
+
+    private static PartRefDTO part(String id, String code, String name) {
+        return new PartRefDTO(id, code, name);
+    }
+}
@@ -0,0 +1,171 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import ahqpck.maintenance.report.entity.WorkReport;
+import ahqpck.maintenance.report.util.TimeBucketer.Granularity;
+
+/**
+ * The dashboard series no longer come from SQL calendars, so gaps, bucket edges and shift
+ * order all rest on {@link TimeBucketer}.
+ */
+class TimeBucketerTest {
+
+    private final TimeBucketer bucketer = new TimeBucketer();
+
+    record Row(LocalDate day, WorkReport.Shift shift, long count) {
+    }
+
+    static class Bucket {
+        final String label;
+        long count;
+
+        Bucket(String label) {
+            this.label = label;
+        }
+    }
+
+    @Test
+    void fillsEveryDayOfAnEmptyRangeWithEmptyBuckets() {
+        List<Bucket> buckets = fill(List.of(), day(2025, 2, 27), day(2025, 3, 2), Granularity.DAY);
+
+        assertThat(buckets).extracting(b -> b.label)
+                .containsExactly("2025-02-27", "2025-02-28", "2025-03-01", "2025-03-02");
+        assertThat(buckets).allSatisfy(b -> assertThat(b.count).isZero());
+    }
+
+    @Test
+    void fillsGapsBetweenSparseRows() {
+        List<Row> rows = List.of(row(2025, 3, 1, 2), row(2025, 3, 4, 5));
+
+        assertThat(counts(fill(rows, day(2025, 3, 1), day(2025, 3, 4), Granularity.DAY)))
+                .containsExactly(2L, 0L, 0L, 5L);
+    }
+
+    @Test
+    void clipsWeekBucketsToTheRange() {
+        // 2025-03-05 is a Wednesday: its week starts Monday 03-03, the range ends Tuesday 03-18
+        List<Row> rows = List.of(
+                row(2025, 3, 3, 100), // before from, same week
+                row(2025, 3, 5, 1),
+                row(2025, 3, 9, 2), // Sunday, last day of the first week
+                row(2025, 3, 10, 4), // Monday, first day of the second week
+                row(2025, 3, 18, 8),
+                row(2025, 3, 19, 100)); // after to, same week
+
+        List<Bucket> buckets = fill(rows, day(2025, 3, 5), day(2025, 3, 18), Granularity.WEEK);
+
+        assertThat(buckets).extracting(b -> b.label).containsExactly("2025-03-03", "2025-03-10", "2025-03-17");
+        assertThat(counts(buckets)).containsExactly(3L, 4L, 8L);
+    }
+
+    @Test
+    void clipsMonthBucketsToTheRange() {
+        List<Row> rows = List.of(
+                row(2025, 1, 14, 100),
+                row(2025, 1, 15, 1),
+                row(2025, 1, 31, 2),
+                row(2025, 2, 1, 4),
+                row(2025, 2, 28, 8),
+                row(2025, 3, 10, 16),
+                row(2025, 3, 11, 100));
+
+        List<Bucket> buckets = fill(rows, day(2025, 1, 15), day(2025, 3, 10), Granularity.MONTH);
+
+        assertThat(buckets).extracting(b -> b.label).containsExactly("2025-01", "2025-02", "2025-03");
+        assertThat(counts(buckets)).containsExactly(3L, 12L, 16L);
+    }
+
+    @Test
+    void ordersShiftsDayBeforeNightWithinADay() {
+        List<Row> rows = List.of(
+                row(2025, 3, 1, WorkReport.Shift.NIGHT, 1),
+                row(2025, 3, 2, WorkReport.Shift.DAY, 2),
+                row(2025, 3, 2, WorkReport.Shift.NIGHT, 4));
+
+        List<Bucket> buckets = fill(rows, day(2025, 3, 1), day(2025, 3, 2), Granularity.SHIFT);
+
+        assertThat(buckets).extracting(b -> b.label)
+                .containsExactly("2025-03-01 DAY", "2025-03-01 NIGHT", "2025-03-02 DAY", "2025-03-02 NIGHT");
+        assertThat(counts(buckets)).containsExactly(0L, 1L, 2L, 4L);
+    }
+
+    @Test
+    void mergesRowsOnBucketBoundariesIntoTheBucketTheyStart() {
+        // Several rows per day, on the first and last day of each month
+        List<Row> rows = List.of(
+                row(2025, 1, 1, 1), row(2025, 1, 1, 2),
+                row(2025, 1, 31, 4), row(2025, 1, 31, 8),
+                row(2025, 2, 1, 16), row(2025, 2, 1, 32),
+                row(2025, 2, 28, 64));
+
+        List<Bucket> buckets = fill(rows, day(2025, 1, 1), day(2025, 2, 28), Granularity.MONTH);
+
+        assertThat(counts(buckets)).containsExactly(15L, 112L);
+    }
+
+    @Test
+    void sumsEveryRowOfADayWhenBucketingByDay() {
+        List<Row> rows = List.of(
+                row(2025, 3, 1, WorkReport.Shift.DAY, 1),
+                row(2025, 3, 1, WorkReport.Shift.NIGHT, 2),
+                row(2025, 3, 2, WorkReport.Shift.DAY, 4));
+
+        Map<String, Long> byLabel = fill(rows, day(2025, 3, 1), day(2025, 3, 2), Granularity.DAY).stream()
+                .collect(Collectors.toMap(b -> b.label, b -> b.count));
+
+        assertThat(byLabel).containsEntry("2025-03-01", 3L).containsEntry("2025-03-02", 4L);
+    }
+
+    @Test
+    void rejectsAnInvertedRangeAndShiftsWithoutAShiftColumn() {
+        assertThatThrownBy(() -> fill(List.of(), day(2025, 3, 2), day(2025, 3, 1), Granularity.DAY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bucketer.fill(List.<Row>of(), day(2025, 3, 1), day(2025, 3, 2), Granularity.SHIFT,
+                Row::day, null, Bucket::new, (b, r) -> b.count += r.count()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void capsTheNumberOfBucketsARangeMayNeed() {
+        LocalDate from = day(2000, 1, 1);
+        LocalDate to = day(2030, 12, 31);
+
+        assertThatThrownBy(() -> fill(List.of(), from, to, Granularity.DAY))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(TimeBucketer.MAX_BUCKETS));
+        assertThat(fill(List.of(), from, to, Granularity.MONTH)).hasSize(31 * 12);
+        assertThat(fill(List.of(), from, from.plusDays(TimeBucketer.MAX_BUCKETS - 1), Granularity.DAY))
+                .hasSize(TimeBucketer.MAX_BUCKETS);
+    }
+
+    // ================== HELPERS ==================
+    private List<Bucket> fill(List<Row> rows, LocalDate from, LocalDate to, Granularity granularity) {
+        return bucketer.fill(rows, from, to, granularity, Row::day, Row::shift, Bucket::new,
+                (b, r) -> b.count += r.count());
+    }
+
+    private static List<Long> counts(List<Bucket> buckets) {
+        return buckets.stream().map(b -> b.count).toList();
+    }
+
+    private static LocalDate day(int year, int month, int day) {
+        return LocalDate.of(year, month, day);
+    }
+
+    private static Row row(int year, int month, int day, long count) {
+        return new Row(day(year, month, day), WorkReport.Shift.DAY, count);
+    }
+
+    private static Row row(int year, int month, int day, WorkReport.Shift shift, long count) {
+        return new Row(day(year, month, day), shift, count);
+    }
+}
@@ -0,0 +1,64 @@
+package ahqpck.maintenance.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import ahqpck.maintenance.report.entity.Complaint;
+
+/**
+ * Form saves reserve one code, imports a block; running side by side they must never get
+ * the same number. Runs without the test transaction, as every reservation commits its own.
+ */
+@DataJpaTest
+@Import(ZeroPaddedCodeGenerator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ZeroPaddedCodeGeneratorTest {
+
+    @Autowired
+    private ZeroPaddedCodeGenerator codeGenerator;
+
+    @Test
+    void concurrentReservationsNeverShareACode() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> reservations = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int count = i % 5 == 0 ? 25 : 1;
+                reservations.add(pool.submit(() -> codeGenerator.generate(Complaint.class, "code", "CT", count)));
+            }
+
+            List<String> codes = new ArrayList<>();
+            for (Future<List<String>> reservation : reservations) {
+                codes.addAll(reservation.get());
+            }
+
+            assertThat(codes).hasSize(40 * 25 + 160).doesNotHaveDuplicates();
+            assertThat(codes).allMatch(code -> code.matches("CT\\d{6}"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void blocksAreConsecutiveAndFollowThePreviousReservation() {
+        List<String> first = codeGenerator.generate(Complaint.class, "code", "CB", 3);
+        String next = codeGenerator.generate(Complaint.class, "code", "CB");
+
+        int start = Integer.parseInt(first.get(0).substring(2));
+        assertThat(first).containsExactly(
+                String.format("CB%06d", start), String.format("CB%06d", start + 1), String.format("CB%06d", start + 2));
+        assertThat(next).isEqualTo(String.format("CB%06d", start + 3));
+    }
+}